@@ -0,0 +1,104 @@
+package by.sirius.task.tracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares two JMH JSON result files and exits with a non-zero status when a benchmark got slower
+ * by more than the threshold and by more than both runs' error margins combined.
+ * <p>
+ * Usage: {@code JmhResultComparison <baseline.json> <results.json> [threshold percent]}
+ */
+public class JmhResultComparison {
+
+    private static final String PACKAGE_PREFIX = "by.sirius.task.tracker.";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparison <baseline.json> <results.json> [threshold percent]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.err.println("No baseline at " + baselineFile + ", run jmhBaseline first");
+            System.exit(2);
+        }
+
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+
+        current.forEach((name, result) -> {
+            Result before = baseline.get(name);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  (new)%n", name, "-", result.score(), "-");
+                return;
+            }
+
+            double change = (result.score() - before.score()) / before.score() * 100;
+            double slowdown = result.higherIsBetter() ? -change : change;
+            boolean significant = Math.abs(result.score() - before.score()) > result.error() + before.error();
+            boolean regression = slowdown > threshold && significant;
+
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", name, before.score(), result.score(), change,
+                    result.unit(), regression ? "  REGRESSION" : "");
+            if (regression) {
+                regressions.add(name);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmark(s) slower than the %.0f%% threshold: %s%n",
+                    regressions.size(), threshold, regressions);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            JsonNode metric = node.path("primaryMetric");
+            results.put(name(node), new Result(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreError").isNumber() ? metric.path("scoreError").asDouble() : 0,
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(node.path("mode").asText())
+            ));
+        }
+
+        return results;
+    }
+
+    private static String name(JsonNode node) {
+        String benchmark = node.path("benchmark").asText().replace(PACKAGE_PREFIX, "");
+        JsonNode params = node.path("params");
+        if (params.isMissingNode() || params.isEmpty()) {
+            return benchmark;
+        }
+
+        StringJoiner joiner = new StringJoiner(",", benchmark + "[", "]");
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            joiner.add(field.getKey() + "=" + field.getValue().asText());
+        }
+        return joiner.toString();
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
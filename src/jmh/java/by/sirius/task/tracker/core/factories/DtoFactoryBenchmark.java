@@ -0,0 +1,78 @@
+package by.sirius.task.tracker.core.factories;
+
+import by.sirius.task.tracker.api.dto.TaskDto;
+import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
+import by.sirius.task.tracker.store.projections.TaskStateBoardView;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoFactoryBenchmark {
+
+    @Param({"10", "200"})
+    private int tasksPerState;
+
+    private final TaskDtoFactory taskDtoFactory = new TaskDtoFactory();
+    private final TaskStateDtoFactory taskStateDtoFactory = new TaskStateDtoFactory(taskDtoFactory);
+
+    private TaskEntity taskEntity;
+    private TaskStateEntity taskStateEntity;
+    private TaskStateBoardView taskStateView;
+    private List<TaskBoardView> taskViews;
+
+    @Setup
+    public void setUp() {
+        UserEntity user = UserEntity.builder().username("benchmark-user").build();
+        TaskStateEntity left = TaskStateEntity.builder().id(1L).name("To do").build();
+        taskStateEntity = TaskStateEntity.builder().id(2L).name("In progress").leftTaskState(left).build();
+
+        taskViews = new ArrayList<>();
+        for (long i = 0; i < tasksPerState; i++) {
+            TaskEntity task = TaskEntity.builder()
+                    .id(i)
+                    .name("Task " + i)
+                    .rank(i << 16)
+                    .taskState(taskStateEntity)
+                    .assignedUser(i % 2 == 0 ? user : null)
+                    .build();
+            taskStateEntity.getTasks().add(task);
+            taskViews.add(new TaskBoardView(i, 2L, task.getName(), task.getRank(),
+                    task.getAssignedUser() != null ? user.getUsername() : null, Instant.now()));
+        }
+
+        taskEntity = taskStateEntity.getTasks().get(0);
+        taskStateView = new TaskStateBoardView(2L, "In progress", Instant.now(), 1L, null);
+    }
+
+    @Benchmark
+    public TaskDto taskFromEntity() {
+        return taskDtoFactory.makeTaskDto(taskEntity);
+    }
+
+    @Benchmark
+    public TaskStateDto taskStateFromEntity() {
+        return taskStateDtoFactory.makeTaskStateDto(taskStateEntity);
+    }
+
+    @Benchmark
+    public TaskStateDto taskStateFromBoardViews() {
+        List<TaskDto> tasks = new ArrayList<>(taskViews.size());
+        for (TaskBoardView taskView : taskViews) {
+            tasks.add(taskDtoFactory.makeTaskDto(taskView));
+        }
+        return taskStateDtoFactory.makeTaskStateDto(taskStateView, tasks);
+    }
+}
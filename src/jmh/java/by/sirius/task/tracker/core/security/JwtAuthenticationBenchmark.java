@@ -0,0 +1,90 @@
+package by.sirius.task.tracker.core.security;
+
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String LEGACY_SECRET = "984hg493gh0439rShr0429urWj2309yh937gc763fe87t3f89723gf";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private UserDetails userDetails;
+    private JwtRequestFilter jwtRequestFilter;
+    private String token;
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(10_000);
+        userDetails = User.withUsername("benchmark-user").password("").authorities("ROLE_ADMIN").build();
+        token = jwtTokenUtil.generateToken(userDetails);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findEnabledByUsername("benchmark-user")).thenReturn(Optional.of(true));
+        UserStatusCache userStatusCache = new UserStatusCache(userRepository, null, 10_000, Duration.ofHours(1));
+
+        jwtRequestFilter = new JwtRequestFilter(jwtTokenUtil, userStatusCache, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(userDetails);
+    }
+
+    /**
+     * The verification the filter did before: extractUsername, then validateToken
+     * re-parsing for the subject and the expiration, each with a key rebuilt from the string secret.
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public boolean legacyTripleParse() {
+        String username = Jwts.parser().setSigningKey(LEGACY_SECRET).parseClaimsJws(token).getBody().getSubject();
+        Claims claims = Jwts.parser().setSigningKey(LEGACY_SECRET).parseClaimsJws(token).getBody();
+        Date expiration = Jwts.parser().setSigningKey(LEGACY_SECRET).parseClaimsJws(token).getBody().getExpiration();
+        return claims.getSubject().equals(username) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return jwtTokenUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify() {
+        return jwtTokenUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Authentication filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        SecurityContextHolder.clearContext();
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
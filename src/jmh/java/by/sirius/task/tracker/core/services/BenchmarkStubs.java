@@ -0,0 +1,18 @@
+package by.sirius.task.tracker.core.services;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Mocks for the collaborators a benchmark doesn't measure.
+ */
+final class BenchmarkStubs {
+
+    private BenchmarkStubs() {
+    }
+
+    // Stub-only mocks don't record invocations, which would otherwise pile up over millions of calls
+    static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,66 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+/**
+ * Backs the rank queries of a mocked {@link TaskRepository} with a plain list, so the position
+ * algorithm can be measured without a database.
+ */
+class InMemoryTaskStore {
+
+    private static final Comparator<TaskEntity> BY_RANK = Comparator
+            .comparing(TaskEntity::getRank)
+            .thenComparing(TaskEntity::getId);
+
+    private final Map<Long, TaskEntity> tasks = new HashMap<>();
+
+    void add(TaskEntity task) {
+        tasks.put(task.getId(), task);
+    }
+
+    TaskEntity get(Long taskId) {
+        return tasks.get(taskId);
+    }
+
+    void bind(TaskRepository taskRepository) {
+        when(taskRepository.findAllByTaskStateIdOrderByRankAscIdAsc(anyLong()))
+                .thenAnswer(invocation -> inState(invocation.getArgument(0)).sorted(BY_RANK).toList());
+        when(taskRepository.findFirstByTaskStateIdOrderByRankAscIdAsc(anyLong()))
+                .thenAnswer(invocation -> inState(invocation.getArgument(0)).min(BY_RANK));
+        when(taskRepository.findFirstByTaskStateIdOrderByRankDescIdDesc(anyLong()))
+                .thenAnswer(invocation -> inState(invocation.getArgument(0)).max(BY_RANK));
+        when(taskRepository.findFirstByTaskStateIdAndRankLessThanOrderByRankDescIdDesc(anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    long rank = invocation.getArgument(1);
+                    return inState(invocation.getArgument(0)).filter(task -> task.getRank() < rank).max(BY_RANK);
+                });
+        when(taskRepository.findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    long rank = invocation.getArgument(1);
+                    return inState(invocation.getArgument(0)).filter(task -> task.getRank() > rank).min(BY_RANK);
+                });
+        when(taskRepository.save(any(TaskEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    List<Long> ids() {
+        return new ArrayList<>(tasks.keySet());
+    }
+
+    private Stream<TaskEntity> inState(Long taskStateId) {
+        return tasks.values().stream().filter(task -> task.getTaskState().getId().equals(taskStateId));
+    }
+}
@@ -0,0 +1,79 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static by.sirius.task.tracker.core.services.BenchmarkStubs.stub;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * The @PreAuthorize checks every controller method runs. The warm benchmarks hit the permission cache,
+ * the cold one evicts first so each call goes through the role lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectSecurityBenchmark {
+
+    private PermissionCache permissionCache;
+    private ProjectSecurityService projectSecurityService;
+
+    @Setup
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("benchmark-user", null));
+
+        TaskRepository taskRepository = stub(TaskRepository.class);
+        when(taskRepository.findProjectIdById(anyLong())).thenReturn(Optional.of(1L));
+
+        TaskStateRepository taskStateRepository = stub(TaskStateRepository.class);
+        when(taskStateRepository.findProjectIdById(anyLong())).thenReturn(Optional.of(1L));
+
+        ProjectRoleRepository projectRoleRepository = stub(ProjectRoleRepository.class);
+        when(projectRoleRepository.findRoleName(anyString(), anyLong())).thenReturn(Optional.of("ROLE_ADMIN"));
+
+        permissionCache = new PermissionCache(10_000, Duration.ofMinutes(5));
+        projectSecurityService = new ProjectSecurityService(stub(ServiceHelper.class), permissionCache,
+                taskRepository, taskStateRepository, projectRoleRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean projectWritePermission() {
+        return projectSecurityService.hasProjectPermission(1L, "WRITE");
+    }
+
+    @Benchmark
+    public boolean taskReadPermission() {
+        return projectSecurityService.hasTaskPermission(10L, "READ");
+    }
+
+    @Benchmark
+    public boolean taskStateWritePermission() {
+        return projectSecurityService.hasTaskStatePermission(5L, "WRITE");
+    }
+
+    @Benchmark
+    public boolean projectWritePermissionCold() {
+        permissionCache.evictProjectRole("benchmark-user", 1L);
+        return projectSecurityService.hasProjectPermission(1L, "WRITE");
+    }
+}
@@ -0,0 +1,103 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.TaskDto;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryAppender;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static by.sirius.task.tracker.core.services.BenchmarkStubs.stub;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drag-and-drop within one column: a random task is moved behind a random other task, or to the front.
+ * Ranks keep shrinking towards each other, so the occasional rebalance is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPositionBenchmark {
+
+    @Param({"50", "500"})
+    private int tasksPerState;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private TaskService taskService;
+    private List<Long> taskIds;
+
+    @Setup
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("benchmark-user", null));
+
+        ProjectEntity project = ProjectEntity.builder().id(1L).name("benchmark").build();
+        TaskStateEntity taskState = TaskStateEntity.builder().id(1L).name("To do").project(project).build();
+
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        for (long id = 1; id <= tasksPerState; id++) {
+            store.add(TaskEntity.builder()
+                    .id(id)
+                    .name("Task " + id)
+                    .rank(id * TaskRankHelper.RANK_STEP)
+                    .taskState(taskState)
+                    .build());
+        }
+        taskIds = store.ids();
+
+        TaskRepository taskRepository = stub(TaskRepository.class);
+        store.bind(taskRepository);
+
+        ServiceHelper serviceHelper = stub(ServiceHelper.class);
+        when(serviceHelper.getTaskOrThrowException(anyLong()))
+                .thenAnswer(invocation -> store.get(invocation.getArgument(0)));
+
+        taskService = new TaskService(
+                stub(EmailService.class),
+                new TaskDtoFactory(),
+                taskRepository,
+                stub(TaskStateRepository.class),
+                stub(TaskHistoryAppender.class),
+                stub(BoardChangeRecorder.class),
+                serviceHelper,
+                stub(CacheHelper.class),
+                stub(PermissionCache.class),
+                new TaskRankHelper(taskRepository, stub(TaskStateRepository.class), stub(BoardChangeRecorder.class)),
+                stub(PaginationHelper.class)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public TaskDto changeTaskPosition() {
+        Long taskId = taskIds.get(random.nextInt(taskIds.size()));
+        Long leftTaskId = taskIds.get(random.nextInt(taskIds.size()));
+
+        Optional<Long> optionalLeftTaskId = taskId.equals(leftTaskId) ? Optional.empty() : Optional.of(leftTaskId);
+        return taskService.changeTaskPosition(taskId, optionalLeftTaskId);
+    }
+}
@@ -0,0 +1,190 @@
+package by.sirius.task.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin HTTP client for the public API. Every call is timed into the recorder under its endpoint name.
+ */
+public class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+
+    public ApiClient(HttpClient httpClient, URI baseUri, LatencyRecorder recorder) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+    }
+
+    public void register(String username, String password) {
+        send("register", post("/auth/register", null, Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", password)));
+    }
+
+    public String login(String username, String password) {
+        return send("login", post("/auth/login", null, Map.of(
+                "username", username,
+                "password", password))).path("token").asText();
+    }
+
+    public long createProject(String token, String name) {
+        return send("createProject", post("/api/projects?name=" + encode(name), token, null)).path("id").asLong();
+    }
+
+    public long sendInvitation(String token, long projectId, String username) {
+        return send("sendInvitation", post("/api/projects/" + projectId + "/invitations/send?username=" + encode(username),
+                token, null)).path("id").asLong();
+    }
+
+    public void acceptInvitation(String token, long invitationId) {
+        send("acceptInvitation", post("/api/invitations/accept/" + invitationId, token, null));
+    }
+
+    public long createTaskState(String token, long projectId, String name) {
+        return send("createTaskState", post("/api/projects/" + projectId + "/task-states?taskStateName=" + encode(name),
+                token, null)).path("id").asLong();
+    }
+
+    public long createTask(String token, long projectId, long taskStateId, String name) {
+        return send("createTask", post("/api/projects/" + projectId + "/task-states/" + taskStateId
+                + "/tasks?taskName=" + encode(name), token, null)).path("id").asLong();
+    }
+
+    public JsonNode getBoard(String token, long projectId) {
+        return send("getBoard", get("/api/projects/" + projectId + "/board", token));
+    }
+
+    public JsonNode getTasks(String token, long projectId, long taskStateId) {
+        return getTasks(token, projectId, taskStateId, null);
+    }
+
+    public JsonNode getTasks(String token, long projectId, long taskStateId, String cursor) {
+        String query = cursor == null ? "" : "?cursor=" + encode(cursor);
+        return send("getTasks", get("/api/projects/" + projectId + "/task-states/" + taskStateId + "/tasks" + query,
+                token));
+    }
+
+    public JsonNode changeTaskPosition(String token, long taskId, Long leftTaskId) {
+        String query = leftTaskId == null ? "" : "?leftTaskId=" + leftTaskId;
+        return send("changeTaskPosition", patch("/api/tasks/" + taskId + "/position/change" + query, token));
+    }
+
+    public JsonNode changeTaskState(String token, long taskId, long newTaskStateId) {
+        return send("changeTaskState", patch("/api/tasks/" + taskId + "/state/change?newTaskStateId=" + newTaskStateId,
+                token));
+    }
+
+    public JsonNode assignTask(String token, long taskId, String username) {
+        return send("assignTask", patch("/api/tasks/" + taskId + "/assign?username=" + encode(username), token));
+    }
+
+    public JsonNode applyBulkOperations(String token, long projectId, List<Map<String, Object>> operations) {
+        return send("applyBulkOperations", post("/api/projects/" + projectId + "/tasks/bulk", token,
+                Map.of("operations", operations)));
+    }
+
+    public String scrapeMetrics(URI managementUri) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(managementUri.resolve("/actuator/prometheus")).GET().build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scraping metrics", e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(write(body));
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    private HttpRequest patch(String path, String token) {
+        return request(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() / 100 == 2;
+            if (!success) {
+                throw new ApiException(endpoint, response.statusCode(), response.body());
+            }
+            return isJson(response.body()) ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + endpoint, e);
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isJson(String body) {
+        return body.startsWith("{") || body.startsWith("[");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    public static class ApiException extends RuntimeException {
+
+        private final int status;
+
+        public ApiException(String endpoint, int status, String body) {
+            super(endpoint + " returned " + status + ": " + body);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package by.sirius.task.tracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates users with one board each through the public API, so seeding goes through the same code paths as the load.
+ */
+public class BoardSeeder {
+
+    public static final String PASSWORD = "password";
+
+    private final ApiClient client;
+    private final AtomicLong taskCounter;
+
+    public BoardSeeder(ApiClient client, AtomicLong taskCounter) {
+        this.client = client;
+        this.taskCounter = taskCounter;
+    }
+
+    public List<Tenant> seed(int users, int taskStates, int tasksPerState) throws InterruptedException {
+        List<Tenant> tenants = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Tenant>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                String username = "load-user-" + i;
+                futures.add(executor.submit(() -> seedTenant(username, taskStates, tasksPerState)));
+            }
+            for (Future<Tenant> future : futures) {
+                try {
+                    tenants.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to seed load test data", e.getCause());
+                }
+            }
+        }
+
+        return tenants;
+    }
+
+    private Tenant seedTenant(String username, int taskStates, int tasksPerState) {
+        client.register(username, PASSWORD);
+        String token = client.login(username, PASSWORD);
+        long projectId = client.createProject(token, username + " board");
+
+        String teammate = username + "-mate";
+        client.register(teammate, PASSWORD);
+        long invitationId = client.sendInvitation(token, projectId, teammate);
+        client.acceptInvitation(client.login(teammate, PASSWORD), invitationId);
+
+        List<Long> taskStateIds = new ArrayList<>();
+        for (int i = 0; i < taskStates; i++) {
+            long taskStateId = client.createTaskState(token, projectId, "State " + i);
+            taskStateIds.add(taskStateId);
+            for (int j = 0; j < tasksPerState; j++) {
+                client.createTask(token, projectId, taskStateId, "Seed task " + taskCounter.incrementAndGet());
+            }
+        }
+
+        return new Tenant(username, PASSWORD, token, teammate, projectId, List.copyOf(taskStateIds));
+    }
+}
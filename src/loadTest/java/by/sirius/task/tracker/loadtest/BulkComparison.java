@@ -0,0 +1,158 @@
+package by.sirius.task.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the same task moves to one board through the single-task position endpoint, one call per move,
+ * and through one bulk request, and reports how long each takes and the ratio between them.
+ */
+public class BulkComparison {
+
+    private final Options options;
+
+    public BulkComparison(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromSystemProperties();
+        Map<String, Double> results = new BulkComparison(options).run();
+
+        String report = formatReport(options, results);
+        System.out.println(report);
+
+        Files.createDirectories(options.reportDir());
+        Files.writeString(options.reportDir().resolve("bulk-comparison.md"), report);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.reportDir().resolve("bulk-comparison.json").toFile(),
+                        Map.of("options", options.describe(), "results", results));
+
+        System.exit(0);
+    }
+
+    private Map<String, Double> run() throws InterruptedException {
+        try (LoadTestDatabase database = LoadTestDatabase.create(options.database(), "bulk-comparison");
+             LoadTestServer server = LoadTestServer.start(database, Map.of());
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            ApiClient client = new ApiClient(httpClient, server.getBaseUri(), new LatencyRecorder());
+            Tenant tenant = new BoardSeeder(client, new AtomicLong()).seed(1, 1, options.tasks()).get(0);
+            long taskStateId = tenant.taskStateIds().get(0);
+
+            List<Long> taskIds = new ArrayList<>();
+            String cursor = null;
+            do {
+                JsonNode page = client.getTasks(tenant.token(), tenant.projectId(), taskStateId, cursor);
+                page.path("items").forEach(task -> taskIds.add(task.path("id").asLong()));
+                cursor = page.path("next_cursor").isTextual() ? page.path("next_cursor").asText() : null;
+            } while (cursor != null);
+
+            Random random = new Random(options.seed());
+            double singleMillis = 0;
+            double bulkMillis = 0;
+
+            for (int round = -options.warmupRounds(); round < options.rounds(); round++) {
+                List<long[]> moves = moves(taskIds, random);
+
+                long start = System.nanoTime();
+                for (long[] move : moves) {
+                    client.changeTaskPosition(tenant.token(), move[0], move[1] < 0 ? null : move[1]);
+                }
+                long single = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                JsonNode results = client.applyBulkOperations(tenant.token(), tenant.projectId(), operations(moves));
+                long bulk = System.nanoTime() - start;
+
+                results.forEach(result -> {
+                    if (!result.path("success").asBoolean()) {
+                        throw new IllegalStateException("Bulk move failed: " + result);
+                    }
+                });
+
+                if (round >= 0) {
+                    singleMillis += single / 1_000_000.0;
+                    bulkMillis += bulk / 1_000_000.0;
+                }
+            }
+
+            Map<String, Double> results = new LinkedHashMap<>();
+            results.put("singleMillis", singleMillis / options.rounds());
+            results.put("bulkMillis", bulkMillis / options.rounds());
+            results.put("speedup", singleMillis / bulkMillis);
+            return results;
+        }
+    }
+
+    // Every move puts a task right after another one, or first when the left task is -1
+    private List<long[]> moves(List<Long> taskIds, Random random) {
+        List<long[]> moves = new ArrayList<>(options.operations());
+        for (int i = 0; i < options.operations(); i++) {
+            long taskId = taskIds.get(random.nextInt(taskIds.size()));
+            long leftTaskId = taskIds.get(random.nextInt(taskIds.size()));
+            moves.add(new long[]{taskId, leftTaskId == taskId ? -1 : leftTaskId});
+        }
+        return moves;
+    }
+
+    private static List<Map<String, Object>> operations(List<long[]> moves) {
+        List<Map<String, Object>> operations = new ArrayList<>(moves.size());
+        for (long[] move : moves) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("type", "MOVE");
+            operation.put("task_id", move[0]);
+            if (move[1] >= 0) {
+                operation.put("left_task_id", move[1]);
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    private static String formatReport(Options options, Map<String, Double> results) {
+        return "# Single-task moves vs one bulk request\n\n"
+                + options.describe() + "\n\n"
+                + "| path | ms per " + options.operations() + " moves |\n|---|---:|\n"
+                + String.format("| single | %.1f |%n", results.get("singleMillis"))
+                + String.format("| bulk | %.1f |%n", results.get("bulkMillis"))
+                + String.format("%nBulk is %.1fx faster.%n", results.get("speedup"));
+    }
+
+    public record Options(int operations,
+                          int tasks,
+                          int warmupRounds,
+                          int rounds,
+                          long seed,
+                          String database,
+                          Path reportDir) {
+
+        public static Options fromSystemProperties() {
+            return new Options(
+                    Integer.getInteger("loadtest.operations", 1000),
+                    Integer.getInteger("loadtest.tasks", 200),
+                    Integer.getInteger("loadtest.warmup-rounds", 2),
+                    Integer.getInteger("loadtest.rounds", 5),
+                    Long.getLong("loadtest.seed", 42),
+                    System.getProperty("loadtest.database", "embedded-postgres"),
+                    Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"))
+            );
+        }
+
+        public String describe() {
+            return String.format("operations=%d, tasks=%d, warmup-rounds=%d, rounds=%d, seed=%d, database=%s",
+                    operations, tasks, warmupRounds, rounds, seed, database);
+        }
+    }
+}
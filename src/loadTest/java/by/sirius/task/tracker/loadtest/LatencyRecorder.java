@@ -0,0 +1,82 @@
+package by.sirius.task.tracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyRecorder {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS);
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_LATENCY_MICROS, 3))
+                .recordValue(Math.max(micros, 1));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public Map<String, EndpointStats> snapshot(Duration elapsed) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        histograms.forEach((endpoint, histogram) -> {
+            Histogram copy = histogram.copy();
+            LongAdder errorCount = errors.get(endpoint);
+            stats.put(endpoint, EndpointStats.of(copy, errorCount == null ? 0 : errorCount.sum(), elapsed));
+        });
+        return stats;
+    }
+
+    /**
+     * Writes one HdrHistogram percentile distribution per endpoint, in milliseconds.
+     * The .hgrm files can be plotted with the HdrHistogram plotter.
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(entry.getKey().replace(':', '-') + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                entry.getValue().copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    public record EndpointStats(long requests,
+                                long errors,
+                                double throughput,
+                                double p50Millis,
+                                double p99Millis,
+                                double maxMillis) {
+
+        private static EndpointStats of(Histogram histogram, long errors, Duration elapsed) {
+            long requests = histogram.getTotalCount();
+            return new EndpointStats(
+                    requests,
+                    errors,
+                    requests * 1000.0 / Math.max(elapsed.toMillis(), 1),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0
+            );
+        }
+    }
+}
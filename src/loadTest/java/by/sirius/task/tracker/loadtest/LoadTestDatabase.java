@@ -0,0 +1,130 @@
+package by.sirius.task.tracker.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where a load test run keeps its data, selected with -Ploadtest.database:
+ * <ul>
+ *     <li>{@code embedded-postgres} (default) starts a throwaway PostgreSQL server, the closest match to production</li>
+ *     <li>{@code h2} uses in-memory H2 in PostgreSQL mode, for machines where PostgreSQL can't run (e.g. as root)</li>
+ *     <li>a {@code jdbc:postgresql:} URL reuses an existing server, credentials come from -Ploadtest.database-username/password.
+ *     Missing tables are created but nothing is dropped, so the server's data outlives the run</li>
+ * </ul>
+ */
+public interface LoadTestDatabase extends AutoCloseable {
+
+    Map<String, Object> properties();
+
+    String describe();
+
+    @Override
+    void close();
+
+    static LoadTestDatabase create(String option, String name) {
+        if (option.equals("h2")) {
+            return new H2(name);
+        }
+        if (option.equals("embedded-postgres")) {
+            return EmbeddedPostgresDatabase.start();
+        }
+        if (option.startsWith("jdbc:postgresql:")) {
+            return new External(option,
+                    System.getProperty("loadtest.database-username", "postgres"),
+                    System.getProperty("loadtest.database-password", ""));
+        }
+        throw new IllegalArgumentException("Unknown load test database: " + option);
+    }
+
+    record H2(String name) implements LoadTestDatabase {
+
+        @Override
+        public Map<String, Object> properties() {
+            return Map.of(
+                    "spring.datasource.url", "jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.driver-class-name", "org.h2.Driver",
+                    "spring.datasource.username", "sa",
+                    "spring.datasource.password", "",
+                    "spring.jpa.hibernate.ddl-auto", "create-drop",
+                    "spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                    // The startup migrations query pg_catalog and sequences directly
+                    "task-tracker.migrations.enabled", false
+            );
+        }
+
+        @Override
+        public String describe() {
+            return "h2 (PostgreSQL mode, in-memory)";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    record External(String url, String username, String password) implements LoadTestDatabase {
+
+        @Override
+        public Map<String, Object> properties() {
+            return Map.of(
+                    "spring.datasource.url", url,
+                    "spring.datasource.username", username,
+                    "spring.datasource.password", password,
+                    "spring.jpa.hibernate.ddl-auto", "update"
+            );
+        }
+
+        @Override
+        public String describe() {
+            return url;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    final class EmbeddedPostgresDatabase implements LoadTestDatabase {
+
+        private final EmbeddedPostgres postgres;
+
+        private EmbeddedPostgresDatabase(EmbeddedPostgres postgres) {
+            this.postgres = postgres;
+        }
+
+        private static EmbeddedPostgresDatabase start() {
+            try {
+                return new EmbeddedPostgresDatabase(EmbeddedPostgres.builder().start());
+            } catch (IOException | IllegalStateException e) {
+                throw new IllegalStateException(
+                        "Embedded PostgreSQL failed to start, rerun with -Ploadtest.database=h2 or a jdbc:postgresql: URL", e);
+            }
+        }
+
+        @Override
+        public Map<String, Object> properties() {
+            Map<String, Object> properties = new HashMap<>(
+                    new External(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres").properties());
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            return properties;
+        }
+
+        @Override
+        public String describe() {
+            return "embedded-postgres (port " + postgres.getPort() + ")";
+        }
+
+        @Override
+        public void close() {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
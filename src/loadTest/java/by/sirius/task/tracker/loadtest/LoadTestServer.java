@@ -0,0 +1,73 @@
+package by.sirius.task.tracker.loadtest;
+
+import by.sirius.task.tracker.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LoadTestServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final URI baseUri;
+    private final URI managementUri;
+
+    private LoadTestServer(ConfigurableApplicationContext context, int managementPort) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUri = URI.create("http://localhost:" + port);
+        this.managementUri = URI.create("http://localhost:" + managementPort);
+    }
+
+    /**
+     * Boots the application on a random port against the given database.
+     * Background jobs are pushed out of the run so they don't skew the measurements.
+     */
+    public static LoadTestServer start(LoadTestDatabase database, Map<String, Object> properties) {
+        int managementPort = freePort();
+        Map<String, Object> merged = new HashMap<>(Map.of(
+                "server.port", 0,
+                "management.server.port", managementPort,
+                "task-tracker.email.dispatch-initial-delay", "PT24H",
+                "task-tracker.ranks.rebalance-initial-delay", "PT24H",
+                "logging.level.root", "WARN",
+                "logging.level.by.sirius.task.tracker", "WARN"
+        ));
+        merged.putAll(database.properties());
+        merged.putAll(properties);
+
+        // Passed as arguments so they take precedence over application.yml
+        String[] args = merged.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).run(args);
+        return new LoadTestServer(context, managementPort);
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public URI getManagementUri() {
+        return managementUri;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
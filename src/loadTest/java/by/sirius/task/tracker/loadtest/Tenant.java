@@ -0,0 +1,14 @@
+package by.sirius.task.tracker.loadtest;
+
+import java.util.List;
+
+/**
+ * A seeded user together with the board they own and a teammate who joined it, so tasks can be assigned.
+ */
+public record Tenant(String username,
+                     String password,
+                     String token,
+                     String teammate,
+                     long projectId,
+                     List<Long> taskStateIds) {
+}
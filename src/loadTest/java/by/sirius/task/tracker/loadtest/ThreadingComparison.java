@@ -0,0 +1,163 @@
+package by.sirius.task.tracker.loadtest;
+
+import by.sirius.task.tracker.loadtest.LatencyRecorder.EndpointStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the same board/task workload against the application twice, once on platform request threads
+ * and once with spring.threads.virtual.enabled, and reports throughput and latency percentiles for both.
+ */
+public class ThreadingComparison {
+
+    private static final List<String> MODES = List.of("platform", "virtual");
+
+    private final Options options;
+    private final AtomicLong taskCounter = new AtomicLong();
+
+    public ThreadingComparison(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromSystemProperties();
+        Map<String, Map<String, EndpointStats>> results = new LinkedHashMap<>();
+
+        for (String mode : MODES) {
+            results.put(mode, new ThreadingComparison(options).run(mode));
+        }
+
+        String report = formatReport(options, results);
+        System.out.println(report);
+
+        Files.createDirectories(options.reportDir());
+        Files.writeString(options.reportDir().resolve("threading-comparison.md"), report);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.reportDir().resolve("threading-comparison.json").toFile(),
+                        Map.of("options", options.describe(), "results", results));
+
+        System.exit(0);
+    }
+
+    private Map<String, EndpointStats> run(String mode) throws InterruptedException {
+        Map<String, Object> properties = Map.of("spring.threads.virtual.enabled", "virtual".equals(mode));
+
+        try (LoadTestDatabase database = LoadTestDatabase.create(options.database(), "threading-" + mode);
+             LoadTestServer server = LoadTestServer.start(database, properties);
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            List<Tenant> tenants = new BoardSeeder(new ApiClient(httpClient, server.getBaseUri(), new LatencyRecorder()),
+                    taskCounter).seed(options.users(), options.taskStates(), options.tasksPerState());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(httpClient, server.getBaseUri(), recorder);
+
+            drive(client, tenants, options.warmup());
+            recorder.reset();
+            Duration elapsed = drive(client, tenants, options.duration());
+
+            return recorder.snapshot(elapsed);
+        }
+    }
+
+    private Duration drive(ApiClient client, List<Tenant> tenants, Duration duration) {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            step(client, tenants.get(ThreadLocalRandom.current().nextInt(tenants.size())));
+                        } catch (ApiClient.ApiException e) {
+                            // Already counted as an error by the recorder
+                        }
+                    }
+                });
+            }
+        }
+
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void step(ApiClient client, Tenant tenant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long taskStateId = tenant.taskStateIds().get(random.nextInt(tenant.taskStateIds().size()));
+        int roll = random.nextInt(100);
+
+        if (roll < 50) {
+            client.getBoard(tenant.token(), tenant.projectId());
+        } else if (roll < 80) {
+            client.getTasks(tenant.token(), tenant.projectId(), taskStateId);
+        } else {
+            client.createTask(tenant.token(), tenant.projectId(), taskStateId, "Load task " + taskCounter.incrementAndGet());
+        }
+    }
+
+    private static String formatReport(Options options, Map<String, Map<String, EndpointStats>> results) {
+        StringBuilder report = new StringBuilder()
+                .append("# Platform vs virtual request threads\n\n")
+                .append(options.describe()).append("\n\n")
+                .append("| mode | endpoint | requests | errors | req/s | p50 ms | p99 ms | max ms |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---:|\n");
+
+        results.forEach((mode, endpoints) -> endpoints.forEach((endpoint, stats) -> report.append(String.format(
+                "| %s | %s | %d | %d | %.1f | %.2f | %.2f | %.2f |%n", mode, endpoint, stats.requests(),
+                stats.errors(), stats.throughput(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis()))));
+
+        Map<String, EndpointStats> platform = results.get("platform");
+        Map<String, EndpointStats> virtual = results.get("virtual");
+        report.append("\n| endpoint | throughput virtual/platform | p99 virtual/platform |\n|---|---:|---:|\n");
+        platform.forEach((endpoint, stats) -> {
+            EndpointStats other = virtual.get(endpoint);
+            if (other != null) {
+                report.append(String.format("| %s | %.2fx | %.2fx |%n", endpoint,
+                        other.throughput() / stats.throughput(), other.p99Millis() / stats.p99Millis()));
+            }
+        });
+
+        return report.toString();
+    }
+
+    public record Options(int concurrency,
+                          Duration warmup,
+                          Duration duration,
+                          int users,
+                          int taskStates,
+                          int tasksPerState,
+                          String database,
+                          Path reportDir) {
+
+        public static Options fromSystemProperties() {
+            return new Options(
+                    Integer.getInteger("loadtest.concurrency", 200),
+                    Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                    Integer.getInteger("loadtest.users", 20),
+                    Integer.getInteger("loadtest.task-states", 3),
+                    Integer.getInteger("loadtest.tasks-per-state", 50),
+                    System.getProperty("loadtest.database", "embedded-postgres"),
+                    Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"))
+            );
+        }
+
+        public String describe() {
+            return String.format("concurrency=%d, warmup=%s, duration=%s, users=%d, task-states=%d, tasks-per-state=%d, "
+                    + "database=%s", concurrency, warmup, duration, users, taskStates, tasksPerState, database);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package by.sirius.task.tracker.loadtest;
+
+import by.sirius.task.tracker.loadtest.LatencyRecorder.EndpointStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application, seeds boards and replays what people do on them: log in, open a board,
+ * create, drag, move and assign tasks. Every request and every workflow is recorded into an HdrHistogram.
+ */
+public class WorkflowLoadTest {
+
+    private final Options options;
+    private final AtomicLong counter = new AtomicLong();
+
+    public WorkflowLoadTest(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromSystemProperties();
+        LatencyRecorder recorder = new WorkflowLoadTest(options).run();
+
+        Map<String, EndpointStats> stats = recorder.snapshot(options.duration());
+        String report = formatReport(options, stats);
+        System.out.println(report);
+
+        Files.createDirectories(options.reportDir());
+        Files.writeString(options.reportDir().resolve("workflow-load-test.md"), report);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.reportDir().resolve("workflow-load-test.json").toFile(),
+                        Map.of("options", options.describe(), "results", stats));
+        recorder.writeDistributions(options.reportDir().resolve("histograms"));
+
+        System.exit(0);
+    }
+
+    private LatencyRecorder run() throws InterruptedException, IOException {
+        Map<String, Object> properties = Map.of("spring.threads.virtual.enabled", options.virtualThreads());
+
+        try (LoadTestDatabase database = LoadTestDatabase.create(options.database(), "workflows");
+             LoadTestServer server = LoadTestServer.start(database, properties);
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            List<Tenant> tenants = new BoardSeeder(new ApiClient(httpClient, server.getBaseUri(), new LatencyRecorder()),
+                    counter).seed(options.users(), options.taskStates(), options.tasksPerState());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(httpClient, server.getBaseUri(), recorder);
+
+            drive(client, recorder, tenants, options.warmup());
+            recorder.reset();
+            drive(client, recorder, tenants, options.duration());
+
+            // Server-side view of the same run: auth, service and Hibernate timers next to the client latencies
+            Files.createDirectories(options.reportDir());
+            Files.writeString(options.reportDir().resolve("prometheus.txt"),
+                    client.scrapeMetrics(server.getManagementUri()));
+
+            return recorder;
+        }
+    }
+
+    private void drive(ApiClient client, LatencyRecorder recorder, List<Tenant> tenants, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        Workflow workflow = options.mix().pick(random.nextInt(options.mix().total()));
+                        Tenant tenant = tenants.get(random.nextInt(tenants.size()));
+
+                        long start = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            run(workflow, client, tenant);
+                            success = true;
+                        } catch (ApiClient.ApiException e) {
+                            // The failing request is already counted as an error by the recorder
+                        } finally {
+                            recorder.record("workflow:" + workflow.key(), System.nanoTime() - start, success);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private void run(Workflow workflow, ApiClient client, Tenant tenant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (workflow) {
+            case REGISTER -> {
+                String username = "new-user-" + counter.incrementAndGet();
+                client.register(username, BoardSeeder.PASSWORD);
+                client.login(username, BoardSeeder.PASSWORD);
+            }
+            case LOGIN -> client.login(tenant.username(), tenant.password());
+            case OPEN_BOARD -> client.getBoard(tenant.token(), tenant.projectId());
+            case CREATE_TASK -> {
+                long taskStateId = pick(tenant.taskStateIds(), random);
+                client.createTask(tenant.token(), tenant.projectId(), taskStateId, "Load task " + counter.incrementAndGet());
+            }
+            case DRAG_TASK -> {
+                List<Long> column = pickColumn(client.getBoard(tenant.token(), tenant.projectId()), random);
+                if (column.isEmpty()) {
+                    return;
+                }
+                long taskId = pick(column, random);
+                long leftTaskId = pick(column, random);
+                client.changeTaskPosition(tenant.token(), taskId, leftTaskId == taskId ? null : leftTaskId);
+            }
+            case MOVE_TASK -> {
+                List<Long> column = pickColumn(client.getBoard(tenant.token(), tenant.projectId()), random);
+                if (column.isEmpty()) {
+                    return;
+                }
+                client.changeTaskState(tenant.token(), pick(column, random), pick(tenant.taskStateIds(), random));
+            }
+            case ASSIGN_TASK -> {
+                List<Long> column = pickColumn(client.getBoard(tenant.token(), tenant.projectId()), random);
+                if (column.isEmpty()) {
+                    return;
+                }
+                client.assignTask(tenant.token(), pick(column, random), tenant.teammate());
+            }
+        }
+    }
+
+    private static List<Long> pickColumn(JsonNode board, ThreadLocalRandom random) {
+        JsonNode taskStates = board.path("task_states");
+        if (taskStates.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> taskIds = new ArrayList<>();
+        taskStates.get(random.nextInt(taskStates.size())).path("tasks").forEach(task -> taskIds.add(task.path("id").asLong()));
+        return taskIds;
+    }
+
+    private static long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String formatReport(Options options, Map<String, EndpointStats> stats) {
+        StringBuilder report = new StringBuilder()
+                .append("# Workflow load test\n\n")
+                .append(options.describe()).append("\n\n")
+                .append("| endpoint | requests | errors | req/s | p50 ms | p99 ms | max ms |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|\n");
+
+        stats.forEach((endpoint, endpointStats) -> report.append(String.format(
+                "| %s | %d | %d | %.1f | %.2f | %.2f | %.2f |%n", endpoint, endpointStats.requests(),
+                endpointStats.errors(), endpointStats.throughput(), endpointStats.p50Millis(),
+                endpointStats.p99Millis(), endpointStats.maxMillis())));
+
+        return report.toString();
+    }
+
+    public enum Workflow {
+        REGISTER("register"),
+        LOGIN("login"),
+        OPEN_BOARD("openBoard"),
+        CREATE_TASK("createTask"),
+        DRAG_TASK("dragTask"),
+        MOVE_TASK("moveTask"),
+        ASSIGN_TASK("assignTask");
+
+        private final String key;
+
+        Workflow(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public static Workflow of(String key) {
+            for (Workflow workflow : values()) {
+                if (workflow.key.equals(key)) {
+                    return workflow;
+                }
+            }
+            throw new IllegalArgumentException("Unknown workflow: " + key);
+        }
+    }
+
+    /**
+     * Relative weights of the workflows, parsed from e.g. {@code openBoard:40,dragTask:15}.
+     */
+    public record Mix(Map<Workflow, Integer> weights, int total) {
+
+        public static Mix parse(String value) {
+            Map<Workflow, Integer> weights = new LinkedHashMap<>();
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split(":");
+                weights.put(Workflow.of(parts[0]), Integer.parseInt(parts[1]));
+            }
+            return new Mix(weights, weights.values().stream().mapToInt(Integer::intValue).sum());
+        }
+
+        public Workflow pick(int roll) {
+            for (Map.Entry<Workflow, Integer> entry : weights.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Roll out of range");
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder value = new StringBuilder();
+            weights.forEach((workflow, weight) ->
+                    value.append(value.isEmpty() ? "" : ",").append(workflow.key()).append(':').append(weight));
+            return value.toString();
+        }
+    }
+
+    public record Options(int concurrency,
+                          Duration warmup,
+                          Duration duration,
+                          int users,
+                          int taskStates,
+                          int tasksPerState,
+                          Mix mix,
+                          boolean virtualThreads,
+                          String database,
+                          Path reportDir) {
+
+        private static final String DEFAULT_MIX =
+                "openBoard:35,createTask:15,dragTask:15,moveTask:15,assignTask:10,login:8,register:2";
+
+        public static Options fromSystemProperties() {
+            return new Options(
+                    Integer.getInteger("loadtest.concurrency", 50),
+                    Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                    Integer.getInteger("loadtest.users", 20),
+                    Integer.getInteger("loadtest.task-states", 4),
+                    Integer.getInteger("loadtest.tasks-per-state", 50),
+                    Mix.parse(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                    Boolean.getBoolean("loadtest.virtual-threads"),
+                    System.getProperty("loadtest.database", "embedded-postgres"),
+                    Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"))
+            );
+        }
+
+        public String describe() {
+            return String.format("concurrency=%d, warmup=%s, duration=%s, users=%d, task-states=%d, tasks-per-state=%d, "
+                            + "mix=%s, virtual-threads=%s, database=%s", concurrency, warmup, duration, users, taskStates,
+                    tasksPerState, mix, virtualThreads, database);
+        }
+    }
+}
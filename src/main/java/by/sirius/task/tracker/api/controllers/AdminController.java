@@ -1,6 +1,8 @@
 package by.sirius.task.tracker.api.controllers;
 
+import by.sirius.task.tracker.api.dto.CacheStatsDto;
 import by.sirius.task.tracker.api.dto.UserDto;
+import by.sirius.task.tracker.core.services.CacheStatsService;
 import by.sirius.task.tracker.core.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,12 +16,19 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final CacheStatsService cacheStatsService;
 
     private final String GET_USERS = "/users/{project_id}";
+    private final String GET_CACHE_STATS = "/caches";
 
     @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'WRITE')")
     @GetMapping(GET_USERS)
     public List<UserDto> getUsers(@PathVariable("project_id") Long projectId) {
         return userService.getUsers(projectId);
     }
+
+    @GetMapping(GET_CACHE_STATS)
+    public List<CacheStatsDto> getCacheStats() {
+        return cacheStatsService.getCacheStats();
+    }
 }
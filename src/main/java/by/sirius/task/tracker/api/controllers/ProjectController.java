@@ -1,22 +1,30 @@
 package by.sirius.task.tracker.api.controllers;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.BoardChangesDto;
+import by.sirius.task.tracker.api.dto.BoardDto;
 import by.sirius.task.tracker.api.dto.InvitationDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.ProjectDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.core.services.BoardService;
 import by.sirius.task.tracker.core.services.InvitationService;
 import by.sirius.task.tracker.core.services.ProjectService;
 import by.sirius.task.tracker.core.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
-import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
@@ -24,10 +32,16 @@ import java.util.List;
 public class ProjectController {
 
     private final UserService userService;
+    private final BoardService boardService;
     private final ProjectService projectService;
     private final InvitationService invitationService;
+    private final BoardChangeBroadcaster boardChangeBroadcaster;
+    private final BoardVersionTracker boardVersionTracker;
 
     public static final String GET_PROJECTS = "/api/projects";
+    public static final String GET_BOARD = "/api/projects/{project_id}/board";
+    public static final String GET_BOARD_CHANGES = "/api/projects/{project_id}/changes";
+    public static final String STREAM_BOARD_CHANGES = "/api/projects/{project_id}/board/stream";
     public static final String CREATE_PROJECT = "/api/projects";
     public static final String EDIT_PROJECT = "/api/projects/{project_id}";
     public static final String DELETE_PROJECT = "/api/projects/{project_id}";
@@ -36,9 +50,40 @@ public class ProjectController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping(GET_PROJECTS)
-    public List<ProjectDto> getProjects(Principal principal) {
+    public PageDto<ProjectDto> getProjects(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           Principal principal,
+                                           WebRequest webRequest) {
         log.info("Getting all projects");
-        return projectService.getProjects(principal.getName());
+        if (webRequest.checkNotModified(boardVersionTracker.getProjectsETag(principal.getName()))) {
+            return null;
+        }
+        return projectService.getProjects(principal.getName(), cursor, limit);
+    }
+
+    @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
+    @GetMapping(GET_BOARD)
+    public BoardDto getBoard(@PathVariable("project_id") Long projectId, WebRequest webRequest) {
+        log.debug("Fetching board for project ID: {}", projectId);
+        if (webRequest.checkNotModified(boardVersionTracker.getBoardETag(projectId))) {
+            return null;
+        }
+        return boardService.getBoard(projectId);
+    }
+
+    @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
+    @GetMapping(GET_BOARD_CHANGES)
+    public BoardChangesDto getBoardChanges(@PathVariable("project_id") Long projectId, @RequestParam long since) {
+        log.debug("Fetching board changes for project ID: {} since version {}", projectId, since);
+        return boardService.getChanges(projectId, since);
+    }
+
+    // Permission is checked once, when the stream is opened
+    @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
+    @GetMapping(value = STREAM_BOARD_CHANGES, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoardChanges(@PathVariable("project_id") Long projectId, Principal principal) {
+        log.debug("Opening board change stream for project ID: {}", projectId);
+        return boardChangeBroadcaster.subscribe(projectId, principal.getName());
     }
 
     @PreAuthorize("isAuthenticated()")
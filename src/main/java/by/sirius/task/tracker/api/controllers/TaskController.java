@@ -1,19 +1,29 @@
 package by.sirius.task.tracker.api.controllers;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.BulkTaskOperationResultDto;
+import by.sirius.task.tracker.api.dto.BulkTaskRequestDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.TaskDto;
 import by.sirius.task.tracker.api.dto.TaskHistoryDto;
+import by.sirius.task.tracker.api.dto.TaskSearchResultDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
+import by.sirius.task.tracker.core.services.BulkTaskService;
 import by.sirius.task.tracker.core.services.ProjectSecurityService;
 import by.sirius.task.tracker.core.services.TaskHistoryService;
+import by.sirius.task.tracker.core.services.TaskSearchService;
 import by.sirius.task.tracker.core.services.TaskService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,11 +33,16 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskService taskService;
+    private final BulkTaskService bulkTaskService;
     private final TaskHistoryService taskHistoryService;
+    private final TaskSearchService taskSearchService;
     private final ProjectSecurityService projectSecurityService;
+    private final BoardVersionTracker boardVersionTracker;
 
     public static final String GET_TASKS = "/api/projects/{project_id}/task-states/{task_state_id}/tasks";
     public static final String GET_USER_TASKS = "/api/projects/{project_id}/users/{username}/tasks";
+    public static final String SEARCH_TASKS = "/api/tasks/search";
+    public static final String SEARCH_PROJECT_TASKS = "/api/projects/{project_id}/tasks/search";
     public static final String GET_TASK_HISTORY = "/api/tasks/{task_id}/history";
     public static final String CREATE_TASK = "/api/projects/{project_id}/task-states/{task_state_id}/tasks";
     public static final String EDIT_TASK = "/api/tasks/{task_id}";
@@ -35,31 +50,63 @@ public class TaskController {
     public static final String ASSIGN_TASK_TO_SPECIFIC_USER = "/api/tasks/{task_id}/assign";
     public static final String CHANGE_TASK_STATE = "/api/tasks/{task_id}/state/change";
     public static final String CHANGE_TASK_POSITION = "/api/tasks/{task_id}/position/change";
+    public static final String BULK_TASK_OPERATIONS = "/api/projects/{project_id}/tasks/bulk";
 
     @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
     @GetMapping(GET_TASKS)
-    public List<TaskDto> getTasks(@PathVariable("project_id") Long projectId,
-                                  @PathVariable("task_state_id") Long taskStateId) {
+    public PageDto<TaskDto> getTasks(@PathVariable("project_id") Long projectId,
+                                     @PathVariable("task_state_id") Long taskStateId,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit,
+                                     WebRequest webRequest) {
         log.debug("Fetching tasks for project ID: {} and task state ID: {}", projectId, taskStateId);
-        return taskService.getTasks(projectId, taskStateId);
+        if (webRequest.checkNotModified(boardVersionTracker.getBoardETag(projectId))) {
+            return null;
+        }
+        return taskService.getTasks(projectId, taskStateId, cursor, limit);
     }
 
     @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
     @GetMapping(GET_USER_TASKS)
-    public List<TaskDto> getAssignedTasks( @PathVariable("project_id") Long projectId,
-                                           @PathVariable("username") String username,
-                                           Principal principal) {
+    public PageDto<TaskDto> getAssignedTasks(@PathVariable("project_id") Long projectId,
+                                             @PathVariable("username") String username,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             Principal principal) {
         log.debug("Fetching assigned tasks for project ID: {} and user: {}", projectId, username);
         if (!principal.getName().equals(username) && !projectSecurityService.isAdminOfProject(projectId, principal.getName())) {
             throw new BadRequestException("You can only view your own tasks or as an admin.", HttpStatus.BAD_REQUEST);
         }
-        return taskService.getAssignedTasks(username);
+        return taskService.getAssignedTasks(projectId, username, cursor, limit);
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(SEARCH_TASKS)
+    public List<TaskSearchResultDto> searchTasks(@RequestParam String query,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 Principal principal) {
+        return taskSearchService.searchTasks(principal.getName(), null, query, limit);
+    }
+
+    @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
+    @GetMapping(SEARCH_PROJECT_TASKS)
+    public List<TaskSearchResultDto> searchProjectTasks(@PathVariable("project_id") Long projectId,
+                                                        @RequestParam String query,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        Principal principal) {
+        return taskSearchService.searchTasks(principal.getName(), projectId, query, limit);
     }
 
     @PreAuthorize("@projectSecurityService.hasTaskPermission(#taskId, 'WRITE')")
     @GetMapping(GET_TASK_HISTORY)
-    public List<TaskHistoryDto> getTaskHistory(@PathVariable("task_id") Long taskId) {
-        return taskHistoryService.getTaskHistoryByTaskId(taskId);
+    public PageDto<TaskHistoryDto> getTaskHistory(@PathVariable("task_id") Long taskId,
+                                                  @RequestParam(required = false) Instant from,
+                                                  @RequestParam(required = false) Instant to,
+                                                  @RequestParam(required = false) String changeType,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return taskHistoryService.getTaskHistoryByTaskId(taskId, from, to, changeType, cursor, limit, includeArchived);
     }
 
     @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'WRITE')")
@@ -110,4 +157,12 @@ public class TaskController {
         log.info("Changing task position for task ID: {} with left task ID: {}", taskId, leftTaskId.orElse(null));
         return taskService.changeTaskPosition(taskId, leftTaskId);
     }
+
+    @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, #request.requiredPermission())")
+    @PostMapping(BULK_TASK_OPERATIONS)
+    public List<BulkTaskOperationResultDto> applyBulkOperations(@PathVariable("project_id") Long projectId,
+                                                                @Valid @RequestBody BulkTaskRequestDto request) {
+        log.info("Applying {} bulk task operations in project ID: {}", request.getOperations().size(), projectId);
+        return bulkTaskService.applyOperations(projectId, request.getOperations());
+    }
 }
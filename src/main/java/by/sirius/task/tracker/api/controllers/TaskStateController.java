@@ -2,11 +2,13 @@ package by.sirius.task.tracker.api.controllers;
 
 import by.sirius.task.tracker.api.dto.AckDto;
 import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.core.services.TaskStateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +19,7 @@ import java.util.Optional;
 public class TaskStateController {
 
     private final TaskStateService taskStateService;
+    private final BoardVersionTracker boardVersionTracker;
 
     public static final String GET_TASK_STATES = "/api/projects/{project_id}/task-states";
     public static final String CREATE_TASK_STATE = "/api/projects/{project_id}/task-states";
@@ -26,8 +29,11 @@ public class TaskStateController {
 
     @PreAuthorize("@projectSecurityService.hasProjectPermission(#projectId, 'READ')")
     @GetMapping(GET_TASK_STATES)
-    public List<TaskStateDto> getTaskStates(@PathVariable(name = "project_id") Long projectId) {
+    public List<TaskStateDto> getTaskStates(@PathVariable(name = "project_id") Long projectId, WebRequest webRequest) {
         log.debug("Fetching task states for project ID: {}", projectId);
+        if (webRequest.checkNotModified(boardVersionTracker.getBoardETag(projectId))) {
+            return null;
+        }
         return taskStateService.getTaskStates(projectId);
     }
 
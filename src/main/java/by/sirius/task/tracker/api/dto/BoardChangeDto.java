@@ -0,0 +1,29 @@
+package by.sirius.task.tracker.api.dto;
+
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardChangeDto {
+
+    @JsonProperty("item_type")
+    private BoardItemType itemType;
+
+    private Long id;
+
+    @JsonProperty("task_state_id")
+    private Long taskStateId;
+
+    @JsonProperty("change_type")
+    private BoardChangeType changeType;
+
+    private Long version;
+}
@@ -0,0 +1,37 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardChangesDto implements Serializable {
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private Long version;
+
+    // The changes since the requested version are gone, the client has to reload the board
+    @JsonProperty("resync_required")
+    private Boolean resyncRequired;
+
+    // Current state of what changed, task states come without their tasks
+    @JsonProperty("task_states")
+    private List<TaskStateDto> taskStates;
+
+    private List<TaskDto> tasks;
+
+    // Tasks of a deleted task state are gone with it
+    @JsonProperty("deleted_task_state_ids")
+    private List<Long> deletedTaskStateIds;
+
+    @JsonProperty("deleted_task_ids")
+    private List<Long> deletedTaskIds;
+
+}
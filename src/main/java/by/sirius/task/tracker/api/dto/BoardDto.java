@@ -0,0 +1,21 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardDto implements Serializable {
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    @JsonProperty("task_states")
+    private List<TaskStateDto> taskStates;
+
+}
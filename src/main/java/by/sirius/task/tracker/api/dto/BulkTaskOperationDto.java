@@ -0,0 +1,31 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskOperationDto {
+
+    @NotNull(message = "Operation type is required!")
+    private BulkTaskOperationType type;
+
+    @JsonProperty("task_id")
+    private Long taskId;
+
+    @JsonProperty("task_state_id")
+    private Long taskStateId;
+
+    @JsonProperty("left_task_id")
+    private Long leftTaskId;
+
+    private String name;
+
+    private String username;
+}
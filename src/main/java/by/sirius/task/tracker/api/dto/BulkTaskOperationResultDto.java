@@ -0,0 +1,18 @@
+package by.sirius.task.tracker.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskOperationResultDto {
+
+    private Integer index;
+    private Boolean success;
+    private TaskDto task;
+    private String error;
+}
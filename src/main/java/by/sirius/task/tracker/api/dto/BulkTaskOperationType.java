@@ -0,0 +1,9 @@
+package by.sirius.task.tracker.api.dto;
+
+public enum BulkTaskOperationType {
+    CREATE,
+    RENAME,
+    MOVE,
+    ASSIGN,
+    DELETE
+}
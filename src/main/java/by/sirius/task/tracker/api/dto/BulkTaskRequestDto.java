@@ -0,0 +1,29 @@
+package by.sirius.task.tracker.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskRequestDto {
+
+    @Valid
+    @NotEmpty(message = "Operations are required!")
+    private List<BulkTaskOperationDto> operations;
+
+    public String requiredPermission() {
+        boolean requiresWrite = operations != null && operations.stream()
+                .anyMatch(operation -> operation.getType() == BulkTaskOperationType.CREATE
+                        || operation.getType() == BulkTaskOperationType.ASSIGN);
+
+        return requiresWrite ? "WRITE" : "READ";
+    }
+}
@@ -0,0 +1,30 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+    private String name;
+
+    private Long size;
+
+    @JsonProperty("hit_count")
+    private Long hitCount;
+
+    @JsonProperty("miss_count")
+    private Long missCount;
+
+    @JsonProperty("hit_rate")
+    private Double hitRate;
+
+    @JsonProperty("eviction_count")
+    private Long evictionCount;
+}
@@ -0,0 +1,20 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageDto<T> implements Serializable {
+
+    private List<T> items;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+}
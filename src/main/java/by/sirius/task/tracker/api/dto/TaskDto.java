@@ -15,10 +15,10 @@ public class TaskDto implements Serializable {
     private Long id;
     private String name;
     private String assignedUser;
-    private Long leftTaskId;
+    private Long rank;
 
-    @JsonProperty("right_task_id")
-    private Long rightTaskId;
+    @JsonProperty("task_state_id")
+    private Long taskStateId;
 
     @JsonProperty("created_at")
     private Instant createdAt;
@@ -0,0 +1,22 @@
+package by.sirius.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskSearchResultDto implements Serializable {
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private TaskDto task;
+
+    // Higher is closer, only comparable within one result list
+    private Double score;
+
+}
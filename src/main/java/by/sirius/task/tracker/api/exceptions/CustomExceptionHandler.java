@@ -4,6 +4,7 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,8 +28,10 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
                 .errorDescription(ex.getMessage())
                 .build();
 
+        // Set explicitly so errors still render for clients that only accept an event stream
         return ResponseEntity
                 .status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(errorDto);
     }
 
@@ -0,0 +1,250 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.api.dto.BoardChangeDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed task and task state changes to the open board streams of their project.
+ * Changes are collected per project and sent as one batch per coalesce window, later changes
+ * of the same item replacing earlier ones.
+ */
+@Slf4j
+@Component
+public class BoardChangeBroadcaster implements SmartLifecycle {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration coalesceWindow;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+
+    private final ConcurrentMap<Long, ProjectChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+    private long lastHeartbeat = System.nanoTime();
+
+    public BoardChangeBroadcaster(MeterRegistry meterRegistry,
+                                  @Value("${task-tracker.board-stream.coalesce-window:PT0.2S}") Duration coalesceWindow,
+                                  @Value("${task-tracker.board-stream.heartbeat-interval:PT25S}") Duration heartbeatInterval,
+                                  @Value("${task-tracker.board-stream.timeout:PT30M}") Duration streamTimeout,
+                                  @Value("${task-tracker.board-stream.subscriber-buffer:32}") int subscriberBuffer,
+                                  @Value("${task-tracker.board-stream.max-subscribers:1000}") int maxSubscribers) {
+        this.meterRegistry = meterRegistry;
+        this.coalesceWindow = coalesceWindow;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+
+        Gauge.builder("tasktracker.board.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open board change streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long projectId, String username) {
+        return subscribe(projectId, username, new SseEmitter(streamTimeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long projectId, String username, SseEmitter emitter) {
+        if (!running) {
+            throw new BadRequestException("Board changes are not streamed right now", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BadRequestException("Too many open board streams", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        BoardSubscriber subscriber = new BoardSubscriber(projectId, username, emitter, subscriberBuffer);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        channels.compute(projectId, (id, channel) -> {
+            ProjectChannel target = channel != null ? channel : new ProjectChannel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+
+        subscriber.offer(SseEmitter.event().name("subscribed").data(projectId));
+        subscriber.start();
+
+        log.debug("User {} subscribed to board changes of project ID: {}", username, projectId);
+        return emitter;
+    }
+
+    /**
+     * Closes the streams of one user, or of everybody when username is null, once the transaction commits.
+     */
+    public void disconnect(Long projectId, String username) {
+        afterCommit(() -> {
+            ProjectChannel channel = channels.get(projectId);
+            if (channel == null) {
+                return;
+            }
+
+            channel.subscribers.stream()
+                    .filter(subscriber -> username == null || username.equals(subscriber.getUsername()))
+                    .forEach(BoardSubscriber::close);
+        });
+    }
+
+    public void publish(Long projectId, BoardChangeDto change) {
+        afterCommit(() -> {
+            // Nobody watches the board, so there is nothing to keep
+            ProjectChannel channel = channels.get(projectId);
+            if (channel != null) {
+                channel.add(change);
+            }
+        });
+    }
+
+    void flush() {
+        boolean heartbeat = System.nanoTime() - lastHeartbeat >= heartbeatInterval.toNanos();
+        if (heartbeat) {
+            lastHeartbeat = System.nanoTime();
+        }
+
+        channels.forEach((projectId, channel) -> {
+            List<BoardChangeDto> changes = channel.drain();
+
+            if (!changes.isEmpty()) {
+                deliver(channel, () -> SseEmitter.event().name("board-changes").data(changes, MediaType.APPLICATION_JSON));
+                meterRegistry.counter("tasktracker.board.changes").increment(changes.size());
+            } else if (heartbeat) {
+                deliver(channel, () -> SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    private void deliver(ProjectChannel channel, EventFactory eventFactory) {
+        for (BoardSubscriber subscriber : channel.subscribers) {
+            if (subscriber.isClosed()) {
+                unsubscribe(subscriber);
+            } else if (!subscriber.offer(eventFactory.create())) {
+                log.debug("Board stream of {} for project ID: {} fell behind, asking it to resync",
+                        subscriber.getUsername(), subscriber.getProjectId());
+                subscriber.replaceQueued(SseEmitter.event().name("resync").data(subscriber.getProjectId()));
+                meterRegistry.counter("tasktracker.board.overflows").increment();
+            }
+        }
+    }
+
+    private void unsubscribe(BoardSubscriber subscriber) {
+        channels.computeIfPresent(subscriber.getProjectId(), (id, channel) -> {
+            if (channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        subscriber.close();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-change-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely,
+                coalesceWindow.toMillis(), coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+
+        // Open streams would otherwise hold graceful shutdown until they time out
+        channels.values().forEach(channel -> channel.subscribers.forEach(this::unsubscribe));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush board changes", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventFactory {
+        SseEmitter.SseEventBuilder create();
+    }
+
+    private static class ProjectChannel {
+
+        private final List<BoardSubscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Map<String, BoardChangeDto> pending = new LinkedHashMap<>();
+
+        private synchronized void add(BoardChangeDto change) {
+            String key = change.getItemType() + ":" + change.getId();
+            BoardChangeDto previous = pending.remove(key);
+
+            if (previous != null && previous.getChangeType() == BoardChangeType.CREATED) {
+                // Clients never saw it, so it is still new, or never was if it is gone already
+                if (change.getChangeType() == BoardChangeType.DELETED) {
+                    return;
+                }
+                change.setChangeType(BoardChangeType.CREATED);
+            }
+
+            pending.put(key, change);
+        }
+
+        private synchronized List<BoardChangeDto> drain() {
+            List<BoardChangeDto> changes = new ArrayList<>(pending.values());
+            pending.clear();
+            return changes;
+        }
+    }
+}
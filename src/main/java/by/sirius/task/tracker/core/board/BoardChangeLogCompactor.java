@@ -0,0 +1,56 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.store.projections.ProjectVersionView;
+import by.sirius.task.tracker.store.repositories.BoardChangeRepository;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the board change log small. Only the latest change of every item is kept, which still
+ * answers "what changed since N" for any N, and changes past retention are dropped by moving the
+ * project's horizon forward, so clients older than that are told to resync.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class BoardChangeLogCompactor {
+
+    private final ProjectRepository projectRepository;
+    private final BoardChangeRepository boardChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task-tracker.board-changes.retention:P7D}")
+    private Duration retention;
+
+    @Scheduled(
+            initialDelayString = "${task-tracker.board-changes.compaction-initial-delay:PT1M}",
+            fixedDelayString = "${task-tracker.board-changes.compaction-delay:PT15M}"
+    )
+    public void compact() {
+        int superseded = transactionTemplate.execute(status -> boardChangeRepository.deleteSuperseded());
+        int orphaned = transactionTemplate.execute(status -> boardChangeRepository.deleteOfDeletedProjects());
+
+        List<ProjectVersionView> expired =
+                boardChangeRepository.findLatestVersionsChangedBefore(Instant.now().minus(retention));
+
+        // The horizon moves in the same transaction as the delete, so readers never miss a change silently
+        expired.forEach(project -> transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.advanceChangeLogHorizon(project.projectId(), project.boardVersion());
+            boardChangeRepository.deleteUpToVersion(project.projectId(), project.boardVersion());
+        }));
+
+        if (superseded + orphaned > 0 || !expired.isEmpty()) {
+            log.info("Compacted board change log: {} superseded, {} orphaned, {} projects past retention",
+                    superseded, orphaned, expired.size());
+        }
+    }
+}
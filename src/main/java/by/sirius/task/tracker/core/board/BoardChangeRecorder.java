@@ -0,0 +1,59 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.api.dto.BoardChangeDto;
+import by.sirius.task.tracker.store.entities.BoardChangeEntity;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.repositories.BoardChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records task and task state changes in the transaction that makes them: bumps the board version
+ * of the project, appends the change to its change log and hands it over to the open board streams
+ * once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardChangeRecorder {
+
+    private final BoardVersionTracker boardVersionTracker;
+    private final BoardChangeBroadcaster boardChangeBroadcaster;
+    private final BoardChangeRepository boardChangeRepository;
+
+    public void taskChanged(TaskEntity task, BoardChangeType changeType) {
+        record(task.getTaskState().getProject().getId(), BoardChangeDto.builder()
+                .itemType(BoardItemType.TASK)
+                .id(task.getId())
+                .taskStateId(task.getTaskState().getId())
+                .changeType(changeType)
+                .build());
+    }
+
+    public void taskStateChanged(TaskStateEntity taskState, BoardChangeType changeType) {
+        record(taskState.getProject().getId(), BoardChangeDto.builder()
+                .itemType(BoardItemType.TASK_STATE)
+                .id(taskState.getId())
+                .taskStateId(taskState.getId())
+                .changeType(changeType)
+                .build());
+    }
+
+    private void record(Long projectId, BoardChangeDto change) {
+        long version = boardVersionTracker.bump(projectId);
+
+        boardChangeRepository.save(BoardChangeEntity.builder()
+                .projectId(projectId)
+                .version(version)
+                .itemType(change.getItemType())
+                .itemId(change.getId())
+                .taskStateId(change.getTaskStateId())
+                .changeType(change.getChangeType())
+                .build());
+
+        change.setVersion(version);
+        boardChangeBroadcaster.publish(projectId, change);
+    }
+}
@@ -0,0 +1,79 @@
+package by.sirius.task.tracker.core.board;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * One open stream. Events wait in a bounded queue and a virtual thread of its own writes them,
+ * so a slow client only ever holds up itself.
+ */
+@Slf4j
+class BoardSubscriber {
+
+    @Getter
+    private final Long projectId;
+    @Getter
+    private final String username;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+
+    private volatile boolean closed;
+    private Thread sender;
+
+    BoardSubscriber(Long projectId, String username, SseEmitter emitter, int bufferSize) {
+        this.projectId = projectId;
+        this.username = username;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    void start() {
+        sender = Thread.ofVirtual()
+                .name("board-stream-" + projectId + "-" + username)
+                .start(this::send);
+    }
+
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return !closed && queue.offer(event);
+    }
+
+    /**
+     * Whatever the client missed is dropped, it is told to reload the board instead.
+     */
+    void replaceQueued(SseEmitter.SseEventBuilder event) {
+        queue.clear();
+        queue.offer(event);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        if (sender != null) {
+            sender.interrupt();
+        }
+        emitter.complete();
+    }
+
+    private void send() {
+        try {
+            while (!closed) {
+                emitter.send(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // The container completes the request on its own once the write failed
+            log.debug("Board stream of {} for project ID: {} closed: {}", username, projectId, e.getMessage());
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.store.projections.ProjectVersionView;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the board version of each project. Every task, task state and membership change bumps it,
+ * once per transaction, and board reads hand it out as their ETag so unchanged reads can be
+ * answered from the version alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardVersionTracker {
+
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Bumps the version of the project and returns the new one. Further changes to the same project
+     * in the same transaction share it, and the row lock held until commit keeps versions in commit order.
+     */
+    public long bump(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return increment(projectId);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> bumped = (Map<Long, Long>) TransactionSynchronizationManager.getResource(this);
+        if (bumped == null) {
+            bumped = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bumped);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BoardVersionTracker.this);
+                }
+            });
+        }
+
+        return bumped.computeIfAbsent(projectId, this::increment);
+    }
+
+    public long getVersion(Long projectId) {
+        return projectRepository.findBoardVersionById(projectId).orElse(0L);
+    }
+
+    /**
+     * Returns null for a missing project, which leaves the response without an ETag.
+     */
+    public String getBoardETag(Long projectId) {
+        return projectRepository.findBoardVersionById(projectId)
+                .map(version -> "\"" + version + "\"")
+                .orElse(null);
+    }
+
+    /**
+     * Covers the set of projects the user sees as well as their versions, so joining, leaving,
+     * creating and deleting a project all change it.
+     */
+    public String getProjectsETag(String username) {
+        StringBuilder versions = new StringBuilder();
+        for (ProjectVersionView project : projectRepository.findBoardVersionsByUsername(username)) {
+            versions.append(project.projectId()).append(':').append(project.boardVersion()).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private long increment(Long projectId) {
+        projectRepository.incrementBoardVersion(projectId);
+        return getVersion(projectId);
+    }
+}
@@ -0,0 +1,69 @@
+package by.sirius.task.tracker.core.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(properties.defaultSpec()).recordStats());
+
+        properties.specs().forEach((name, spec) -> {
+            log.debug("Configuring cache {} with spec {}", name, spec);
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        });
+
+        // Evictions issued inside a transaction are applied after it commits, which also drops
+        // entries a concurrent read cached from the state the transaction was replacing.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Each application context gets its own JCache manager for the Hibernate second-level cache
+    // instead of the provider-wide default one, and closes it with the context.
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(CacheProperties properties) {
+        javax.cache.CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("task-tracker:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        properties.regions().forEach((name, region) -> {
+            log.debug("Configuring second-level cache region {} with {}", name, region);
+            cacheManager.createCache(name, makeRegionConfiguration(region));
+        });
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> makeRegionConfiguration(CacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.expireAfterWrite().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
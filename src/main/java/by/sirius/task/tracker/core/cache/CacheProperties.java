@@ -0,0 +1,23 @@
+package by.sirius.task.tracker.core.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties("task-tracker.cache")
+public record CacheProperties(
+        @DefaultValue("maximumSize=1000,expireAfterWrite=5m") String defaultSpec,
+        Map<String, String> specs,
+        Map<String, Region> regions
+) {
+
+    public CacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+        regions = regions == null ? Map.of() : Map.copyOf(regions);
+    }
+
+    public record Region(long maximumSize, Duration expireAfterWrite) {
+    }
+}
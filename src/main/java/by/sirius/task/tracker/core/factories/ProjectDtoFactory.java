@@ -2,6 +2,7 @@ package by.sirius.task.tracker.core.factories;
 
 import by.sirius.task.tracker.api.dto.ProjectDto;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.projections.ProjectView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,4 +16,13 @@ public class ProjectDtoFactory {
                 .createdAt(projectEntity.getCreatedAt())
                 .build();
     }
+
+    public ProjectDto makeProjectDto(ProjectView projectView) {
+        return ProjectDto.builder()
+                .id(projectView.id())
+                .name(projectView.name())
+                .owner(projectView.owner())
+                .createdAt(projectView.createdAt())
+                .build();
+    }
 }
@@ -1,7 +1,10 @@
 package by.sirius.task.tracker.core.factories;
 
 import by.sirius.task.tracker.api.dto.TaskDto;
+import by.sirius.task.tracker.api.dto.TaskSearchResultDto;
 import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
+import by.sirius.task.tracker.store.projections.TaskSearchView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -12,9 +15,35 @@ public class TaskDtoFactory {
                 .id(taskEntity.getId())
                 .name(taskEntity.getName())
                 .assignedUser(taskEntity.getAssignedUser() != null ? taskEntity.getAssignedUser().getUsername() : null)
-                .leftTaskId(taskEntity.getLeftTask().map(TaskEntity::getId).orElse(null))
-                .rightTaskId(taskEntity.getRightTask().map(TaskEntity::getId).orElse(null))
+                .rank(taskEntity.getRank())
+                .taskStateId(taskEntity.getTaskState() != null ? taskEntity.getTaskState().getId() : null)
                 .createdAt(taskEntity.getCreatedAt())
                 .build();
     }
+
+    public TaskDto makeTaskDto(TaskBoardView taskView) {
+        return TaskDto.builder()
+                .id(taskView.id())
+                .name(taskView.name())
+                .assignedUser(taskView.assignedUser())
+                .rank(taskView.rank())
+                .taskStateId(taskView.taskStateId())
+                .createdAt(taskView.createdAt())
+                .build();
+    }
+
+    public TaskSearchResultDto makeTaskSearchResultDto(TaskSearchView taskView) {
+        return TaskSearchResultDto.builder()
+                .projectId(taskView.projectId())
+                .task(TaskDto.builder()
+                        .id(taskView.id())
+                        .name(taskView.name())
+                        .assignedUser(taskView.assignedUser())
+                        .rank(taskView.rank())
+                        .taskStateId(taskView.taskStateId())
+                        .createdAt(taskView.createdAt())
+                        .build())
+                .score(taskView.score())
+                .build();
+    }
 }
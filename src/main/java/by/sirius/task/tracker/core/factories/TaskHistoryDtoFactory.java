@@ -1,21 +1,21 @@
 package by.sirius.task.tracker.core.factories;
 
 import by.sirius.task.tracker.api.dto.TaskHistoryDto;
-import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TaskHistoryDtoFactory {
-    public TaskHistoryDto makeTaskHistoryDto(TaskHistoryEntity taskHistory) {
+    public TaskHistoryDto makeTaskHistoryDto(TaskHistoryView taskHistory) {
         return TaskHistoryDto.builder()
-                .id(taskHistory.getId())
-                .taskId(taskHistory.getTask().getId())
-                .username(taskHistory.getUsername())
-                .changeType(taskHistory.getChangeType())
-                .fieldName(taskHistory.getFieldName())
-                .oldValue(taskHistory.getOldValue())
-                .newValue(taskHistory.getNewValue())
-                .timestamp(taskHistory.getChangedAt())
+                .id(taskHistory.id())
+                .taskId(taskHistory.taskId())
+                .username(taskHistory.username())
+                .changeType(taskHistory.changeType())
+                .fieldName(taskHistory.fieldName())
+                .oldValue(taskHistory.oldValue())
+                .newValue(taskHistory.newValue())
+                .timestamp(taskHistory.changedAt())
                 .build();
     }
 }
@@ -1,10 +1,13 @@
 package by.sirius.task.tracker.core.factories;
 
 import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.api.dto.TaskDto;
 import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.projections.TaskStateBoardView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -29,4 +32,15 @@ public class TaskStateDtoFactory {
         )
                 .build();
     }
+
+    public TaskStateDto makeTaskStateDto(TaskStateBoardView taskStateView, List<TaskDto> tasks) {
+        return TaskStateDto.builder()
+                .id(taskStateView.id())
+                .name(taskStateView.name())
+                .createdAt(taskStateView.createdAt())
+                .leftTaskStateId(taskStateView.leftTaskStateId())
+                .rightTaskStateId(taskStateView.rightTaskStateId())
+                .tasks(tasks)
+                .build();
+    }
 }
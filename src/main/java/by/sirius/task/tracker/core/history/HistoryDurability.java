@@ -0,0 +1,21 @@
+package by.sirius.task.tracker.core.history;
+
+public enum HistoryDurability {
+
+    /**
+     * Written in the caller's transaction, history commits or rolls back with the change.
+     */
+    SYNC,
+
+    /**
+     * Buffered after commit and written by the background writer.
+     * Events still in the buffer are lost if the process dies.
+     */
+    ASYNC,
+
+    /**
+     * Like {@link #ASYNC}, but events that can't be buffered or written go to a local spill file
+     * which is replayed once the database accepts writes again.
+     */
+    ASYNC_SPILL
+}
@@ -0,0 +1,232 @@
+package by.sirius.task.tracker.core.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class TaskHistoryAppender implements SmartLifecycle {
+
+    private final TaskHistoryWriter writer;
+    private final TaskHistorySpillFile spillFile;
+    private final MeterRegistry meterRegistry;
+    private final HistoryDurability durability;
+    private final BlockingQueue<TaskHistoryEvent> buffer;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration flushInterval;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TaskHistoryAppender(TaskHistoryWriter writer,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${task-tracker.history.durability:ASYNC_SPILL}") HistoryDurability durability,
+                               @Value("${task-tracker.history.buffer-capacity:10000}") int bufferCapacity,
+                               @Value("${task-tracker.history.batch-size:50}") int batchSize,
+                               @Value("${task-tracker.history.offer-timeout:PT0.1S}") Duration offerTimeout,
+                               @Value("${task-tracker.history.flush-interval:PT1S}") Duration flushInterval,
+                               @Value("${task-tracker.history.spill-file:spill/task-history.jsonl}") String spillFile) {
+        this.writer = writer;
+        this.spillFile = new TaskHistorySpillFile(Path.of(spillFile), objectMapper);
+        this.meterRegistry = meterRegistry;
+        this.durability = durability;
+        // ArrayBlockingQueue is a fixed ring over one array, so the buffer never allocates while appending
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.flushInterval = flushInterval;
+
+        Gauge.builder("tasktracker.history.buffer", buffer, Collection::size)
+                .description("Task history events waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    public void append(TaskHistoryEvent event) {
+        if (durability == HistoryDurability.SYNC) {
+            writer.writeNow(event);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(TaskHistoryEvent event) {
+        try {
+            if (running && buffer.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The writer is behind or stopped: the caller takes the write on itself instead of growing the buffer
+        if (durability == HistoryDurability.ASYNC_SPILL) {
+            spill(List.of(event));
+        } else {
+            flush(List.of(event), "CALLER_RUNS");
+        }
+    }
+
+    private void runWriter() {
+        replaySpilled();
+
+        List<TaskHistoryEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                TaskHistoryEvent first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                flush(batch, "WRITTEN");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Task history writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<TaskHistoryEvent> batch, String outcome) {
+        try {
+            writeWithRetry(batch);
+            count(outcome, batch.size());
+        } catch (RuntimeException e) {
+            if (durability == HistoryDurability.ASYNC_SPILL) {
+                log.warn("Failed to write {} task history events, spilling them to {}",
+                        batch.size(), spillFile.getPath(), e);
+                spill(batch);
+            } else {
+                log.error("Failed to write {} task history events, dropping them", batch.size(), e);
+                count("DROPPED", batch.size());
+            }
+        }
+    }
+
+    private void writeWithRetry(List<TaskHistoryEvent> batch) {
+        try {
+            writer.write(batch);
+        } catch (RuntimeException e) {
+            // Most often a task deleted between the existence check and the insert, the retry sees it gone
+            log.debug("Retrying {} task history events after: {}", batch.size(), e.getMessage());
+            writer.write(batch);
+        }
+    }
+
+    private void spill(List<TaskHistoryEvent> events) {
+        try {
+            spillFile.append(events);
+            count("SPILLED", events.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to spill {} task history events, dropping them", events.size(), e);
+            count("DROPPED", events.size());
+        }
+    }
+
+    void replaySpilled() {
+        if (durability != HistoryDurability.ASYNC_SPILL || spillFile.isEmpty()) {
+            return;
+        }
+
+        List<TaskHistoryEvent> events = spillFile.drain();
+        for (int from = 0; from < events.size(); from += batchSize) {
+            List<TaskHistoryEvent> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+            try {
+                writer.write(batch);
+                count("REPLAYED", batch.size());
+            } catch (RuntimeException e) {
+                log.warn("Database still rejects spilled task history, {} events stay spilled", events.size() - from);
+                spillFile.append(events.subList(from, events.size()));
+                return;
+            }
+        }
+
+        if (!events.isEmpty()) {
+            log.info("Replayed {} spilled task history events", events.size());
+        }
+    }
+
+    private void count(String outcome, int events) {
+        meterRegistry.counter("tasktracker.history.events", "outcome", outcome).increment(events);
+    }
+
+    @Override
+    public void start() {
+        if (durability == HistoryDurability.SYNC) {
+            return;
+        }
+
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("task-history-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+
+        try {
+            writerThread.join(flushInterval.multipliedBy(2).toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<TaskHistoryEvent> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())), "WRITTEN");
+        }
+        writerThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so requests still in flight can append while the buffer drains.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,312 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped JSON lines files, one per detached task_history partition. The rows of each task are a gzip member
+ * of their own, ordered by (changedAt, id), and an index next to the file points at the member of every task,
+ * so reading the history of one task only inflates that task's rows.
+ */
+@Slf4j
+@Component
+public class TaskHistoryArchive {
+
+    private static final Pattern FILE_NAME = Pattern.compile("task_history_(\\d{4})_(\\d{2})\\.jsonl\\.gz");
+
+    // (taskId, offset, length) of every task's member, sorted by taskId
+    private static final int INDEX_ENTRY_BYTES = 3 * Long.BYTES;
+
+    private final Path directory;
+    // A file format of its own, independent of how the web layer configures Jackson
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    public TaskHistoryArchive(@Value("${task-tracker.history.partitions.archive-dir:archive/task-history}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Writes the rows of a month, ordered by (taskId, changedAt, id). Rows of deleted tasks are kept
+     * but not indexed, an empty month leaves no file behind.
+     */
+    public long write(YearMonth month, Stream<TaskHistoryView> rows) {
+        Path target = directory.resolve(fileName(month));
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, fileName(month), ".tmp");
+            Path tempIndex = Files.createTempFile(directory, indexFileName(month), ".tmp");
+
+            long count;
+            try {
+                count = writeMembers(month, rows, temp, tempIndex);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                Files.deleteIfExists(tempIndex);
+                throw e;
+            }
+
+            if (count == 0) {
+                Files.delete(temp);
+                Files.delete(tempIndex);
+                return 0;
+            }
+
+            // A month only counts as archived once its data file is there, so the index goes first
+            Files.move(tempIndex, directory.resolve(indexFileName(month)),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived {} task history rows of {} to {}", count, month, target);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive task history of " + month, e);
+        }
+    }
+
+    /**
+     * Start of the first month that is not archived, everything before it is only in the archive.
+     */
+    public Optional<Instant> getHorizon() {
+        return months().stream()
+                .max(Comparator.naturalOrder())
+                .map(month -> month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    public List<TaskHistoryView> read(Long taskId,
+                                      Instant changedAt,
+                                      Long id,
+                                      Instant to,
+                                      String changeType,
+                                      int limit) {
+        List<TaskHistoryView> rows = new ArrayList<>();
+        YearMonth firstMonth = YearMonth.from(changedAt.atZone(ZoneOffset.UTC));
+
+        for (YearMonth month : months()) {
+            if (month.isBefore(firstMonth)) {
+                continue;
+            }
+            if (to != null && !month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().isBefore(to)) {
+                break;
+            }
+
+            try (InputStream in = openRows(month, taskId)) {
+                if (in == null) {
+                    continue;
+                }
+
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(in),
+                        StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    TaskHistoryView row = objectMapper.readValue(line, TaskHistoryView.class);
+
+                    if (matches(row, taskId, changedAt, id, to, changeType)) {
+                        rows.add(row);
+                        if (rows.size() == limit) {
+                            return rows;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read task history archive of " + month, e);
+            }
+        }
+
+        return rows;
+    }
+
+    private long writeMembers(YearMonth month, Stream<TaskHistoryView> rows, Path file, Path indexFile)
+            throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            BufferedWriter member = null;
+            Long taskId = null;
+            long offset = 0;
+
+            for (TaskHistoryView row : (Iterable<TaskHistoryView>) rows::iterator) {
+                if (member == null || !Objects.equals(taskId, row.taskId())) {
+                    if (member != null) {
+                        if (!isAfter(row.taskId(), taskId)) {
+                            throw new IllegalArgumentException(
+                                    "Task history rows of " + month + " aren't ordered by task id");
+                        }
+                        endMember(member, out, channel, index, taskId, offset);
+                    }
+                    taskId = row.taskId();
+                    offset = channel.position();
+                    member = startMember(out);
+                }
+
+                member.write(objectMapper.writeValueAsString(row));
+                member.newLine();
+                count++;
+            }
+
+            if (member != null) {
+                endMember(member, out, channel, index, taskId, offset);
+            }
+        }
+
+        return count;
+    }
+
+    // Rows of deleted tasks come last, like NULLS LAST in ascending order
+    private static boolean isAfter(Long taskId, Long previousTaskId) {
+        return previousTaskId != null && (taskId == null || taskId > previousTaskId);
+    }
+
+    private BufferedWriter startMember(OutputStream out) {
+        // Closing a member finishes its gzip stream but has to leave the file open for the next one
+        OutputStream unclosable = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        try {
+            return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(unclosable), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void endMember(BufferedWriter member,
+                           OutputStream out,
+                           FileChannel channel,
+                           DataOutputStream index,
+                           Long taskId,
+                           long offset) throws IOException {
+        member.close();
+        out.flush();
+
+        if (taskId != null) {
+            index.writeLong(taskId);
+            index.writeLong(offset);
+            index.writeLong(channel.position() - offset);
+        }
+    }
+
+    /**
+     * The gzipped rows of the task in a month, or null when the task has none there.
+     * Months archived before there was an index are read whole.
+     */
+    private InputStream openRows(YearMonth month, Long taskId) throws IOException {
+        Path file = directory.resolve(fileName(month));
+        Path index = directory.resolve(indexFileName(month));
+
+        if (!Files.exists(index)) {
+            return Files.newInputStream(file);
+        }
+
+        try (FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.READ)) {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            long low = 0;
+            long high = indexChannel.size() / INDEX_ENTRY_BYTES - 1;
+
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                readFully(indexChannel, entry.clear(), middle * INDEX_ENTRY_BYTES);
+                long entryTaskId = entry.getLong(0);
+
+                if (entryTaskId < taskId) {
+                    low = middle + 1;
+                } else if (entryTaskId > taskId) {
+                    high = middle - 1;
+                } else {
+                    try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        ByteBuffer rows = ByteBuffer.allocate(Math.toIntExact(entry.getLong(2 * Long.BYTES)));
+                        readFully(fileChannel, rows, entry.getLong(Long.BYTES));
+                        return new ByteArrayInputStream(rows.array());
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + channel);
+            }
+        }
+    }
+
+    private boolean matches(TaskHistoryView row, Long taskId, Instant changedAt, Long id, Instant to, String changeType) {
+        int position = row.changedAt().compareTo(changedAt);
+        return taskId.equals(row.taskId())
+                && (position > 0 || (position == 0 && row.id() > id))
+                && (to == null || row.changedAt().isBefore(to))
+                && (changeType == null || changeType.equals(row.changeType()));
+    }
+
+    private List<YearMonth> months() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(file -> FILE_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list task history archives in " + directory, e);
+        }
+    }
+
+    private static String fileName(YearMonth month) {
+        return String.format("task_history_%04d_%02d.jsonl.gz", month.getYear(), month.getMonthValue());
+    }
+
+    private static String indexFileName(YearMonth month) {
+        return String.format("task_history_%04d_%02d.idx", month.getYear(), month.getMonthValue());
+    }
+}
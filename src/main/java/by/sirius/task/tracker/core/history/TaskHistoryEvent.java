@@ -0,0 +1,23 @@
+package by.sirius.task.tracker.core.history;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder(toBuilder = true)
+public record TaskHistoryEvent(
+        Long taskId,
+        String username,
+        String changeType,
+        String fieldName,
+        String oldValue,
+        String newValue,
+        Instant changedAt
+) {
+
+    public TaskHistoryEvent {
+        if (changedAt == null) {
+            changedAt = Instant.now();
+        }
+    }
+}
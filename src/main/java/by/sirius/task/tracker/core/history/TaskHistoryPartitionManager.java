@@ -0,0 +1,170 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import by.sirius.task.tracker.store.migrations.TaskHistoryPartitionMigration;
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps monthly task_history partitions ahead of time, detaches the ones past retention
+ * and moves detached ones into the {@link TaskHistoryArchive}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskHistoryPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("task_history_(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskHistoryArchive taskHistoryArchive;
+
+    @Value("${task-tracker.history.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${task-tracker.history.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Scheduled(
+            initialDelayString = "${task-tracker.history.partitions.maintenance-initial-delay:PT1M}",
+            fixedDelayString = "${task-tracker.history.partitions.maintenance-delay:PT6H}"
+    )
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+
+        Set<YearMonth> months = new TreeSet<>();
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+
+        // Months that only the default partition has rows for get a partition of their own
+        for (String month : jdbcTemplate.queryForList("SELECT DISTINCT to_char(changed_at AT TIME ZONE 'UTC', 'YYYY-MM') FROM "
+                + TaskHistoryEntity.DEFAULT_PARTITION, String.class)) {
+            YearMonth strayMonth = YearMonth.parse(month);
+            if (strayMonth.isBefore(oldestKept)) {
+                log.warn("Task history of {} is past retention and stays in the default partition", strayMonth);
+            } else {
+                months.add(strayMonth);
+            }
+        }
+
+        months.forEach(this::createPartition);
+
+        findPartitions(true).forEach((month, partition) -> {
+            if (month.isBefore(oldestKept)) {
+                detach(partition);
+            }
+        });
+
+        // Detached partitions are archived on the next pass too if a previous one failed half-way
+        findPartitions(false).forEach(this::archive);
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = TaskHistoryPartitionMigration.partitionName(month);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock(partition) || jdbcTemplate.queryForObject("SELECT to_regclass(?)", String.class, partition) != null) {
+                return;
+            }
+
+            Timestamp from = Timestamp.from(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+            Timestamp to = Timestamp.from(month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+            // A partition can't be created over rows the default partition holds for its range, they move first
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE task_history INCLUDING DEFAULTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + TaskHistoryEntity.DEFAULT_PARTITION
+                    + " WHERE changed_at >= ? AND changed_at < ? RETURNING *) INSERT INTO " + partition
+                    + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE task_history ATTACH PARTITION " + partition + " "
+                    + TaskHistoryPartitionMigration.partitionBounds(month));
+
+            if (moved > 0) {
+                log.info("Moved {} task history rows out of the default partition into {}", moved, partition);
+            }
+        });
+    }
+
+    private void detach(String partition) {
+        // Locks the whole table, so it is a transaction of its own and not held while exporting
+        transactionTemplate.executeWithoutResult(status -> {
+            if (tryLock(partition)) {
+                jdbcTemplate.execute("ALTER TABLE task_history DETACH PARTITION " + partition);
+                log.info("Detached task history partition {}", partition);
+            }
+        });
+    }
+
+    private void archive(YearMonth month, String partition) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock(partition)) {
+                return;
+            }
+
+            try (Stream<TaskHistoryView> rows = jdbcTemplate.queryForStream("""
+                    SELECT id, task_id, username, change_type, field_name, old_value, new_value, changed_at
+                    FROM %s ORDER BY task_id, changed_at, id
+                    """.formatted(partition), (rs, rowNum) -> new TaskHistoryView(
+                    rs.getLong("id"),
+                    rs.getObject("task_id", Long.class),
+                    rs.getString("username"),
+                    rs.getString("change_type"),
+                    rs.getString("field_name"),
+                    rs.getString("old_value"),
+                    rs.getString("new_value"),
+                    rs.getTimestamp("changed_at").toInstant()))) {
+                taskHistoryArchive.write(month, rows);
+            }
+
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+    }
+
+    // Another instance may be working on the same partition, whoever gets the lock does it
+    private boolean tryLock(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, partition));
+    }
+
+    private Map<YearMonth, String> findPartitions(boolean attached) {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_class c
+                WHERE c.relkind = 'r' AND c.relname LIKE 'task\\_history\\_%'
+                  AND EXISTS (
+                      SELECT 1 FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhparent
+                      WHERE i.inhrelid = c.oid AND p.relname = 'task_history'
+                  ) = ?
+                """, String.class, attached);
+
+        Map<YearMonth, String> partitions = new TreeMap<>();
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                partitions.put(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))), name);
+            }
+        }
+        return partitions;
+    }
+}
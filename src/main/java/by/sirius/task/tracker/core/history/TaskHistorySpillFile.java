@@ -0,0 +1,77 @@
+package by.sirius.task.tracker.core.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only JSON lines file holding history that couldn't reach the database.
+ */
+public class TaskHistorySpillFile {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public TaskHistorySpillFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void append(Collection<TaskHistoryEvent> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (TaskHistoryEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill task history to " + path, e);
+        }
+    }
+
+    /**
+     * Reads and removes everything spilled so far. The caller appends back what it fails to write.
+     */
+    public synchronized List<TaskHistoryEvent> drain() {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+
+        try {
+            List<TaskHistoryEvent> events = new ArrayList<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    events.add(objectMapper.readValue(line, TaskHistoryEvent.class));
+                }
+            }
+
+            Files.delete(path);
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spilled task history from " + path, e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return !Files.exists(path);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,62 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import by.sirius.task.tracker.store.repositories.TaskHistoryRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Component
+public class TaskHistoryWriter {
+
+    private final TaskRepository taskRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+
+    /**
+     * Writes in the caller's transaction, the task of every event must still exist.
+     */
+    public void writeNow(TaskHistoryEvent event) {
+        taskHistoryRepository.save(toEntity(event, event.taskId() != null));
+    }
+
+    /**
+     * Writes a batch in its own transaction. This also runs from after-commit callbacks,
+     * where joining the finished transaction would silently lose the rows.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void write(Collection<TaskHistoryEvent> events) {
+        Set<Long> taskIds = events.stream()
+                .map(TaskHistoryEvent::taskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // A task can be deleted before its buffered history is written, that history is kept detached
+        Set<Long> existingTaskIds = taskIds.isEmpty() ? Set.of() : taskRepository.findExistingIds(taskIds);
+
+        List<TaskHistoryEntity> entities = events.stream()
+                .map(event -> toEntity(event, existingTaskIds.contains(event.taskId())))
+                .toList();
+
+        taskHistoryRepository.saveAll(entities);
+    }
+
+    private TaskHistoryEntity toEntity(TaskHistoryEvent event, boolean attachTask) {
+        return TaskHistoryEntity.builder()
+                .task(attachTask ? taskRepository.getReferenceById(event.taskId()) : null)
+                .username(event.username())
+                .changeType(event.changeType())
+                .fieldName(event.fieldName())
+                .oldValue(event.oldValue())
+                .newValue(event.newValue())
+                .changedAt(event.changedAt())
+                .build();
+    }
+}
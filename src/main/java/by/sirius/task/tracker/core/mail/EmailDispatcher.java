@@ -0,0 +1,183 @@
+package by.sirius.task.tracker.core.mail;
+
+import by.sirius.task.tracker.core.services.EmailService;
+import by.sirius.task.tracker.store.entities.EmailOutboxEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class EmailDispatcher implements DisposableBean {
+
+    private final EmailService emailService;
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpConnectionPool connectionPool;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Timer dispatchTimer;
+    private final Timer deliveryTimer;
+    private final int batchSize;
+
+    public EmailDispatcher(EmailService emailService,
+                           JavaMailSenderImpl mailSender,
+                           SmtpConnectionPool connectionPool,
+                           MeterRegistry meterRegistry,
+                           @Value("${task-tracker.email.batch-size:50}") int batchSize,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.connectionPool = connectionPool;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.dispatchTimer = Timer.builder("tasktracker.email.dispatch")
+                .description("Time to send one claimed batch of emails")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("tasktracker.email.delivery")
+                .description("Time from queueing an email to handing it to the SMTP server")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // The connection pool already bounds concurrent sends, so virtual threads need no pool of their own
+        this.executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(connectionPool.getMaxConnections());
+    }
+
+    @Scheduled(
+            initialDelayString = "${task-tracker.email.dispatch-initial-delay:PT10S}",
+            fixedDelayString = "${task-tracker.email.dispatch-delay:PT5S}"
+    )
+    public void dispatchPendingEmails() {
+        List<EmailOutboxEntity> emails;
+        do {
+            emails = emailService.claimDueEmails(batchSize);
+            dispatch(emails);
+        } while (emails.size() == batchSize);
+    }
+
+    public void dispatch(List<EmailOutboxEntity> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int connections = Math.min(connectionPool.getMaxConnections(), emails.size());
+        List<List<EmailOutboxEntity>> chunks = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < emails.size(); i++) {
+            chunks.get(i % connections).add(emails.get(i));
+        }
+
+        DispatchResult result = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> sendChunk(chunk), executor))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .reduce(new DispatchResult(), DispatchResult::merge);
+
+        log.info("Dispatched {} emails, {} failed", result.sentIds.size(), result.failures.size());
+        emailService.completeDispatch(result.sentIds, result.failures);
+        sample.stop(dispatchTimer);
+    }
+
+    private DispatchResult sendChunk(List<EmailOutboxEntity> emails) {
+        DispatchResult result = new DispatchResult();
+
+        Transport transport;
+        try {
+            transport = connectionPool.borrow();
+        } catch (MessagingException e) {
+            emails.forEach(email -> result.failures.put(email.getId(), describe(e)));
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emails.forEach(email -> result.failures.put(email.getId(), "Dispatch interrupted"));
+            return result;
+        }
+
+        boolean reusable = true;
+        try {
+            for (EmailOutboxEntity email : emails) {
+                if (!reusable) {
+                    result.failures.put(email.getId(), "SMTP connection lost");
+                    continue;
+                }
+
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "SUCCESS";
+                try {
+                    MimeMessage message = makeMimeMessage(email);
+                    transport.sendMessage(message, message.getAllRecipients());
+                    result.sentIds.add(email.getId());
+                    deliveryTimer.record(Duration.between(email.getCreatedAt(), Instant.now()));
+                } catch (SendFailedException e) {
+                    outcome = "REJECTED";
+                    result.failures.put(email.getId(), describe(e));
+                } catch (MessagingException e) {
+                    outcome = "FAILED";
+                    result.failures.put(email.getId(), describe(e));
+                    reusable = transport.isConnected();
+                } finally {
+                    sample.stop(meterRegistry.timer("tasktracker.email.send", "outcome", outcome));
+                }
+            }
+        } finally {
+            connectionPool.release(transport, reusable);
+        }
+
+        return result;
+    }
+
+    private MimeMessage makeMimeMessage(EmailOutboxEntity email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        message.saveChanges();
+        return message;
+    }
+
+    private static String describe(MessagingException e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static class DispatchResult {
+
+        private final List<Long> sentIds = new ArrayList<>();
+        private final Map<Long, String> failures = new HashMap<>();
+
+        private DispatchResult merge(DispatchResult other) {
+            sentIds.addAll(other.sentIds);
+            failures.putAll(other.failures);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package by.sirius.task.tracker.core.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxConnections;
+    private final Semaphore permits;
+    private final BlockingQueue<Transport> idleTransports = new LinkedBlockingQueue<>();
+    private final AtomicLong openedConnections = new AtomicLong();
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              @Value("${task-tracker.email.max-connections:4}") int maxConnections) {
+        this.mailSender = mailSender;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections);
+    }
+
+    public Transport borrow() throws MessagingException, InterruptedException {
+        permits.acquire();
+
+        try {
+            Transport transport;
+            while ((transport = idleTransports.poll()) != null) {
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                close(transport);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport, boolean reusable) {
+        if (reusable && transport.isConnected()) {
+            idleTransports.offer(transport);
+        } else {
+            close(transport);
+        }
+        permits.release();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getOpenedConnections() {
+        return openedConnections.get();
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        openedConnections.incrementAndGet();
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+}
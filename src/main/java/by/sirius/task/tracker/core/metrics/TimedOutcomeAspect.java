@@ -0,0 +1,69 @@
+package by.sirius.task.tracker.core.metrics;
+
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times methods annotated with {@link Timed} and tags them with class, method, outcome and exception.
+ * Outcomes follow http.server.requests: SUCCESS, CLIENT_ERROR for the errors we map to 4xx, SERVER_ERROR otherwise.
+ * Runs outside the transaction so commit time is part of the measurement.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TimedOutcomeAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(io.micrometer.core.annotation.Timed) && execution(* by.sirius.task.tracker..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timed timed = AnnotatedElementUtils.findMergedAnnotation(
+                AopUtils.getMostSpecificMethod(method, joinPoint.getTarget().getClass()), Timed.class);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = "none";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timed.value())
+                    .description(timed.description().isEmpty() ? null : timed.description())
+                    .tags(timed.extraTags())
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram(timed.histogram())
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcomeOf(Throwable e) {
+        if (e instanceof BadRequestException || e instanceof NotFoundException || e instanceof AccessDeniedException) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
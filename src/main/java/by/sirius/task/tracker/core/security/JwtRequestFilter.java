@@ -1,14 +1,19 @@
 package by.sirius.task.tracker.core.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -22,34 +27,76 @@ import java.io.IOException;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
+    private final UserStatusCache userStatusCache;
     private final CustomUserDetailsService customUserDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${task-tracker.security.stateless-principal:true}")
+    private boolean statelessPrincipal = true;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = authenticate(request);
+        sample.stop(meterRegistry.timer("tasktracker.auth.jwt", "outcome", outcome));
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String authenticate(HttpServletRequest request) {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return "ANONYMOUS";
+        }
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtTokenUtil.extractUsername(jwt);
-            } catch (ExpiredJwtException e) {
-                log.debug("Token time has already expired.");
-            }
+        VerifiedToken token;
+        try {
+            token = jwtTokenUtil.verifyToken(authorizationHeader.substring(7));
+        } catch (ExpiredJwtException e) {
+            log.debug("Token time has already expired.");
+            return "EXPIRED";
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid token: {}", e.getMessage());
+            return "INVALID";
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-            if (jwtTokenUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+        if (token.username() == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "SKIPPED";
         }
-        filterChain.doFilter(request, response);
+
+        UserDetails userDetails = loadPrincipal(token);
+        if (userDetails == null) {
+            return "REJECTED";
+        }
+
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        return "AUTHENTICATED";
+    }
+
+    private UserDetails loadPrincipal(VerifiedToken token) {
+        String username = token.username();
+
+        if (!statelessPrincipal) {
+            return customUserDetailsService.loadUserByUsername(username);
+        }
+
+        if (!userStatusCache.isActive(username)) {
+            log.debug("Token of disabled or removed user {} rejected.", username);
+            return null;
+        }
+
+        if (token.roles() == null) {
+            return userStatusCache.getUserDetails(username);
+        }
+
+        return User.withUsername(username)
+                .password("")
+                .authorities(token.roles().toArray(String[]::new))
+                .build();
     }
 }
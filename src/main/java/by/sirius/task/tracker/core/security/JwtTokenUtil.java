@@ -1,21 +1,62 @@
 package by.sirius.task.tracker.core.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
-import org.springframework.security.core.GrantedAuthority;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil {
-    private final String secretKey = "984hg493gh0439rShr0429urWj2309yh937gc763fe87t3f89723gf";
+    private static final String SECRET_KEY = "984hg493gh0439rShr0429urWj2309yh937gc763fe87t3f89723gf";
+    private static final long EXPIRATION_TIME = 1000 * 60 * 60;
+
+    private final Key signingKey = new SecretKeySpec(
+            Decoders.BASE64.decode(SECRET_KEY), SignatureAlgorithm.HS256.getJcaName());
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenUtil(@Value("${task-tracker.security.token-cache-max-size:10000}") long tokenCacheMaxSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long millisLeft = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return Math.max(0, millisLeft) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
@@ -26,35 +67,36 @@ public class JwtTokenUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        long expirationTime = 1000 * 60 * 60;
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    public VerifiedToken verifyToken(String token) {
+        return verifiedTokens.get(digest(token), key -> parseToken(token));
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
-    }
+    @SuppressWarnings("unchecked")
+    public VerifiedToken parseToken(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
-    public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("roles", List.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("roles", List.class),
+                Optional.ofNullable(claims.getExpiration()).map(Date::toInstant).orElse(Instant.EPOCH)
+        );
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
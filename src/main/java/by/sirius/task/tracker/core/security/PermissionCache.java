@@ -0,0 +1,100 @@
+package by.sirius.task.tracker.core.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class PermissionCache {
+
+    private final Cache<ProjectRoleKey, String> projectRoles;
+    private final Cache<Long, Long> taskProjects;
+    private final Cache<Long, Long> taskStateProjects;
+
+    public PermissionCache(@Value("${task-tracker.permission-cache.max-size:10000}") long maxSize,
+                           @Value("${task-tracker.permission-cache.ttl:PT5M}") Duration ttl) {
+        this.projectRoles = buildCache(maxSize, ttl);
+        this.taskProjects = buildCache(maxSize, ttl);
+        this.taskStateProjects = buildCache(maxSize, ttl);
+    }
+
+    public String getProjectRoleName(String username, Long projectId, Supplier<String> loader) {
+        return projectRoles.get(new ProjectRoleKey(username, projectId), key -> loader.get());
+    }
+
+    public Long getTaskProjectId(Long taskId, Supplier<Long> loader) {
+        return taskProjects.get(taskId, key -> loader.get());
+    }
+
+    public Long getTaskStateProjectId(Long taskStateId, Supplier<Long> loader) {
+        return taskStateProjects.get(taskStateId, key -> loader.get());
+    }
+
+    public void evictProjectRole(String username, Long projectId) {
+        evictNowAndAfterCommit(() -> projectRoles.invalidate(new ProjectRoleKey(username, projectId)));
+    }
+
+    public void evictProject(Long projectId) {
+        evictNowAndAfterCommit(() -> {
+            projectRoles.asMap().keySet().removeIf(key -> key.projectId().equals(projectId));
+            taskProjects.asMap().values().removeIf(projectId::equals);
+            taskStateProjects.asMap().values().removeIf(projectId::equals);
+        });
+    }
+
+    public void evictTask(Long taskId) {
+        evictNowAndAfterCommit(() -> taskProjects.invalidate(taskId));
+    }
+
+    public void evictTaskState(Long taskStateId) {
+        evictNowAndAfterCommit(() -> taskStateProjects.invalidate(taskStateId));
+    }
+
+    public Map<String, CacheStats> stats() {
+        return Map.of(
+                "projectRoles", projectRoles.stats(),
+                "taskProjects", taskProjects.stats(),
+                "taskStateProjects", taskStateProjects.stats()
+        );
+    }
+
+    public Map<String, Long> sizes() {
+        return Map.of(
+                "projectRoles", projectRoles.estimatedSize(),
+                "taskProjects", taskProjects.estimatedSize(),
+                "taskStateProjects", taskStateProjects.estimatedSize()
+        );
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static <K, V> Cache<K, V> buildCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private record ProjectRoleKey(String username, Long projectId) {
+    }
+}
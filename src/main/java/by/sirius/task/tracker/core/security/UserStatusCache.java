@@ -0,0 +1,43 @@
+package by.sirius.task.tracker.core.security;
+
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService customUserDetailsService;
+
+    private final Cache<String, Boolean> activeUsers;
+    private final Cache<String, UserDetails> userDetails;
+
+    public UserStatusCache(UserRepository userRepository,
+                           CustomUserDetailsService customUserDetailsService,
+                           @Value("${task-tracker.security.user-cache-max-size:10000}") long maxSize,
+                           @Value("${task-tracker.security.user-cache-ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.customUserDetailsService = customUserDetailsService;
+        this.activeUsers = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.userDetails = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    public boolean isActive(String username) {
+        return activeUsers.get(username, key -> userRepository.findEnabledByUsername(key).orElse(false));
+    }
+
+    public UserDetails getUserDetails(String username) {
+        return userDetails.get(username, customUserDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        activeUsers.invalidate(username);
+        userDetails.invalidate(username);
+    }
+}
@@ -0,0 +1,11 @@
+package by.sirius.task.tracker.core.security;
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(
+        String username,
+        List<String> roles,
+        Instant expiresAt
+) {
+}
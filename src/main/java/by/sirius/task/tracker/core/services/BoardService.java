@@ -0,0 +1,172 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.BoardChangesDto;
+import by.sirius.task.tracker.api.dto.BoardDto;
+import by.sirius.task.tracker.api.dto.TaskDto;
+import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.store.entities.BoardChangeEntity;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
+import by.sirius.task.tracker.store.projections.TaskStateBoardView;
+import by.sirius.task.tracker.store.repositories.BoardChangeRepository;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class BoardService {
+
+    private final TaskDtoFactory taskDtoFactory;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskStateRepository taskStateRepository;
+    private final TaskStateDtoFactory taskStateDtoFactory;
+    private final BoardChangeRepository boardChangeRepository;
+
+    @Value("${task-tracker.board-changes.max-changes:1000}")
+    private int maxChanges = 1000;
+
+    public BoardDto getBoard(Long projectId) {
+        log.debug("Fetching board for project ID: {}", projectId);
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new NotFoundException(
+                    String.format("Project with \"%d\" id doesn't exist", projectId), HttpStatus.NOT_FOUND);
+        }
+
+        List<TaskStateBoardView> taskStates = taskStateRepository.findBoardViewsByProjectId(projectId);
+
+        Map<Long, List<TaskDto>> tasksByTaskState = taskRepository.findBoardViewsByProjectId(projectId)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        TaskBoardView::taskStateId,
+                        Collectors.mapping(taskDtoFactory::makeTaskDto, Collectors.toList())));
+
+        List<TaskStateDto> taskStateDtos = orderByLinks(taskStates)
+                .stream()
+                .map(taskState -> taskStateDtoFactory.makeTaskStateDto(
+                        taskState, tasksByTaskState.getOrDefault(taskState.id(), new ArrayList<>())))
+                .collect(Collectors.toList());
+
+        return BoardDto.builder()
+                .projectId(projectId)
+                .taskStates(taskStateDtos)
+                .build();
+    }
+
+    public BoardChangesDto getChanges(Long projectId, long since) {
+        log.debug("Fetching board changes for project ID: {} since version {}", projectId, since);
+
+        // Read first: every change up to the version it returns has committed, see BoardVersionTracker
+        long version = projectRepository.findBoardVersionById(projectId)
+                .orElseThrow(() -> new NotFoundException(
+                        String.format("Project with \"%d\" id doesn't exist", projectId), HttpStatus.NOT_FOUND));
+
+        if (since < 0 || since > version) {
+            return makeResyncDto(projectId, version);
+        }
+
+        List<BoardChangeEntity> changes = since == version
+                ? List.of()
+                : boardChangeRepository.findChanges(projectId, since, version, PageRequest.of(0, maxChanges + 1));
+
+        // Read last: compaction moves the horizon in the same transaction as it deletes changes
+        long horizon = projectRepository.findChangeLogHorizonById(projectId).orElse(0L);
+        if (since < horizon || changes.size() > maxChanges) {
+            return makeResyncDto(projectId, version);
+        }
+
+        Map<Long, BoardChangeType> taskChanges = new LinkedHashMap<>();
+        Map<Long, BoardChangeType> taskStateChanges = new LinkedHashMap<>();
+        changes.forEach(change -> (change.getItemType() == BoardItemType.TASK ? taskChanges : taskStateChanges)
+                .put(change.getItemId(), change.getChangeType()));
+
+        List<Long> changedTaskIds = findChanged(taskChanges);
+        List<TaskDto> tasks = changedTaskIds.isEmpty()
+                ? new ArrayList<>()
+                : taskRepository.findBoardViewsByIdInAndProjectId(changedTaskIds, projectId)
+                        .stream()
+                        .map(taskDtoFactory::makeTaskDto)
+                        .collect(Collectors.toList());
+
+        List<Long> changedTaskStateIds = findChanged(taskStateChanges);
+        List<TaskStateDto> taskStates = changedTaskStateIds.isEmpty()
+                ? new ArrayList<>()
+                : taskStateRepository.findBoardViewsByIdInAndProjectId(changedTaskStateIds, projectId)
+                        .stream()
+                        .map(taskState -> taskStateDtoFactory.makeTaskStateDto(taskState, null))
+                        .collect(Collectors.toList());
+
+        // Items gone by now, after the version was read, are reported deleted as well
+        tasks.forEach(task -> taskChanges.remove(task.getId()));
+        taskStates.forEach(taskState -> taskStateChanges.remove(taskState.getId()));
+
+        return BoardChangesDto.builder()
+                .projectId(projectId)
+                .version(version)
+                .resyncRequired(false)
+                .taskStates(taskStates)
+                .tasks(tasks)
+                .deletedTaskStateIds(new ArrayList<>(taskStateChanges.keySet()))
+                .deletedTaskIds(new ArrayList<>(taskChanges.keySet()))
+                .build();
+    }
+
+    private List<Long> findChanged(Map<Long, BoardChangeType> changes) {
+        return changes.entrySet().stream()
+                .filter(change -> change.getValue() != BoardChangeType.DELETED)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private BoardChangesDto makeResyncDto(Long projectId, long version) {
+        log.debug("Board changes of project ID: {} are too far behind, resync required", projectId);
+        return BoardChangesDto.builder()
+                .projectId(projectId)
+                .version(version)
+                .resyncRequired(true)
+                .taskStates(new ArrayList<>())
+                .tasks(new ArrayList<>())
+                .deletedTaskStateIds(new ArrayList<>())
+                .deletedTaskIds(new ArrayList<>())
+                .build();
+    }
+
+    private List<TaskStateBoardView> orderByLinks(List<TaskStateBoardView> taskStates) {
+        Map<Long, TaskStateBoardView> taskStatesById = taskStates.stream()
+                .collect(Collectors.toMap(TaskStateBoardView::id, taskState -> taskState));
+
+        Set<TaskStateBoardView> ordered = new LinkedHashSet<>();
+
+        taskStates.stream()
+                .filter(taskState -> taskState.leftTaskStateId() == null)
+                .findFirst()
+                .ifPresent(head -> {
+                    TaskStateBoardView current = head;
+                    while (current != null && ordered.add(current)) {
+                        current = taskStatesById.get(current.rightTaskStateId());
+                    }
+                });
+
+        taskStates.stream()
+                .sorted(Comparator.comparing(TaskStateBoardView::id))
+                .forEach(ordered::add);
+
+        return new ArrayList<>(ordered);
+    }
+}
@@ -0,0 +1,450 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.BulkTaskOperationDto;
+import by.sirius.task.tracker.api.dto.BulkTaskOperationResultDto;
+import by.sirius.task.tracker.api.dto.BulkTaskOperationType;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.api.exceptions.CustomBaseException;
+import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryAppender;
+import by.sirius.task.tracker.core.history.TaskHistoryEvent;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class BulkTaskService {
+
+    private final EmailService emailService;
+    private final TaskDtoFactory taskDtoFactory;
+    private final PermissionCache permissionCache;
+    private final TaskHistoryAppender taskHistoryAppender;
+    private final BoardChangeRecorder boardChangeRecorder;
+    private final TaskRankHelper taskRankHelper;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskStateRepository taskStateRepository;
+
+    @Value("${task-tracker.bulk.max-operations:1000}")
+    private int maxOperations = 1000;
+
+    @CacheEvict(value = "taskStates", key = "#projectId")
+    @Transactional
+    public List<BulkTaskOperationResultDto> applyOperations(Long projectId, List<BulkTaskOperationDto> operations) {
+        log.info("Applying {} bulk task operations in project ID: {}", operations.size(), projectId);
+        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException(
+                    String.format("Bulk request can't contain more than %d operations", maxOperations),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        BulkContext context = loadContext(projectId, operations, currentUsername);
+
+        List<TaskEntity> appliedTasks = new ArrayList<>(Collections.nCopies(operations.size(), null));
+        List<String> errors = new ArrayList<>(Collections.nCopies(operations.size(), null));
+
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                appliedTasks.set(i, applyOperation(context, operations.get(i)));
+            } catch (CustomBaseException e) {
+                log.debug("Bulk operation {} in project ID: {} rejected: {}", i, projectId, e.getMessage());
+                errors.set(i, e.getMessage());
+            }
+        }
+
+        persist(context);
+
+        List<BulkTaskOperationResultDto> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TaskEntity task = appliedTasks.get(i);
+            results.add(BulkTaskOperationResultDto.builder()
+                    .index(i)
+                    .success(errors.get(i) == null)
+                    .task(task == null || context.isDeleted(task) ? null : taskDtoFactory.makeTaskDto(task))
+                    .error(errors.get(i))
+                    .build());
+        }
+
+        return results;
+    }
+
+    private BulkContext loadContext(Long projectId, List<BulkTaskOperationDto> operations, String currentUsername) {
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> taskStateIds = new HashSet<>();
+        boolean hasAssignments = false;
+
+        for (BulkTaskOperationDto operation : operations) {
+            if (operation.getType() == null) {
+                continue;
+            }
+            if (operation.getTaskId() != null) {
+                taskIds.add(operation.getTaskId());
+            }
+            if (operation.getLeftTaskId() != null) {
+                taskIds.add(operation.getLeftTaskId());
+            }
+            if (operation.getTaskStateId() != null) {
+                taskStateIds.add(operation.getTaskStateId());
+            }
+            hasAssignments |= operation.getType() == BulkTaskOperationType.ASSIGN;
+        }
+
+        // Ranks are read into memory for the whole batch, nothing else may re-rank these task states meanwhile
+        taskRankHelper.lockRanks(taskIds, taskStateIds);
+
+        Map<Long, TaskEntity> tasks = taskIds.isEmpty()
+                ? new HashMap<>()
+                : taskRepository.findAllByIdInAndProjectId(taskIds, projectId).stream()
+                        .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        Map<Long, TaskStateEntity> taskStates = new HashMap<>();
+        tasks.values().forEach(task -> taskStates.put(task.getTaskState().getId(), task.getTaskState()));
+        taskStateIds.removeAll(taskStates.keySet());
+        if (!taskStateIds.isEmpty()) {
+            taskStateRepository.findAllByIdInAndProjectId(taskStateIds, projectId)
+                    .forEach(taskState -> taskStates.put(taskState.getId(), taskState));
+        }
+
+        Map<String, UserEntity> members = hasAssignments
+                ? userRepository.findAllByMemberProjects_Id(projectId).stream()
+                        .collect(Collectors.toMap(UserEntity::getUsername, Function.identity()))
+                : Map.of();
+
+        BulkContext context = new BulkContext(currentUsername, tasks, taskStates, members);
+        context.loadTakenNames(operations);
+
+        return context;
+    }
+
+    private TaskEntity applyOperation(BulkContext context, BulkTaskOperationDto operation) {
+        if (operation.getType() == null) {
+            throw new BadRequestException("Operation type is required", HttpStatus.BAD_REQUEST);
+        }
+
+        return switch (operation.getType()) {
+            case CREATE -> create(context, operation);
+            case RENAME -> rename(context, operation);
+            case MOVE -> move(context, operation);
+            case ASSIGN -> assign(context, operation);
+            case DELETE -> delete(context, operation);
+        };
+    }
+
+    private TaskEntity create(BulkContext context, BulkTaskOperationDto operation) {
+        TaskStateEntity taskState = context.getTaskState(operation.getTaskStateId());
+        String taskName = requireName(operation.getName());
+
+        context.claimName(taskState, taskName, String.format("Task name \"%s\" already exists.", taskName));
+
+        TaskEntity task = TaskEntity.builder()
+                .name(taskName)
+                .taskState(taskState)
+                .build();
+
+        context.placeLast(task, taskState);
+        context.created.add(task);
+        taskRepository.save(task);
+        boardChangeRecorder.taskChanged(task, BoardChangeType.CREATED);
+
+        return task;
+    }
+
+    private TaskEntity rename(BulkContext context, BulkTaskOperationDto operation) {
+        TaskEntity task = context.getTask(operation.getTaskId());
+        String taskName = requireName(operation.getName());
+        String oldTaskName = task.getName();
+
+        if (!oldTaskName.equalsIgnoreCase(taskName)) {
+            context.claimName(task.getTaskState(), taskName,
+                    String.format("Task \"%s\" already exists in this task state", taskName));
+            context.releaseName(task.getTaskState(), oldTaskName);
+        }
+
+        task.setName(taskName);
+        context.addHistory(task, "EDIT", "name", oldTaskName, taskName);
+        boardChangeRecorder.taskChanged(task, BoardChangeType.UPDATED);
+
+        return task;
+    }
+
+    private TaskEntity move(BulkContext context, BulkTaskOperationDto operation) {
+        TaskEntity task = context.getTask(operation.getTaskId());
+        TaskStateEntity oldTaskState = task.getTaskState();
+        TaskStateEntity newTaskState = operation.getTaskStateId() == null
+                ? oldTaskState
+                : context.getTaskState(operation.getTaskStateId());
+
+        Optional<TaskEntity> optionalLeftTask = Optional.ofNullable(operation.getLeftTaskId())
+                .map(leftTaskId -> {
+
+                    if (task.getId().equals(leftTaskId)) {
+                        throw new BadRequestException("Left task id equals changed task", HttpStatus.BAD_REQUEST);
+                    }
+
+                    TaskEntity leftTask = context.getTask(leftTaskId);
+
+                    if (!newTaskState.getId().equals(leftTask.getTaskState().getId())) {
+                        throw new BadRequestException(
+                                "Task position can only be changed within the same task state", HttpStatus.BAD_REQUEST);
+                    }
+
+                    return leftTask;
+                });
+
+        if (oldTaskState.getId().equals(newTaskState.getId())) {
+            Optional<Long> optionalOldLeftTaskId = context.findLeftTask(task).map(TaskEntity::getId);
+            Optional<Long> optionalNewLeftTaskId = optionalLeftTask.map(TaskEntity::getId);
+
+            if (!optionalOldLeftTaskId.equals(optionalNewLeftTaskId)) {
+                context.unplace(task);
+                context.placeAfter(task, newTaskState, optionalLeftTask);
+                context.addHistory(task, "EDIT", "task position",
+                        optionalOldLeftTaskId.map(String::valueOf).orElse(null),
+                        optionalNewLeftTaskId.map(String::valueOf).orElse(null));
+                boardChangeRecorder.taskChanged(task, BoardChangeType.MOVED);
+            }
+
+            return task;
+        }
+
+        context.claimName(newTaskState, task.getName(),
+                String.format("Task state \"%s\" already contains  task name \"%s\"",
+                        newTaskState.getName(), task.getName()));
+        context.releaseName(oldTaskState, task.getName());
+
+        // Placed before the task state changes, loading the new task state's tasks flushes the task
+        context.unplace(task);
+        if (optionalLeftTask.isPresent()) {
+            context.placeAfter(task, newTaskState, optionalLeftTask);
+        } else {
+            context.placeLast(task, newTaskState);
+        }
+
+        task.setTaskState(newTaskState);
+        context.addHistory(task, "EDIT", "task state", oldTaskState.getName(), newTaskState.getName());
+        boardChangeRecorder.taskChanged(task, BoardChangeType.MOVED);
+
+        return task;
+    }
+
+    private TaskEntity assign(BulkContext context, BulkTaskOperationDto operation) {
+        TaskEntity task = context.getTask(operation.getTaskId());
+        UserEntity user = context.getMember(operation.getUsername());
+
+        String usernameBefore = Optional.ofNullable(task.getAssignedUser())
+                .map(UserEntity::getUsername)
+                .orElse(null);
+
+        task.setAssignedUser(user);
+        context.assignments.add(task);
+        context.addHistory(task, "EDIT", "assigned user", usernameBefore, user.getUsername());
+        boardChangeRecorder.taskChanged(task, BoardChangeType.UPDATED);
+
+        return task;
+    }
+
+    private TaskEntity delete(BulkContext context, BulkTaskOperationDto operation) {
+        TaskEntity task = context.getTask(operation.getTaskId());
+
+        context.releaseName(task.getTaskState(), task.getName());
+        context.unplace(task);
+        context.tasks.remove(task.getId());
+        context.deleted.add(task);
+        context.deletedTaskIds.add(task.getId());
+        context.addHistory(task, "DELETE", "name", task.getName(), null);
+        boardChangeRecorder.taskChanged(task, BoardChangeType.DELETED);
+
+        return task;
+    }
+
+    private void persist(BulkContext context) {
+        if (!context.deleted.isEmpty()) {
+            taskRepository.deleteAll(context.deleted);
+            context.deletedTaskIds.forEach(permissionCache::evictTask);
+        }
+
+        taskRepository.flush();
+
+        // History of tasks deleted later in the batch is kept detached, like the history of a single delete
+        context.history.stream()
+                .map(history -> context.deletedTaskIds.contains(history.taskId())
+                        ? history.toBuilder().taskId(null).build()
+                        : history)
+                .forEach(taskHistoryAppender::append);
+
+        context.assignments.stream()
+                .filter(task -> !context.isDeleted(task))
+                .forEach(task -> emailService.sendEmail(
+                        task.getAssignedUser().getEmail(),
+                        "You have been assigned a task",
+                        "You have been assigned to the task: " + task.getName()
+                ));
+
+        log.info("Bulk operations persisted: {} created, {} deleted, {} history entries",
+                context.created.size(), context.deleted.size(), context.history.size());
+    }
+
+    private String requireName(String taskName) {
+        if (taskName == null || taskName.isBlank()) {
+            throw new BadRequestException("Task name can't be empty", HttpStatus.BAD_REQUEST);
+        }
+        return taskName;
+    }
+
+    private class BulkContext {
+
+        private final String username;
+        private final Map<Long, TaskEntity> tasks;
+        private final Map<Long, TaskStateEntity> taskStates;
+        private final Map<String, UserEntity> members;
+
+        private final Set<String> takenNames = new HashSet<>();
+        private final Map<Long, List<TaskEntity>> rankedTasks = new HashMap<>();
+
+        private final List<TaskEntity> created = new ArrayList<>();
+        private final List<TaskEntity> deleted = new ArrayList<>();
+        private final Set<Long> deletedTaskIds = new HashSet<>();
+        private final List<TaskEntity> assignments = new ArrayList<>();
+        private final List<TaskHistoryEvent> history = new ArrayList<>();
+
+        private BulkContext(String username,
+                            Map<Long, TaskEntity> tasks,
+                            Map<Long, TaskStateEntity> taskStates,
+                            Map<String, UserEntity> members) {
+            this.username = username;
+            this.tasks = tasks;
+            this.taskStates = taskStates;
+            this.members = members;
+        }
+
+        private void loadTakenNames(List<BulkTaskOperationDto> operations) {
+            Set<String> names = new HashSet<>();
+
+            for (BulkTaskOperationDto operation : operations) {
+                if (operation.getName() != null) {
+                    names.add(operation.getName().toLowerCase());
+                }
+                if (operation.getType() == BulkTaskOperationType.MOVE && tasks.containsKey(operation.getTaskId())) {
+                    names.add(tasks.get(operation.getTaskId()).getName().toLowerCase());
+                }
+            }
+
+            if (names.isEmpty() || taskStates.isEmpty()) {
+                return;
+            }
+
+            taskRepository.findNamesInTaskStates(taskStates.keySet(), names)
+                    .forEach(view -> takenNames.add(nameKey(view.taskStateId(), view.name())));
+        }
+
+        private TaskEntity getTask(Long taskId) {
+            return Optional.ofNullable(taskId)
+                    .map(tasks::get)
+                    .orElseThrow(() -> new NotFoundException(
+                            String.format("Task with \"%s\" id doesn't exist", taskId), HttpStatus.NOT_FOUND));
+        }
+
+        private TaskStateEntity getTaskState(Long taskStateId) {
+            return Optional.ofNullable(taskStateId)
+                    .map(taskStates::get)
+                    .orElseThrow(() -> new NotFoundException(
+                            String.format("Task state with \"%s\" id doesn't exist", taskStateId), HttpStatus.NOT_FOUND));
+        }
+
+        private UserEntity getMember(String memberUsername) {
+            return Optional.ofNullable(memberUsername)
+                    .map(members::get)
+                    .orElseThrow(() -> new BadRequestException(
+                            "Project doesn't contain user: " + memberUsername, HttpStatus.BAD_REQUEST));
+        }
+
+        private void claimName(TaskStateEntity taskState, String taskName, String duplicateNameMessage) {
+            if (!takenNames.add(nameKey(taskState.getId(), taskName.toLowerCase()))) {
+                throw new BadRequestException(duplicateNameMessage, HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        private void releaseName(TaskStateEntity taskState, String taskName) {
+            takenNames.remove(nameKey(taskState.getId(), taskName.toLowerCase()));
+        }
+
+        // Every task of a task state in rank order, loaded once and from then on kept up to date in memory
+        private List<TaskEntity> rankedTasks(Long taskStateId) {
+            return rankedTasks.computeIfAbsent(taskStateId, id -> taskRepository
+                    .findAllByTaskStateIdOrderByRankAscIdAsc(id).stream()
+                    .filter(task -> !isDeleted(task))
+                    .collect(Collectors.toCollection(ArrayList::new)));
+        }
+
+        private Optional<TaskEntity> findLeftTask(TaskEntity task) {
+            List<TaskEntity> ranked = rankedTasks(task.getTaskState().getId());
+            int index = ranked.indexOf(task);
+            return index > 0 ? Optional.of(ranked.get(index - 1)) : Optional.empty();
+        }
+
+        private void placeAfter(TaskEntity task, TaskStateEntity taskState, Optional<TaskEntity> optionalLeftTask) {
+            List<TaskEntity> ranked = rankedTasks(taskState.getId());
+            place(task, taskState, ranked, optionalLeftTask.map(leftTask -> ranked.indexOf(leftTask) + 1).orElse(0));
+        }
+
+        private void placeLast(TaskEntity task, TaskStateEntity taskState) {
+            List<TaskEntity> ranked = rankedTasks(taskState.getId());
+            place(task, taskState, ranked, ranked.size());
+        }
+
+        private void place(TaskEntity task, TaskStateEntity taskState, List<TaskEntity> ranked, int index) {
+            task.setRank(taskRankHelper.rankAt(taskState.getId(), ranked, index));
+            ranked.add(index, task);
+        }
+
+        private void unplace(TaskEntity task) {
+            List<TaskEntity> ranked = rankedTasks.get(task.getTaskState().getId());
+            if (ranked != null) {
+                ranked.remove(task);
+            }
+        }
+
+        private boolean isDeleted(TaskEntity task) {
+            return task.getId() != null && deletedTaskIds.contains(task.getId());
+        }
+
+        private void addHistory(TaskEntity task, String changeType, String fieldName, String oldValue, String newValue) {
+            history.add(TaskHistoryEvent.builder()
+                    .taskId(task.getId())
+                    .username(username)
+                    .changeType(changeType)
+                    .fieldName(fieldName)
+                    .oldValue(oldValue)
+                    .newValue(newValue)
+                    .build());
+        }
+
+        private String nameKey(Long taskStateId, String lowerCaseName) {
+            return taskStateId + ":" + lowerCaseName;
+        }
+    }
+}
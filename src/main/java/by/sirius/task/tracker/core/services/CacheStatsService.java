@@ -0,0 +1,63 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.CacheStatsDto;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+    private final PermissionCache permissionCache;
+
+    public List<CacheStatsDto> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+
+        cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(CacheStatsService::unwrap)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .forEach(cache -> stats.add(makeCacheStatsDto(
+                        cache.getName(),
+                        cache.getNativeCache().estimatedSize(),
+                        cache.getNativeCache().stats()
+                )));
+
+        Map<String, Long> permissionCacheSizes = permissionCache.sizes();
+        permissionCache.stats().forEach((name, cacheStats) -> stats.add(
+                makeCacheStatsDto(name, permissionCacheSizes.get(name), cacheStats)));
+
+        stats.sort(Comparator.comparing(CacheStatsDto::getName));
+        return stats;
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+
+    private static CacheStatsDto makeCacheStatsDto(String name, long size, CacheStats cacheStats) {
+        return CacheStatsDto.builder()
+                .name(name)
+                .size(size)
+                .hitCount(cacheStats.hitCount())
+                .missCount(cacheStats.missCount())
+                .hitRate(cacheStats.hitRate())
+                .evictionCount(cacheStats.evictionCount())
+                .build();
+    }
+}
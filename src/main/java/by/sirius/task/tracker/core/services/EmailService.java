@@ -1,23 +1,94 @@
 package by.sirius.task.tracker.core.services;
 
+import by.sirius.task.tracker.store.entities.EmailOutboxEntity;
+import by.sirius.task.tracker.store.entities.EmailStatus;
+import by.sirius.task.tracker.store.repositories.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 @RequiredArgsConstructor
+@Slf4j
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${task-tracker.email.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${task-tracker.email.initial-backoff:PT30S}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @Value("${task-tracker.email.max-backoff:PT1H}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Value("${task-tracker.email.lease:PT5M}")
+    private Duration lease = Duration.ofMinutes(5);
 
-    @Async
+    @Transactional
     public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        emailOutboxRepository.save(EmailOutboxEntity.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+
+    @Transactional
+    public List<EmailOutboxEntity> claimDueEmails(int limit) {
+        Instant now = Instant.now();
+
+        List<EmailOutboxEntity> emails = emailOutboxRepository
+                .findDueForUpdate(EmailStatus.PENDING, now, Limit.of(limit));
+
+        emails.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+
+        return emails;
+    }
+
+    @Transactional
+    public void completeDispatch(Collection<Long> sentIds, Map<Long, String> failures) {
+        Instant now = Instant.now();
+
+        List<Long> ids = new ArrayList<>(sentIds);
+        ids.addAll(failures.keySet());
+
+        for (EmailOutboxEntity email : emailOutboxRepository.findAllById(ids)) {
+            email.setAttempts(email.getAttempts() + 1);
+
+            String error = failures.get(email.getId());
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else if (email.getAttempts() >= maxAttempts) {
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), error);
+                email.setStatus(EmailStatus.FAILED);
+                email.setLastError(error);
+            } else {
+                log.warn("Email {} to {} failed, attempt {}: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), error);
+                email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                email.setLastError(error);
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
     }
 }
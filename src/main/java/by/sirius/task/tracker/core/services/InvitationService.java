@@ -3,7 +3,10 @@ package by.sirius.task.tracker.core.services;
 import by.sirius.task.tracker.api.dto.AckDto;
 import by.sirius.task.tracker.api.dto.InvitationDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.core.factories.InvitationDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.*;
 import by.sirius.task.tracker.store.repositories.InvitationRepository;
@@ -12,6 +15,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +33,9 @@ public class InvitationService {
     private final ProjectRoleRepository projectRoleRepository;
 
     private final ServiceHelper serviceHelper;
+    private final CacheHelper cacheHelper;
+    private final PermissionCache permissionCache;
+    private final BoardVersionTracker boardVersionTracker;
 
     @Cacheable(value = "invitations", key = "#username")
     public List<InvitationDto> getUserInvitations(String username) {
@@ -78,7 +85,10 @@ public class InvitationService {
         return invitationDtoFactory.makeInvitationDto(invitationToSave);
     }
 
-    @CacheEvict(value = "invitations", key = "#username")
+    @Caching(evict = {
+            @CacheEvict(value = "invitations", key = "#username"),
+            @CacheEvict(value = "projects", key = "#username")
+    })
     @Transactional
     public AckDto acceptInvitation(Long invitationId, String username) {
 
@@ -112,6 +122,8 @@ public class InvitationService {
 
         projectRoleRepository.save(projectRole);
         invitationRepository.save(invitation);
+        permissionCache.evictProjectRole(username, project.getId());
+        boardVersionTracker.bump(project.getId());
 
         return AckDto.builder().answer(true).build();
     }
@@ -128,6 +140,7 @@ public class InvitationService {
         invitation.setStatus(InvitationStatus.DECLINED);
 
         invitationRepository.save(invitation);
+        cacheHelper.evictInvitations(invitation.getInvitedUser().getUsername());
 
         return AckDto.builder().answer(true).build();
     }
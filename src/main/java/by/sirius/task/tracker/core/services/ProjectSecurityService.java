@@ -1,11 +1,12 @@
 package by.sirius.task.tracker.core.services;
 
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.security.PermissionCache;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
-import by.sirius.task.tracker.store.entities.*;
-import by.sirius.task.tracker.store.repositories.ProjectRepository;
 import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
-import by.sirius.task.tracker.store.repositories.UserRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,53 +17,60 @@ import org.springframework.stereotype.Service;
 public class ProjectSecurityService {
 
     private final ServiceHelper serviceHelper;
+    private final PermissionCache permissionCache;
+    private final TaskRepository taskRepository;
+    private final TaskStateRepository taskStateRepository;
     private final ProjectRoleRepository projectRoleRepository;
 
+    @Timed("tasktracker.auth.permissions")
     public boolean hasProjectPermission(Long projectId, String permissionType) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        UserEntity currentUser = serviceHelper.getUserOrThrowException(currentUsername);
-        ProjectEntity project = serviceHelper.getProjectOrThrowException(projectId);
-
-        return checkPermissions(permissionType, currentUser, project);
+        return checkPermissions(permissionType, getProjectRoleName(currentUsername, projectId));
     }
 
+    @Timed("tasktracker.auth.permissions")
     public boolean hasTaskStatePermission(Long taskStateId, String permissionType) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        UserEntity currentUser = serviceHelper.getUserOrThrowException(currentUsername);
-        TaskStateEntity taskState = serviceHelper.getTaskStateOrThrowException(taskStateId);
-        ProjectEntity project = taskState.getProject();
+        Long projectId = permissionCache.getTaskStateProjectId(taskStateId, () -> taskStateRepository
+                .findProjectIdById(taskStateId)
+                .orElseGet(() -> serviceHelper.getTaskStateOrThrowException(taskStateId).getProject().getId()));
 
-        return checkPermissions(permissionType, currentUser, project);
+        return checkPermissions(permissionType, getProjectRoleName(currentUsername, projectId));
     }
 
+    @Timed("tasktracker.auth.permissions")
     public boolean hasTaskPermission(Long taskId, String permissionType) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        UserEntity currentUser = serviceHelper.getUserOrThrowException(currentUsername);
-        TaskEntity taskEntity = serviceHelper.getTaskOrThrowException(taskId);
-        TaskStateEntity taskState = taskEntity.getTaskState();
-        ProjectEntity project = taskState.getProject();
+        Long projectId = permissionCache.getTaskProjectId(taskId, () -> taskRepository
+                .findProjectIdById(taskId)
+                .orElseGet(() -> serviceHelper.getTaskOrThrowException(taskId).getTaskState().getProject().getId()));
 
-        return checkPermissions(permissionType, currentUser, project);
+        return checkPermissions(permissionType, getProjectRoleName(currentUsername, projectId));
     }
 
     public boolean isAdminOfProject(Long projectId, String username) {
-        UserEntity user = serviceHelper.getUserOrThrowException(username);
-        ProjectEntity project = serviceHelper.getProjectOrThrowException(projectId);
+        return getProjectRoleName(username, projectId).equals("ROLE_ADMIN");
+    }
 
-        ProjectRoleEntity projectUserRole = projectRoleRepository.findByUserAndProject(user, project)
-                .orElseThrow(() -> new BadRequestException("No permissions", HttpStatus.UNAUTHORIZED));
+    private String getProjectRoleName(String username, Long projectId) {
+        String roleName = permissionCache.getProjectRoleName(username, projectId, () -> projectRoleRepository
+                .findRoleName(username, projectId)
+                .orElse(null));
 
-        return projectUserRole.getRole().getName().equals("ROLE_ADMIN");
-    }
+        if (roleName == null) {
+            serviceHelper.getUserOrThrowException(username);
+            serviceHelper.getProjectOrThrowException(projectId);
+            throw new BadRequestException("No permissions", HttpStatus.UNAUTHORIZED);
+        }
 
-    private boolean checkPermissions(String permissionType, UserEntity currentUser, ProjectEntity project) {
-        ProjectRoleEntity projectUserRole = projectRoleRepository.findByUserAndProject(currentUser, project)
-                .orElseThrow(() -> new BadRequestException("No permissions", HttpStatus.UNAUTHORIZED));
+        return roleName;
+    }
 
-        if (permissionType.equals("WRITE") && projectUserRole.getRole().getName().equals("ROLE_ADMIN")) {
+    private boolean checkPermissions(String permissionType, String roleName) {
+        if (permissionType.equals("WRITE") && roleName.equals("ROLE_ADMIN")) {
             return true;
         }
 
@@ -1,15 +1,21 @@
 package by.sirius.task.tracker.core.services;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.ProjectDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.core.factories.ProjectDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
 import by.sirius.task.tracker.store.entities.RoleEntity;
 import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.projections.ProjectView;
 import by.sirius.task.tracker.store.repositories.ProjectRepository;
 import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
 import by.sirius.task.tracker.store.repositories.UserRepository;
@@ -18,11 +24,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -35,20 +43,27 @@ public class ProjectService {
     private final ProjectRoleRepository projectRoleRepository;
 
     private final ServiceHelper serviceHelper;
+    private final PaginationHelper paginationHelper;
+    private final PermissionCache permissionCache;
+    private final BoardChangeBroadcaster boardChangeBroadcaster;
+    private final BoardVersionTracker boardVersionTracker;
 
-    public List<ProjectDto> getProjects(String currentUsername) {
-        log.debug("Getting all projects");
+    // Only the default first page is cached, so the evictions by username still cover it
+    @Cacheable(value = "projects", key = "#currentUsername", condition = "#cursor == null && #limit == null")
+    public PageDto<ProjectDto> getProjects(String currentUsername, String cursor, Integer limit) {
+        log.debug("Getting projects of user: {}", currentUsername);
 
-        UserEntity currentUser = serviceHelper.getUserOrThrowException(currentUsername);
-        List<ProjectEntity> userProjects = findUserProjects(currentUser);
+        int pageSize = paginationHelper.resolvePageSize(limit);
+        long afterId = cursor == null ? Long.MIN_VALUE : paginationHelper.decodeCursor(cursor, 1)[0];
 
-        return userProjects.stream()
-                .filter(project -> project.getId() != null)
-                .sorted(Comparator.comparing(ProjectEntity::getId))
-                .map(projectDtoFactory::makeProjectDto)
-                .collect(Collectors.toList());
+        List<ProjectView> projects = projectRepository.findPageByUsernameAfter(
+                currentUsername, afterId, Limit.of(pageSize + 1));
+
+        return paginationHelper.makePage(projects, pageSize, projectDtoFactory::makeProjectDto,
+                project -> paginationHelper.encodeCursor(project.id()));
     }
 
+    @CacheEvict(value = "projects", key = "#currentUsername")
     @Transactional
     public ProjectDto createProject(String name, String currentUsername) {
         log.info("Creating project with name: {}", name);
@@ -79,6 +94,7 @@ public class ProjectService {
         return projectDtoFactory.makeProjectDto(project);
     }
 
+    @CacheEvict(value = "projects", allEntries = true)
     @Transactional
     public ProjectDto editProject(Long projectId, String newProjectName) {
         log.info("Editing project with ID: {} to new name: {}", projectId, newProjectName);
@@ -100,18 +116,26 @@ public class ProjectService {
         project.setName(newProjectName);
 
         ProjectEntity updatedProject = projectRepository.save(project);
+        boardVersionTracker.bump(projectId);
 
         return projectDtoFactory.makeProjectDto(updatedProject);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "projects", allEntries = true),
+            @CacheEvict(value = "taskStates", key = "#projectId")
+    })
     @Transactional
     public AckDto deleteProject(Long projectId) {
         log.warn("Deleting project with ID: {}", projectId);
         serviceHelper.getProjectOrThrowException(projectId);
         projectRepository.deleteById(projectId);
+        permissionCache.evictProject(projectId);
+        boardChangeBroadcaster.disconnect(projectId, null);
         return AckDto.makeDefault(true);
     }
 
+    @CacheEvict(value = "projects", key = "#username")
     @Transactional
     public AckDto removeUserFromProject(Long projectId, String username) {
         log.warn("Removing user {} from project with ID: {}", username, projectId);
@@ -123,6 +147,9 @@ public class ProjectService {
         userToDelete.getMemberProjects().remove(project);
 
         projectRoleRepository.deleteByUserAndProject(userToDelete, project);
+        permissionCache.evictProjectRole(username, projectId);
+        boardChangeBroadcaster.disconnect(projectId, username);
+        boardVersionTracker.bump(projectId);
 
         projectRepository.save(project);
         userRepository.save(userToDelete);
@@ -152,13 +179,6 @@ public class ProjectService {
         projectRoleRepository.save(projectRole);
     }
 
-    private List<ProjectEntity> findUserProjects(UserEntity user) {
-        List<ProjectEntity> allProjects = new ArrayList<>();
-        allProjects.addAll(projectRepository.findAllByAdmin(user));
-        allProjects.addAll(projectRepository.findAllByUsersContaining(user));
-        return allProjects;
-    }
-
     public boolean isAdmin(UserEntity user, ProjectEntity project) {
         return project.getAdmin().equals(user);
     }
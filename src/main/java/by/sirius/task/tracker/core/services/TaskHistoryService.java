@@ -1,25 +1,79 @@
 package by.sirius.task.tracker.core.services;
 
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.TaskHistoryDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.core.factories.TaskHistoryDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryArchive;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
 import by.sirius.task.tracker.store.repositories.TaskHistoryRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @RequiredArgsConstructor
+@Slf4j
 @Service
 public class TaskHistoryService {
 
     private final TaskHistoryDtoFactory taskHistoryDtoFactory;
     private final TaskHistoryRepository taskHistoryRepository;
+    private final PaginationHelper paginationHelper;
+    private final TaskHistoryArchive taskHistoryArchive;
 
-    public List<TaskHistoryDto> getTaskHistoryByTaskId(Long taskId) {
-        return taskHistoryRepository.findByTaskId(taskId)
-                .stream()
-                .map(taskHistoryDtoFactory::makeTaskHistoryDto)
-                .collect(Collectors.toList());
+    private static final Comparator<TaskHistoryView> HISTORY_ORDER = Comparator
+            .comparing(TaskHistoryView::changedAt)
+            .thenComparing(TaskHistoryView::id);
+
+    public PageDto<TaskHistoryDto> getTaskHistoryByTaskId(Long taskId,
+                                                          Instant from,
+                                                          Instant to,
+                                                          String changeType,
+                                                          String cursor,
+                                                          Integer limit,
+                                                          boolean includeArchived) {
+        log.debug("Fetching history for task ID: {} from {} to {}, change type: {}", taskId, from, to, changeType);
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("\"from\" must be before \"to\"", HttpStatus.BAD_REQUEST);
+        }
+
+        int pageSize = paginationHelper.resolvePageSize(limit);
+
+        // The first page starts at "from", later pages at the cursor which is past it already.
+        // Timestamps are kept to the microsecond, so the cursor keeps them the same way.
+        long[] after = cursor == null
+                ? new long[]{toMicros(from != null ? from : Instant.EPOCH), Long.MIN_VALUE}
+                : paginationHelper.decodeCursor(cursor, 2);
+
+        Instant afterChangedAt = Instant.EPOCH.plus(after[0], ChronoUnit.MICROS);
+        String type = changeType == null ? null : changeType.toUpperCase(Locale.ROOT);
+
+        List<TaskHistoryView> history = new ArrayList<>(taskHistoryRepository.findPageByTaskIdAfter(
+                taskId, to, type, afterChangedAt, after[1], Limit.of(pageSize + 1)));
+
+        // Rows past retention can still wait in the default partition while newer months are archived,
+        // so the two sources are merged by (changedAt, id) before the page is cut
+        if (includeArchived && taskHistoryArchive.getHorizon().filter(afterChangedAt::isBefore).isPresent()) {
+            history.addAll(taskHistoryArchive.read(taskId, afterChangedAt, after[1], to, type, pageSize + 1));
+            history.sort(HISTORY_ORDER);
+        }
+
+        return paginationHelper.makePage(history, pageSize, taskHistoryDtoFactory::makeTaskHistoryDto,
+                entry -> paginationHelper.encodeCursor(toMicros(entry.changedAt()), entry.id()));
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
     }
 }
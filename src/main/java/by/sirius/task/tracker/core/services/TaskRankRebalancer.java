@@ -0,0 +1,45 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class TaskRankRebalancer {
+
+    private final CacheHelper cacheHelper;
+    private final TaskRankHelper taskRankHelper;
+    private final TaskRepository taskRepository;
+    private final TaskStateRepository taskStateRepository;
+
+    @Value("${task-tracker.ranks.min-gap:16}")
+    private long minGap;
+
+    @Scheduled(
+            initialDelayString = "${task-tracker.ranks.rebalance-initial-delay:PT1M}",
+            fixedDelayString = "${task-tracker.ranks.rebalance-delay:PT5M}"
+    )
+    public void rebalanceDenseTaskStates() {
+        List<Long> taskStateIds = taskRepository.findTaskStateIdsWithRankGapBelow(minGap);
+
+        if (taskStateIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Rebalancing task ranks in {} task states", taskStateIds.size());
+        taskStateIds.forEach(taskStateId -> {
+            taskRankHelper.rebalance(taskStateId);
+            taskStateRepository.findProjectIdById(taskStateId).ifPresent(cacheHelper::evictTaskStates);
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.TaskSearchResultDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class TaskSearchService {
+
+    private final TaskRepository taskRepository;
+    private final TaskDtoFactory taskDtoFactory;
+    private final PaginationHelper paginationHelper;
+
+    @Value("${task-tracker.search.max-query-length:100}")
+    private int maxQueryLength = 100;
+
+    /**
+     * Searches the tasks of every project the user has a role in, or only of the given one.
+     * Results are ranked and not paged, the limit caps them instead.
+     */
+    public List<TaskSearchResultDto> searchTasks(String username, Long projectId, String query, Integer limit) {
+        String normalizedQuery = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+
+        if (normalizedQuery.isEmpty()) {
+            throw new BadRequestException("Search query can't be empty", HttpStatus.BAD_REQUEST);
+        }
+
+        if (normalizedQuery.length() > maxQueryLength) {
+            throw new BadRequestException(
+                    String.format("Search query can't be longer than %d characters", maxQueryLength),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        log.debug("Searching tasks of user '{}' in project ID: {} for '{}'", username, projectId, normalizedQuery);
+
+        return taskRepository
+                .searchTasks(username, projectId, normalizedQuery, paginationHelper.resolvePageSize(limit))
+                .stream()
+                .map(taskDtoFactory::makeTaskSearchResultDto)
+                .toList();
+    }
+}
@@ -1,27 +1,37 @@
 package by.sirius.task.tracker.core.services;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.TaskDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
 import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryAppender;
+import by.sirius.task.tracker.core.history.TaskHistoryEvent;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
 import by.sirius.task.tracker.store.entities.*;
-import by.sirius.task.tracker.store.repositories.TaskHistoryRepository;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
 import by.sirius.task.tracker.store.repositories.TaskRepository;
 import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -32,36 +42,53 @@ public class TaskService {
     private final TaskDtoFactory taskDtoFactory;
     private final TaskRepository taskRepository;
     private final TaskStateRepository taskStateRepository;
-    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskHistoryAppender taskHistoryAppender;
+    private final BoardChangeRecorder boardChangeRecorder;
 
     private final ServiceHelper serviceHelper;
+    private final CacheHelper cacheHelper;
+    private final PermissionCache permissionCache;
+    private final TaskRankHelper taskRankHelper;
+    private final PaginationHelper paginationHelper;
 
-    public List<TaskDto> getTasks(Long projectId, Long taskStateId) {
+    public PageDto<TaskDto> getTasks(Long projectId, Long taskStateId, String cursor, Integer limit) {
         log.debug("Fetching tasks for project ID: {} and task state ID: {}", projectId, taskStateId);
 
-        Optional<TaskStateEntity> taskState = taskStateRepository.findByProjectIdAndId(projectId, taskStateId);
+        if (!taskStateRepository.existsByProjectIdAndId(projectId, taskStateId)) {
+            throw new NotFoundException(
+                    String.format("Task state with id \"%d\" not found", taskStateId), HttpStatus.BAD_REQUEST);
+        }
+
+        int pageSize = paginationHelper.resolvePageSize(limit);
+        long[] after = cursor == null
+                ? new long[]{Long.MIN_VALUE, Long.MIN_VALUE}
+                : paginationHelper.decodeCursor(cursor, 2);
+
+        List<TaskBoardView> tasks = taskRepository.findPageByTaskStateIdAfter(
+                taskStateId, after[0], after[1], Limit.of(pageSize + 1));
 
-        return taskState
-                .map(state -> state.getTasks()
-                        .stream()
-                        .map(taskDtoFactory::makeTaskDto)
-                        .collect(Collectors.toList()))
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Task state with id \"%d\" not found", taskStateId), HttpStatus.BAD_REQUEST));
+        return paginationHelper.makePage(tasks, pageSize, taskDtoFactory::makeTaskDto,
+                task -> paginationHelper.encodeCursor(task.rank(), task.id()));
     }
 
-    public List<TaskDto> getAssignedTasks(String username) {
-        log.debug("Getting assigned for project user: {}", username);
+    public PageDto<TaskDto> getAssignedTasks(Long projectId, String username, String cursor, Integer limit) {
+        log.debug("Getting assigned tasks for project ID: {} and user: {}", projectId, username);
 
         UserEntity user = serviceHelper.getUserOrThrowException(username);
-        List<TaskEntity> assignedTasks = taskRepository.findByAssignedUser(user);
 
-        return assignedTasks.stream()
-                .map(taskDtoFactory::makeTaskDto)
-                .collect(Collectors.toList());
+        int pageSize = paginationHelper.resolvePageSize(limit);
+        long afterId = cursor == null ? Long.MIN_VALUE : paginationHelper.decodeCursor(cursor, 1)[0];
+
+        List<TaskBoardView> assignedTasks = taskRepository.findAssignedPageAfter(
+                user.getId(), projectId, afterId, Limit.of(pageSize + 1));
+
+        return paginationHelper.makePage(assignedTasks, pageSize, taskDtoFactory::makeTaskDto,
+                task -> paginationHelper.encodeCursor(task.id()));
     }
 
+    @CacheEvict(value = "taskStates", key = "#projectId")
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public TaskDto createTask(Long projectId, Long taskStateId, String taskName) {
         log.info("Creating task '{}' in project ID: {} and task state ID: {}", taskName, projectId, taskStateId);
 
@@ -69,46 +96,31 @@ public class TaskService {
             throw new BadRequestException("Task name can't be empty", HttpStatus.BAD_REQUEST);
         }
 
+        taskRankHelper.lockRanks(List.of(), List.of(taskStateId));
+
         ProjectEntity project = serviceHelper.getProjectOrThrowException(projectId);
         TaskStateEntity taskState = serviceHelper.getTaskStateOrThrowException(taskStateId);
 
-        Optional<TaskEntity> optionalAnotherTask = Optional.empty();
-
-        if(!project.getTaskStates().contains(taskState)) {
+        if (!project.equals(taskState.getProject())) {
             throw new NotFoundException("Project doesn't contain a such task state", HttpStatus.NOT_FOUND);
         }
 
-        for (TaskEntity task : taskState.getTasks()) {
-            if (task.getName().equals(taskName)) {
-                throw new BadRequestException(
-                        String.format("Task name \"%s\" already exists.", taskName), HttpStatus.BAD_REQUEST);
-            }
-            if (task.getRightTask().isEmpty()) {
-                optionalAnotherTask = Optional.of(task);
-            }
-        }
-
-        TaskEntity task = TaskEntity.builder()
-                .name(taskName)
-                .taskState(taskState)
-                .build();
-
-        taskState.getTasks().add(task);
-
-        taskRepository.save(task);
-
-        optionalAnotherTask.ifPresent(it -> {
-            task.setLeftTask(it);
-            it.setRightTask(task);
-            taskRepository.save(it);
-        });
+        TaskEntity task = saveTaskOrThrowException(
+                TaskEntity.builder()
+                        .name(taskName)
+                        .rank(taskRankHelper.rankAfterLast(taskStateId))
+                        .taskState(taskState)
+                        .build(),
+                String.format("Task name \"%s\" already exists.", taskName)
+        );
 
-        taskStateRepository.save(taskState);
+        boardChangeRecorder.taskChanged(task, BoardChangeType.CREATED);
 
         return taskDtoFactory.makeTaskDto(task);
     }
 
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public TaskDto editTask(Long taskId, String taskName) {
         log.info("Editing task ID: {}, new name: {}", taskId, taskName);
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -118,23 +130,17 @@ public class TaskService {
         }
 
         TaskEntity taskToUpdate = serviceHelper.getTaskOrThrowException(taskId);
-        Long taskStateId = taskToUpdate.getTaskState().getId();
-
-        taskRepository
-                .findByTaskStateIdAndNameIgnoreCase(taskStateId, taskName)
-                .filter(existingTask -> !existingTask.getId().equals(taskId))
-                .ifPresent(existingTask -> {
-                    throw new BadRequestException(
-                            String.format("Task \"%s\" already exists in this task state", taskName), HttpStatus.BAD_REQUEST);
-                });
 
         String oldTaskName = taskToUpdate.getName();
         taskToUpdate.setName(taskName);
 
-        TaskEntity updatedTask = taskRepository.save(taskToUpdate);
+        TaskEntity updatedTask = saveTaskOrThrowException(
+                taskToUpdate,
+                String.format("Task \"%s\" already exists in this task state", taskName)
+        );
 
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .task(updatedTask)
+        TaskHistoryEvent taskHistory = TaskHistoryEvent.builder()
+                .taskId(updatedTask.getId())
                 .username(currentUsername)
                 .changeType("EDIT")
                 .fieldName("name")
@@ -142,46 +148,55 @@ public class TaskService {
                 .newValue(updatedTask.getName())
                 .build();
 
-        taskHistoryRepository.save(taskHistory);
+        taskHistoryAppender.append(taskHistory);
+        boardChangeRecorder.taskChanged(updatedTask, BoardChangeType.UPDATED);
+        cacheHelper.evictTaskStates(updatedTask.getTaskState());
 
         return taskDtoFactory.makeTaskDto(updatedTask);
     }
 
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public AckDto deleteTask(Long taskId) {
         log.warn("Deleting task with ID: {}", taskId);
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
         TaskEntity taskToDelete = serviceHelper.getTaskOrThrowException(taskId);
-        serviceHelper.replaceOldTaskPosition(taskToDelete);
 
         TaskStateEntity taskState = taskToDelete.getTaskState();
         taskState.getTasks().remove(taskToDelete);
 
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .task(taskToDelete)
+        TaskHistoryEvent taskHistory = TaskHistoryEvent.builder()
                 .username(currentUsername)
                 .changeType("DELETE")
+                .fieldName("name")
+                .oldValue(taskToDelete.getName())
                 .build();
 
-        taskHistoryRepository.save(taskHistory);
+        taskHistoryAppender.append(taskHistory);
+        boardChangeRecorder.taskChanged(taskToDelete, BoardChangeType.DELETED);
         taskStateRepository.save(taskState);
         taskRepository.delete(taskToDelete);
+        permissionCache.evictTask(taskId);
+        cacheHelper.evictTaskStates(taskState);
 
         return AckDto.builder().answer(true).build();
     }
 
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public TaskDto changeTaskPosition(Long taskId, Optional<Long> optionalLeftTaskId) {
         log.info("Changing task position for task ID: {} with left task ID: {}",
                 taskId, optionalLeftTaskId.orElse(null));
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
+        taskRankHelper.lockRanks(List.of(taskId), List.of());
+
         TaskEntity changeTask = serviceHelper.getTaskOrThrowException(taskId);
         TaskStateEntity taskState = changeTask.getTaskState();
 
-        Optional<Long> optionalOldLeftTaskId = changeTask
-                .getLeftTask()
+        Optional<Long> optionalOldLeftTaskId = taskRankHelper
+                .findLeftTask(changeTask)
                 .map(TaskEntity::getId);
 
         if (optionalOldLeftTaskId.equals(optionalLeftTaskId)) {
@@ -206,49 +221,11 @@ public class TaskService {
                     return leftTaskEntity;
                 });
 
-        Optional<TaskEntity> optionalNewRightTask;
-        if (optionalNewLeftTask.isEmpty()) {
-            optionalNewRightTask = taskState
-                    .getTasks()
-                    .stream()
-                    .filter(anotherTask -> anotherTask.getLeftTask().isEmpty())
-                    .findAny();
-        } else {
-            optionalNewRightTask = optionalNewLeftTask
-                    .get()
-                    .getRightTask();
-        }
-
-        serviceHelper.replaceOldTaskPosition(changeTask);
-
-        if (optionalNewLeftTask.isPresent()) {
-            TaskEntity newLeftTask = optionalNewLeftTask.get();
-            newLeftTask.setRightTask(changeTask);
-            changeTask.setLeftTask(newLeftTask);
-        } else {
-            changeTask.setLeftTask(null);
-        }
-
-        if (optionalNewRightTask.isPresent()) {
-            TaskEntity newRightTask = optionalNewRightTask.get();
-            newRightTask.setLeftTask(changeTask);
-            changeTask.setRightTask(newRightTask);
-        } else {
-            changeTask.setRightTask(null);
-        }
-
+        changeTask.setRank(taskRankHelper.rankBetween(taskState.getId(), optionalNewLeftTask));
         changeTask = taskRepository.save(changeTask);
 
-        optionalNewLeftTask
-                .ifPresent(taskRepository::save);
-
-        optionalNewRightTask
-                .ifPresent(taskRepository::save);
-
-        taskStateRepository.save(taskState);
-
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .task(changeTask)
+        TaskHistoryEvent taskHistory = TaskHistoryEvent.builder()
+                .taskId(changeTask.getId())
                 .username(currentUsername)
                 .changeType("EDIT")
                 .fieldName("task position")
@@ -256,70 +233,63 @@ public class TaskService {
                 .newValue(optionalNewLeftTask.map(task -> String.valueOf(task.getId())).orElse(null))
                 .build();
 
-        taskHistoryRepository.save(taskHistory);
+        taskHistoryAppender.append(taskHistory);
+        boardChangeRecorder.taskChanged(changeTask, BoardChangeType.MOVED);
+        cacheHelper.evictTaskStates(taskState);
 
         return taskDtoFactory.makeTaskDto(changeTask);
     }
 
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public TaskDto changeTaskState(Long taskId, Long newTaskStateId) {
         log.info("Changing task state for task ID: {} to new task state ID: {}", taskId, newTaskStateId);
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
+        taskRankHelper.lockRanks(List.of(taskId), List.of(newTaskStateId));
+
         TaskEntity taskToMove = serviceHelper.getTaskOrThrowException(taskId);
         TaskStateEntity newTaskState = serviceHelper.getTaskStateOrThrowException(newTaskStateId);
-        TaskStateEntity currentTaskState = taskToMove.getTaskState();
-
-        newTaskState.getTasks()
-                .stream()
-                .map(TaskEntity::getName)
-                .filter(taskName -> taskName.equals(taskToMove.getName()))
-                .findAny()
-                .ifPresent(existingTask -> {
-                    throw new BadRequestException(
-                            String.format("Task state \"%s\" already contains  task name \"%s\"",
-                                    newTaskState.getName(), taskToMove.getName()), HttpStatus.BAD_REQUEST);
-                });
-
-        serviceHelper.replaceOldTaskPosition(taskToMove);
-
-        currentTaskState.getTasks().remove(taskToMove);
-
-        Optional<TaskEntity> optionalLastTaskInNewState = newTaskState.getTasks()
-                .stream()
-                .filter(task -> task.getRightTask().isEmpty())
-                .findAny();
-
-        optionalLastTaskInNewState.ifPresent(lastTask -> {
-            lastTask.setRightTask(taskToMove);
-            taskToMove.setLeftTask(lastTask);
-            taskRepository.save(lastTask);
-        });
+        TaskStateEntity oldTaskState = taskToMove.getTaskState();
+        String oldTaskStateName = oldTaskState.getName();
+
+        // The task's own name is already taken in its own state, the unique index can't see that
+        if (oldTaskState.getId().equals(newTaskStateId)) {
+            throw new BadRequestException(
+                    String.format("Task state \"%s\" already contains  task name \"%s\"",
+                            newTaskState.getName(), taskToMove.getName()), HttpStatus.BAD_REQUEST);
+        }
 
-        taskToMove.setRightTask(null);
+        taskToMove.setRank(taskRankHelper.rankAfterLast(newTaskStateId));
         taskToMove.setTaskState(newTaskState);
 
-        newTaskState.getTasks().add(taskToMove);
+        permissionCache.evictTask(taskId);
 
-        TaskEntity updatedTask = taskRepository.save(taskToMove);
+        TaskEntity updatedTask = saveTaskOrThrowException(
+                taskToMove,
+                String.format("Task state \"%s\" already contains  task name \"%s\"",
+                        newTaskState.getName(), taskToMove.getName())
+        );
 
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .task(updatedTask)
+        TaskHistoryEvent taskHistory = TaskHistoryEvent.builder()
+                .taskId(updatedTask.getId())
                 .username(currentUsername)
                 .changeType("EDIT")
                 .fieldName("task state")
-                .oldValue(taskToMove.getTaskState().getName())
+                .oldValue(oldTaskStateName)
                 .newValue(updatedTask.getTaskState().getName())
                 .build();
 
-        taskHistoryRepository.save(taskHistory);
-        taskStateRepository.save(currentTaskState);
-        taskStateRepository.save(newTaskState);
+        taskHistoryAppender.append(taskHistory);
+        boardChangeRecorder.taskChanged(updatedTask, BoardChangeType.MOVED);
+        cacheHelper.evictTaskStates(oldTaskState);
+        cacheHelper.evictTaskStates(newTaskState);
 
         return taskDtoFactory.makeTaskDto(updatedTask);
     }
 
     @Transactional
+    @Timed(value = "tasktracker.task.mutations", histogram = true)
     public TaskDto assignTaskToUser(Long taskId, String username) {
         log.info("Assigning task with ID: {} for user: {}", taskId, username);
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -333,7 +303,7 @@ public class TaskService {
             throw new BadRequestException("Project doesn't contain user: " + username, HttpStatus.BAD_REQUEST);
         }
 
-        String usernameBefore = task.getAssignedUser().getUsername();
+        String usernameBefore = task.getAssignedUser() != null ? task.getAssignedUser().getUsername() : null;
 
         task.setAssignedUser(user);
         taskRepository.save(task);
@@ -344,8 +314,8 @@ public class TaskService {
                 "You have been assigned to the task: " + task.getName()
         );
 
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .task(task)
+        TaskHistoryEvent taskHistory = TaskHistoryEvent.builder()
+                .taskId(task.getId())
                 .username(currentUsername)
                 .changeType("EDIT")
                 .fieldName("assigned user")
@@ -353,8 +323,22 @@ public class TaskService {
                 .newValue(task.getAssignedUser().getUsername())
                 .build();
 
-        taskHistoryRepository.save(taskHistory);
+        taskHistoryAppender.append(taskHistory);
+        boardChangeRecorder.taskChanged(task, BoardChangeType.UPDATED);
+        cacheHelper.evictTaskStates(taskState);
 
         return taskDtoFactory.makeTaskDto(task);
     }
+
+    private TaskEntity saveTaskOrThrowException(TaskEntity task, String duplicateNameMessage) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && TaskEntity.NAME_UNIQUE_INDEX.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new BadRequestException(duplicateNameMessage, HttpStatus.BAD_REQUEST);
+            }
+            throw e;
+        }
+    }
 }
@@ -3,8 +3,12 @@ package by.sirius.task.tracker.core.services;
 import by.sirius.task.tracker.api.dto.AckDto;
 import by.sirius.task.tracker.api.dto.TaskStateDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
 import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.TaskStateEntity;
 import by.sirius.task.tracker.store.repositories.TaskStateRepository;
@@ -29,7 +33,12 @@ public class TaskStateService {
     private final TaskStateDtoFactory taskStateDtoFactory;
 
     private final ServiceHelper serviceHelper;
+    private final CacheHelper cacheHelper;
+    private final PermissionCache permissionCache;
+    private final BoardChangeRecorder boardChangeRecorder;
 
+    @Cacheable(value = "taskStates", key = "#projectId")
+    @Transactional
     public List<TaskStateDto> getTaskStates(Long projectId) {
         log.debug("Fetching task states for project ID: {}", projectId);
 
@@ -42,6 +51,7 @@ public class TaskStateService {
                 .collect(Collectors.toList());
     }
 
+    @CacheEvict(value = "taskStates", key = "#projectId")
     @Transactional
     public TaskStateDto createTaskState(Long projectId, String taskStateName) {
         log.info("Creating task state '{}' in project with ID: {}", taskStateName, projectId);
@@ -79,6 +89,7 @@ public class TaskStateService {
                 });
 
         final TaskStateEntity savedTaskState = taskStateRepository.save(taskState);
+        boardChangeRecorder.taskStateChanged(savedTaskState, BoardChangeType.CREATED);
 
         return taskStateDtoFactory.makeTaskStateDto(savedTaskState);
     }
@@ -106,6 +117,8 @@ public class TaskStateService {
 
         taskState.setName(taskStateName);
         taskState = taskStateRepository.save(taskState);
+        boardChangeRecorder.taskStateChanged(taskState, BoardChangeType.UPDATED);
+        cacheHelper.evictTaskStates(taskState);
 
         return taskStateDtoFactory.makeTaskStateDto(taskState);
     }
@@ -118,6 +131,9 @@ public class TaskStateService {
 
         serviceHelper.replaceOldTaskStatePosition(changeTaskState);
         taskStateRepository.deleteById(taskStateId);
+        permissionCache.evictTaskState(taskStateId);
+        boardChangeRecorder.taskStateChanged(changeTaskState, BoardChangeType.DELETED);
+        cacheHelper.evictTaskStates(changeTaskState);
 
         return AckDto.builder().answer(true).build();
     }
@@ -196,6 +212,9 @@ public class TaskStateService {
         optionalNewRightTaskState
                 .ifPresent(taskStateRepository::save);
 
+        boardChangeRecorder.taskStateChanged(changeTaskState, BoardChangeType.MOVED);
+        cacheHelper.evictTaskStates(changeTaskState);
+
         return taskStateDtoFactory.makeTaskStateDto(changeTaskState);
     }
 }
@@ -3,6 +3,7 @@ package by.sirius.task.tracker.core.services;
 import by.sirius.task.tracker.api.dto.RegisterRequestDto;
 import by.sirius.task.tracker.api.dto.RoleDto;
 import by.sirius.task.tracker.api.dto.UserDto;
+import by.sirius.task.tracker.core.security.UserStatusCache;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.UserEntity;
 import by.sirius.task.tracker.store.repositories.UserRepository;
@@ -25,6 +26,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
 
     private final ServiceHelper serviceHelper;
+    private final UserStatusCache userStatusCache;
 
     public List<UserDto> getUsers(Long projectId) {
         log.info("Getting all users from project with id: {}", projectId);
@@ -52,7 +54,11 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(registerRequestDto.getPassword()));
         user.setRoles(List.of(roleService.getAdminRole()));
         user.setEnabled(true);
-        return userRepository.save(user);
+
+        UserEntity savedUser = userRepository.save(user);
+        userStatusCache.evict(savedUser.getUsername());
+
+        return savedUser;
     }
 
     public UserEntity findByUsername(String username) {
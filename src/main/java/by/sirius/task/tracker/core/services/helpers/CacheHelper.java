@@ -0,0 +1,32 @@
+package by.sirius.task.tracker.core.services.helpers;
+
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Component
+public class CacheHelper {
+
+    private final CacheManager cacheManager;
+
+    public void evictTaskStates(TaskStateEntity taskState) {
+        evictTaskStates(taskState.getProject().getId());
+    }
+
+    public void evictTaskStates(Long projectId) {
+        evict("taskStates", projectId);
+    }
+
+    public void evictInvitations(String username) {
+        evict("invitations", username);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Optional.ofNullable(cacheManager.getCache(cacheName))
+                .ifPresent(cache -> cache.evict(key));
+    }
+}
@@ -0,0 +1,78 @@
+package by.sirius.task.tracker.core.services.helpers;
+
+import by.sirius.task.tracker.api.dto.PageDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class PaginationHelper {
+
+    private static final String CURSOR_DELIMITER = ":";
+
+    @Value("${task-tracker.pagination.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${task-tracker.pagination.max-page-size:200}")
+    private int maxPageSize = 200;
+
+    public int resolvePageSize(Integer requestedPageSize) {
+        if (requestedPageSize == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+
+        if (requestedPageSize < 1) {
+            throw new BadRequestException("Page size must be positive", HttpStatus.BAD_REQUEST);
+        }
+
+        return Math.min(requestedPageSize, maxPageSize);
+    }
+
+    public String encodeCursor(long... keys) {
+        String rawCursor = Arrays.stream(keys)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(CURSOR_DELIMITER));
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long[] decodeCursor(String cursor, int keyCount) {
+        try {
+            String rawCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long[] keys = Arrays.stream(rawCursor.split(CURSOR_DELIMITER))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+
+            if (keys.length != keyCount) {
+                throw new IllegalArgumentException("Unexpected cursor length: " + keys.length);
+            }
+
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public <T, R> PageDto<R> makePage(List<T> rows,
+                                      int pageSize,
+                                      Function<T, R> itemMapper,
+                                      Function<T, String> cursorMapper) {
+        boolean hasNextPage = rows.size() > pageSize;
+        List<T> pageRows = hasNextPage ? rows.subList(0, pageSize) : rows;
+
+        return PageDto.<R>builder()
+                .items(pageRows.stream().map(itemMapper).collect(Collectors.toList()))
+                .nextCursor(hasNextPage ? cursorMapper.apply(pageRows.get(pageSize - 1)) : null)
+                .build();
+    }
+}
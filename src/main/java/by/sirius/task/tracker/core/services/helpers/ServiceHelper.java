@@ -121,22 +121,4 @@ public class ServiceHelper {
                     taskStateRepository.saveAndFlush(it);
                 });
     }
-
-    public void replaceOldTaskPosition(TaskEntity changeTask) {
-
-        Optional<TaskEntity> optionalOldLeftTask = changeTask.getLeftTask();
-        Optional<TaskEntity> optionalOldRightTask = changeTask.getRightTask();
-
-        optionalOldLeftTask
-                .ifPresent(it -> {
-                    it.setRightTask(optionalOldRightTask.orElse(null));
-                    taskRepository.saveAndFlush(it);
-                });
-
-        optionalOldRightTask
-                .ifPresent(it -> {
-                    it.setLeftTask(optionalOldLeftTask.orElse(null));
-                    taskRepository.saveAndFlush(it);
-                });
-    }
 }
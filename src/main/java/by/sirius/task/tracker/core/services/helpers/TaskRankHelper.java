@@ -0,0 +1,133 @@
+package by.sirius.task.tracker.core.services.helpers;
+
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class TaskRankHelper {
+
+    public static final long RANK_STEP = 1L << 16;
+
+    private final TaskRepository taskRepository;
+    private final TaskStateRepository taskStateRepository;
+    private final BoardChangeRecorder boardChangeRecorder;
+
+    /**
+     * Locks the task states and the task states the tasks are in until the transaction ends. Everything that
+     * assigns ranks takes this lock before it loads a task or reads a rank, so ranks handed out by a move or
+     * a create can't interleave with a rebalance of the same task state.
+     */
+    public void lockRanks(Collection<Long> taskIds, Collection<Long> taskStateIds) {
+        Set<Long> lockedTaskStateIds = new HashSet<>(taskStateIds);
+        if (!taskIds.isEmpty()) {
+            lockedTaskStateIds.addAll(taskRepository.findTaskStateIdsByIdIn(taskIds));
+        }
+
+        if (!lockedTaskStateIds.isEmpty()) {
+            taskStateRepository.lockAllByIdIn(lockedTaskStateIds);
+        }
+    }
+
+    public long rankAfter(Optional<TaskEntity> optionalLastTask) {
+        return optionalLastTask
+                .map(lastTask -> lastTask.getRank() + RANK_STEP)
+                .orElse(RANK_STEP);
+    }
+
+    public long rankAfterLast(Long taskStateId) {
+        return rankAfter(taskRepository.findFirstByTaskStateIdOrderByRankDescIdDesc(taskStateId));
+    }
+
+    public Optional<TaskEntity> findLeftTask(TaskEntity task) {
+        return taskRepository.findFirstByTaskStateIdAndRankLessThanOrderByRankDescIdDesc(
+                task.getTaskState().getId(), task.getRank());
+    }
+
+    public long rankBetween(Long taskStateId, Optional<TaskEntity> optionalLeftTask) {
+        Optional<TaskEntity> optionalRightTask = optionalLeftTask
+                .map(leftTask -> taskRepository
+                        .findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(taskStateId, leftTask.getRank()))
+                .orElseGet(() -> taskRepository.findFirstByTaskStateIdOrderByRankAscIdAsc(taskStateId));
+
+        if (optionalRightTask.isEmpty()) {
+            return rankAfter(optionalLeftTask);
+        }
+
+        long rightRank = optionalRightTask.get().getRank();
+
+        if (optionalLeftTask.isEmpty()) {
+            return rightRank - RANK_STEP;
+        }
+
+        long leftRank = optionalLeftTask.get().getRank();
+
+        if (rightRank - leftRank < 2) {
+            log.debug("No rank gap left in task state with id {}, rebalancing", taskStateId);
+            rebalance(taskStateId);
+            return rankBetween(taskStateId, optionalLeftTask);
+        }
+
+        return leftRank + (rightRank - leftRank) / 2;
+    }
+
+    /**
+     * Rank for a task inserted at index into all tasks of a task state, sorted by rank and without the task.
+     * Rebalances those tasks in memory when there's no gap left at index.
+     */
+    public long rankAt(Long taskStateId, List<TaskEntity> rankedTasks, int index) {
+        if (index == rankedTasks.size()) {
+            return rankAfter(index == 0 ? Optional.empty() : Optional.of(rankedTasks.get(index - 1)));
+        }
+
+        long rightRank = rankedTasks.get(index).getRank();
+
+        if (index == 0) {
+            return rightRank - RANK_STEP;
+        }
+
+        long leftRank = rankedTasks.get(index - 1).getRank();
+
+        if (rightRank - leftRank < 2) {
+            log.debug("No rank gap left in task state with id {}, rebalancing", taskStateId);
+            rebalance(taskStateId, rankedTasks);
+            return rankAt(taskStateId, rankedTasks, index);
+        }
+
+        return leftRank + (rightRank - leftRank) / 2;
+    }
+
+    @Transactional
+    public void rebalance(Long taskStateId) {
+        lockRanks(List.of(), List.of(taskStateId));
+        List<TaskEntity> tasks = taskRepository.findAllByTaskStateIdOrderByRankAscIdAsc(taskStateId);
+
+        rebalance(taskStateId, tasks);
+        taskRepository.saveAll(tasks);
+    }
+
+    private void rebalance(Long taskStateId, List<TaskEntity> rankedTasks) {
+        long rank = RANK_STEP;
+        for (TaskEntity task : rankedTasks) {
+            task.setRank(rank);
+            rank += RANK_STEP;
+        }
+
+        rankedTasks.forEach(task -> boardChangeRecorder.taskChanged(task, BoardChangeType.MOVED));
+        log.info("Rebalanced {} task ranks in task state with id {}", rankedTasks.size(), taskStateId);
+    }
+}
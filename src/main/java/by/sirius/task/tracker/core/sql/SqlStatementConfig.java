@@ -0,0 +1,32 @@
+package by.sirius.task.tracker.core.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "task-tracker.sql.statement-counting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+
+    @Bean
+    public static StatementCountingDataSourcePostProcessor statementCountingDataSourcePostProcessor() {
+        return new StatementCountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            @Value("${task-tracker.sql.statement-budget:20}") int statementBudget,
+            @Value("${task-tracker.sql.n-plus-one-threshold:10}") int repeatThreshold,
+            @Value("${task-tracker.sql.response-header:false}") boolean responseHeader,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new StatementBudgetFilter(statementBudget, repeatThreshold, responseHeader, meterRegistry));
+        registration.addUrlPatterns("/api/*", "/auth/*", "/admin/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
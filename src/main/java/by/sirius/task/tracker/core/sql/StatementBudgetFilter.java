@@ -0,0 +1,86 @@
+package by.sirius.task.tracker.core.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private final int statementBudget;
+    private final int repeatThreshold;
+    private final boolean responseHeader;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(int statementBudget, int repeatThreshold, boolean responseHeader,
+                                 MeterRegistry meterRegistry) {
+        this.statementBudget = statementBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.responseHeader = responseHeader;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        // The count is only known once the handler is done, so the body is held back to still set the header.
+        // Event streams are left alone, holding them back would hold back every event.
+        ContentCachingResponseWrapper cachingResponse = responseHeader && !isEventStream(request)
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+
+        StatementCount count = StatementCounter.open();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            StatementCounter.close(count);
+            report(request, count);
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(count.getTotal()));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementCount count) {
+        String uri = uriOf(request);
+
+        meterRegistry.summary("tasktracker.sql.statements", "method", request.getMethod(), "uri", uri)
+                .record(count.getTotal());
+
+        if (count.getTotal() > statementBudget) {
+            log.warn("{} {} issued {} SQL statements, budget is {}",
+                    request.getMethod(), uri, count.getTotal(), statementBudget);
+        }
+
+        count.getMostRepeated()
+                .filter(statement -> statement.getValue() >= repeatThreshold)
+                .ifPresent(statement -> log.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                        request.getMethod(), uri, statement.getValue(), statement.getKey()));
+    }
+
+    private boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private String uriOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
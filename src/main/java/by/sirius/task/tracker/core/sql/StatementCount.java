@@ -0,0 +1,40 @@
+package by.sirius.task.tracker.core.sql;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class StatementCount {
+
+    private int total;
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    void record(String sql) {
+        total++;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getExecutions(String sql) {
+        return executions.getOrDefault(sql, 0);
+    }
+
+    /**
+     * Statements are bound with parameters, so the same text repeated many times
+     * within one scope is the usual signature of an N+1.
+     */
+    public Optional<Map.Entry<String, Integer>> getMostRepeated() {
+        return executions.entrySet()
+                .stream()
+                .max(Comparator.comparingInt(Map.Entry::getValue));
+    }
+
+    @Override
+    public String toString() {
+        return total + " statements";
+    }
+}
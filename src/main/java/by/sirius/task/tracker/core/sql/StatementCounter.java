@@ -0,0 +1,57 @@
+package by.sirius.task.tracker.core.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Counts the SQL statements issued on the current thread while a scope is open.
+ * Scopes nest: a statement is counted by every scope open on the thread.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Deque<StatementCount>> SCOPES = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public static StatementCount open() {
+        Deque<StatementCount> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+
+        StatementCount count = new StatementCount();
+        scopes.push(count);
+        return count;
+    }
+
+    public static void close(StatementCount count) {
+        Deque<StatementCount> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+
+        scopes.remove(count);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    public static StatementCount count(Runnable action) {
+        StatementCount count = open();
+        try {
+            action.run();
+        } finally {
+            close(count);
+        }
+        return count;
+    }
+
+    static void record(String sql) {
+        Deque<StatementCount> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(count -> count.record(sql));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package by.sirius.task.tracker.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "board_changes", indexes = {
+        @Index(name = "idx_board_changes_project_id_version", columnList = "project_id, version"),
+        @Index(name = "idx_board_changes_project_id_item_id", columnList = "project_id, item_id")
+})
+public class BoardChangeEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_changes_seq")
+    @SequenceGenerator(name = "board_changes_seq", sequenceName = "board_changes_seq", allocationSize = 50)
+    private Long id;
+
+    // No foreign key, so the log never holds up deleting a project; compaction drops what is left over
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    private BoardItemType itemType;
+
+    private Long itemId;
+
+    private Long taskStateId;
+
+    @Enumerated(EnumType.STRING)
+    private BoardChangeType changeType;
+
+    @Builder.Default
+    private Instant changedAt = Instant.now();
+}
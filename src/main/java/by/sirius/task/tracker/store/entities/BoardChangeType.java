@@ -0,0 +1,8 @@
+package by.sirius.task.tracker.store.entities;
+
+public enum BoardChangeType {
+    CREATED,
+    UPDATED,
+    MOVED,
+    DELETED
+}
@@ -0,0 +1,6 @@
+package by.sirius.task.tracker.store.entities;
+
+public enum BoardItemType {
+    TASK,
+    TASK_STATE
+}
@@ -0,0 +1,7 @@
+package by.sirius.task.tracker.store.entities;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
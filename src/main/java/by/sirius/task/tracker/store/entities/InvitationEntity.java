@@ -21,7 +21,8 @@ public class InvitationEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invitations_seq")
+    @SequenceGenerator(name = "invitations_seq", sequenceName = "invitations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
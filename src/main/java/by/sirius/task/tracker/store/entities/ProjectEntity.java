@@ -2,6 +2,7 @@ package by.sirius.task.tracker.store.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -23,7 +24,8 @@ public class ProjectEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -32,6 +34,16 @@ public class ProjectEntity implements Serializable {
     @Builder.Default
     private Instant createdAt = Instant.now();
 
+    // Only ever moved forward in place, so a stale entity being saved can't write them back
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long boardVersion;
+
+    // Oldest version the board change log can still answer from
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long changeLogHorizon;
+
     @ManyToOne
     @JoinColumn(name = "admin_id", referencedColumnName = "id")
     private UserEntity admin;
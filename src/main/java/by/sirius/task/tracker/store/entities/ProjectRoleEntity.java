@@ -2,6 +2,8 @@ package by.sirius.task.tracker.store.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -14,13 +16,15 @@ import java.util.Objects;
 @Builder
 @Entity
 @Table(name = "project_roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projectRoles")
 public class ProjectRoleEntity implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_roles_seq")
+    @SequenceGenerator(name = "project_roles_seq", sequenceName = "project_roles_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -2,12 +2,12 @@ package by.sirius.task.tracker.store.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
-import java.util.Optional;
 
 @Getter
 @Setter
@@ -15,23 +15,30 @@ import java.util.Optional;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tasks")
+// Only changed columns are written, an edit of a task loaded before a rebalance can't put its old rank back
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_task_state_id_rank", columnList = "task_state_id, rank"),
+        @Index(name = "idx_tasks_assigned_user_id", columnList = "assigned_user_id, id")
+})
 public class TaskEntity implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String NAME_UNIQUE_INDEX = "uk_tasks_task_state_id_lower_name";
+
+    // GIN trigram index on lower(name) behind task search, see TaskSearchIndexMigration
+    public static final String NAME_TRIGRAM_INDEX = "idx_tasks_lower_name_trgm";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
-    @OneToOne
-    private TaskEntity leftTask;
-
-    @OneToOne
-    private TaskEntity rightTask;
+    private Long rank;
 
     @ManyToOne
     private TaskStateEntity taskState;
@@ -55,12 +62,4 @@ public class TaskEntity implements Serializable {
     public int hashCode() {
         return Objects.hashCode(id);
     }
-
-    public Optional<TaskEntity> getLeftTask() {
-        return Optional.ofNullable(leftTask);
-    }
-
-    public Optional<TaskEntity> getRightTask() {
-        return Optional.ofNullable(rightTask);
-    }
 }
@@ -2,6 +2,8 @@ package by.sirius.task.tracker.store.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -13,18 +15,29 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "task_history")
+@Table(name = "task_history", indexes = {
+        @Index(name = "idx_task_history_task_id_changed_at", columnList = "task_id, changed_at, id")
+})
 public class TaskHistoryEntity implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    // Monthly range partitions of task_history on PostgreSQL, see TaskHistoryPartitionMigration
+    public static final String PARTITION_NAME_FORMAT = "task_history_%04d_%02d";
+
+    // Takes rows no monthly partition covers yet, so a history insert never fails on its changed_at
+    public static final String DEFAULT_PARTITION = "task_history_default";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_history_seq")
+    @SequenceGenerator(name = "task_history_seq", sequenceName = "task_history_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // History outlives its task, deleting the task only detaches it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", referencedColumnName = "id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
     private TaskEntity task;
 
     private String username;
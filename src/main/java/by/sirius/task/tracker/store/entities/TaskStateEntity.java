@@ -24,7 +24,8 @@ public class TaskStateEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_states_seq")
+    @SequenceGenerator(name = "task_states_seq", sequenceName = "task_states_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -45,6 +46,7 @@ public class TaskStateEntity implements Serializable {
     @Builder.Default
     @OneToMany(cascade = CascadeType.REMOVE, orphanRemoval = true)
     @JoinColumn(name = "task_state_id", referencedColumnName = "id")
+    @OrderBy("rank ASC, id ASC")
     private List<TaskEntity> tasks = new ArrayList<>();
 
     @Override
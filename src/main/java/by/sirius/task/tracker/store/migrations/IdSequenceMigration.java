@@ -0,0 +1,55 @@
+package by.sirius.task.tracker.store.migrations;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Order(0)
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class IdSequenceMigration implements CommandLineRunner {
+
+    private static final List<String> TABLES = List.of(
+            "users", "roles", "projects", "project_roles", "invitations", "task_states", "tasks", "task_history");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+
+            if (isIdentityColumn(table)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+                log.info("Dropped identity from {}.id", table);
+            }
+
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+
+            if (maxId != null && lastValue != null && maxId > lastValue) {
+                jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, maxId);
+                log.info("Moved sequence {} past existing id {}", sequence, maxId);
+            }
+        }
+    }
+
+    private boolean isIdentityColumn(String table) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_name = ? AND column_name = 'id' AND is_identity = 'YES'
+                """, Integer.class, table);
+
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,123 @@
+package by.sirius.task.tracker.store.migrations;
+
+import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Turns the task_history table Hibernate created into one range partitioned by month of changed_at,
+ * with a default partition for rows outside every month.
+ */
+@Slf4j
+@Order(3)
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskHistoryPartitionMigration implements CommandLineRunner {
+
+    private static final String COLUMNS = "id, task_id, username, change_type, field_name, old_value, new_value, changed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${task-tracker.history.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_partitioned_table p
+                JOIN pg_class c ON c.oid = p.partrelid
+                WHERE c.relname = 'task_history'
+                """, Integer.class);
+
+        if (count == null || count == 0) {
+            partition();
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TaskHistoryEntity.DEFAULT_PARTITION
+                + " PARTITION OF task_history DEFAULT");
+        detachHistoryOnTaskDelete();
+    }
+
+    private void partition() {
+        jdbcTemplate.execute("ALTER TABLE task_history RENAME TO task_history_legacy");
+        jdbcTemplate.execute("ALTER TABLE task_history_legacy RENAME CONSTRAINT task_history_pkey TO task_history_legacy_pkey");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_task_history_task_id_changed_at");
+
+        // The partition key has to be part of the primary key
+        jdbcTemplate.execute("""
+                CREATE TABLE task_history (
+                    id bigint NOT NULL,
+                    task_id bigint REFERENCES tasks (id) ON DELETE SET NULL,
+                    username varchar(255),
+                    change_type varchar(255),
+                    field_name varchar(255),
+                    old_value varchar(255),
+                    new_value varchar(255),
+                    changed_at timestamp(6) with time zone NOT NULL,
+                    PRIMARY KEY (id, changed_at)
+                ) PARTITION BY RANGE (changed_at)
+                """);
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(changed_at) FROM task_history_legacy", Timestamp.class);
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth month = oldest == null ? current : YearMonth.from(oldest.toInstant().atZone(ZoneOffset.UTC));
+
+        for (; !month.isAfter(current.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(createPartitionSql(month));
+        }
+
+        int copied = jdbcTemplate.update("INSERT INTO task_history (" + COLUMNS + ") "
+                + "SELECT " + COLUMNS.replace("changed_at", "COALESCE(changed_at, now())") + " FROM task_history_legacy");
+
+        jdbcTemplate.execute("DROP TABLE task_history_legacy");
+        jdbcTemplate.execute("CREATE INDEX idx_task_history_task_id_changed_at ON task_history (task_id, changed_at, id)");
+
+        log.info("Partitioned task_history by month, moved {} rows", copied);
+    }
+
+    // Tables partitioned before the foreign key was ON DELETE SET NULL still have the restricting one
+    private void detachHistoryOnTaskDelete() {
+        List<String> restricting = jdbcTemplate.queryForList("""
+                SELECT con.conname FROM pg_constraint con
+                JOIN pg_class c ON c.oid = con.conrelid
+                WHERE c.relname = 'task_history' AND con.contype = 'f'
+                  AND con.confrelid = 'tasks'::regclass AND con.confdeltype <> 'n'
+                """, String.class);
+
+        for (String constraint : restricting) {
+            jdbcTemplate.execute("ALTER TABLE task_history DROP CONSTRAINT " + constraint);
+        }
+
+        if (!restricting.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE task_history ADD CONSTRAINT task_history_task_id_fkey "
+                    + "FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE SET NULL");
+            log.info("Recreated task_history foreign key to tasks with ON DELETE SET NULL");
+        }
+    }
+
+    public static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF task_history " + partitionBounds(month);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format(TaskHistoryEntity.PARTITION_NAME_FORMAT, month.getYear(), month.getMonthValue());
+    }
+
+    public static String partitionBounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')";
+    }
+}
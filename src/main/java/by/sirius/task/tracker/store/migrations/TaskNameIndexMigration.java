@@ -0,0 +1,60 @@
+package by.sirius.task.tracker.store.migrations;
+
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Order(2)
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskNameIndexMigration implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname = ?",
+                Integer.class, TaskEntity.NAME_UNIQUE_INDEX);
+
+        if (count != null && count > 0) {
+            return;
+        }
+
+        // A suffixed name can clash with a task already named that way, so repeat until none are left.
+        // Renamed names only grow, which makes this finish.
+        int renamed = 0;
+        int renamedInPass;
+        do {
+            renamedInPass = jdbcTemplate.update("""
+                    UPDATE tasks t
+                    SET name = t.name || ' (' || t.id || ')'
+                    WHERE EXISTS (
+                        SELECT 1 FROM tasks other
+                        WHERE other.task_state_id = t.task_state_id
+                          AND lower(other.name) = lower(t.name)
+                          AND other.id < t.id
+                    )
+                    """);
+            renamed += renamedInPass;
+        } while (renamedInPass > 0);
+
+        if (renamed > 0) {
+            log.warn("Renamed {} tasks whose names clashed case-insensitively within a task state", renamed);
+        }
+
+        jdbcTemplate.execute("CREATE UNIQUE INDEX " + TaskEntity.NAME_UNIQUE_INDEX
+                + " ON tasks (task_state_id, lower(name))");
+
+        log.info("Created unique index {}", TaskEntity.NAME_UNIQUE_INDEX);
+    }
+}
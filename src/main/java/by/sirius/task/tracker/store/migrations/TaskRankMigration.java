@@ -0,0 +1,98 @@
+package by.sirius.task.tracker.store.migrations;
+
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Order(1)
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskRankMigration implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        if (!hasLegacyLinkColumns()) {
+            return;
+        }
+
+        log.info("Converting task left/right links to ranks...");
+
+        Map<Long, List<LegacyTask>> tasksByTaskState = jdbcTemplate.query(
+                        "SELECT id, task_state_id, left_task_id, right_task_id FROM tasks",
+                        (rs, rowNum) -> new LegacyTask(
+                                rs.getLong("id"),
+                                rs.getObject("task_state_id", Long.class),
+                                rs.getObject("left_task_id", Long.class),
+                                rs.getObject("right_task_id", Long.class)))
+                .stream()
+                .collect(Collectors.groupingBy(
+                        task -> Objects.requireNonNullElse(task.taskStateId(), 0L),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+
+        List<Object[]> rankUpdates = new ArrayList<>();
+        tasksByTaskState.values().forEach(tasks -> {
+            long rank = TaskRankHelper.RANK_STEP;
+            for (Long taskId : orderByLinks(tasks)) {
+                rankUpdates.add(new Object[]{rank, taskId});
+                rank += TaskRankHelper.RANK_STEP;
+            }
+        });
+
+        jdbcTemplate.batchUpdate("UPDATE tasks SET rank = ? WHERE id = ?", rankUpdates);
+        jdbcTemplate.execute("ALTER TABLE tasks DROP COLUMN IF EXISTS left_task_id, DROP COLUMN IF EXISTS right_task_id");
+
+        log.info("Converted {} tasks in {} task states to ranks", rankUpdates.size(), tasksByTaskState.size());
+    }
+
+    private boolean hasLegacyLinkColumns() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'tasks' AND column_name IN ('left_task_id', 'right_task_id')",
+                Integer.class);
+        return count != null && count > 0;
+    }
+
+    private List<Long> orderByLinks(List<LegacyTask> tasks) {
+        Map<Long, LegacyTask> tasksById = tasks.stream()
+                .collect(Collectors.toMap(LegacyTask::id, task -> task));
+
+        List<LegacyTask> heads = tasks.stream()
+                .filter(task -> task.leftTaskId() == null || !tasksById.containsKey(task.leftTaskId()))
+                .sorted(Comparator.comparing(LegacyTask::id))
+                .toList();
+
+        Set<Long> ordered = new LinkedHashSet<>();
+        for (LegacyTask head : heads) {
+            LegacyTask current = head;
+            while (current != null && ordered.add(current.id())) {
+                current = current.rightTaskId() == null ? null : tasksById.get(current.rightTaskId());
+            }
+        }
+
+        // Broken or cyclic chains keep their tasks, appended in creation order.
+        tasks.stream()
+                .map(LegacyTask::id)
+                .sorted()
+                .forEach(ordered::add);
+
+        return new ArrayList<>(ordered);
+    }
+
+    private record LegacyTask(Long id, Long taskStateId, Long leftTaskId, Long rightTaskId) {
+    }
+}
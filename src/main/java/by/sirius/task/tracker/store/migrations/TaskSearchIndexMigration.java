@@ -0,0 +1,45 @@
+package by.sirius.task.tracker.store.migrations;
+
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Order(4)
+@Component
+@ConditionalOnProperty(name = "task-tracker.migrations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskSearchIndexMigration implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Not transactional: CREATE INDEX CONCURRENTLY can't run inside a transaction block
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException e) {
+            log.warn("pg_trgm is not available, task search falls back to substring matching: {}", e.getMessage());
+            return;
+        }
+
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname = ?",
+                Integer.class, TaskEntity.NAME_TRIGRAM_INDEX);
+
+        if (count != null && count > 0) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + TaskEntity.NAME_TRIGRAM_INDEX
+                + " ON tasks USING gin (lower(name) gin_trgm_ops)");
+
+        log.info("Created trigram index {}", TaskEntity.NAME_TRIGRAM_INDEX);
+    }
+}
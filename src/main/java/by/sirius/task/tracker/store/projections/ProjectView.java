@@ -0,0 +1,11 @@
+package by.sirius.task.tracker.store.projections;
+
+import java.time.Instant;
+
+public record ProjectView(
+        Long id,
+        String name,
+        String owner,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package by.sirius.task.tracker.store.projections;
+
+import java.time.Instant;
+
+public record TaskBoardView(
+        Long id,
+        Long taskStateId,
+        String name,
+        Long rank,
+        String assignedUser,
+        Instant createdAt
+) {
+}
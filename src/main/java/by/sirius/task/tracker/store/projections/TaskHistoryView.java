@@ -0,0 +1,15 @@
+package by.sirius.task.tracker.store.projections;
+
+import java.time.Instant;
+
+public record TaskHistoryView(
+        Long id,
+        Long taskId,
+        String username,
+        String changeType,
+        String fieldName,
+        String oldValue,
+        String newValue,
+        Instant changedAt
+) {
+}
@@ -0,0 +1,7 @@
+package by.sirius.task.tracker.store.projections;
+
+public record TaskNameView(
+        Long taskStateId,
+        String name
+) {
+}
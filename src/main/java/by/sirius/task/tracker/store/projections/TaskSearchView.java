@@ -0,0 +1,15 @@
+package by.sirius.task.tracker.store.projections;
+
+import java.time.Instant;
+
+public record TaskSearchView(
+        Long id,
+        Long taskStateId,
+        Long projectId,
+        String name,
+        Long rank,
+        String assignedUser,
+        Instant createdAt,
+        double score
+) {
+}
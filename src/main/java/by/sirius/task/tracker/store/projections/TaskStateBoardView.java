@@ -0,0 +1,12 @@
+package by.sirius.task.tracker.store.projections;
+
+import java.time.Instant;
+
+public record TaskStateBoardView(
+        Long id,
+        String name,
+        Instant createdAt,
+        Long leftTaskStateId,
+        Long rightTaskStateId
+) {
+}
@@ -0,0 +1,60 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.BoardChangeEntity;
+import by.sirius.task.tracker.store.projections.ProjectVersionView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface BoardChangeRepository extends JpaRepository<BoardChangeEntity, Long> {
+
+    @Query("""
+            SELECT c FROM BoardChangeEntity c
+            WHERE c.projectId = :projectId
+              AND c.version > :since
+              AND c.version <= :version
+            ORDER BY c.version, c.id
+            """)
+    List<BoardChangeEntity> findChanges(@Param("projectId") Long projectId,
+                                        @Param("since") long since,
+                                        @Param("version") long version,
+                                        Pageable pageable);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.ProjectVersionView(c.projectId, MAX(c.version))
+            FROM BoardChangeEntity c
+            WHERE c.changedAt < :cutoff
+            GROUP BY c.projectId
+            """)
+    List<ProjectVersionView> findLatestVersionsChangedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("""
+            DELETE FROM BoardChangeEntity c
+            WHERE EXISTS (
+                SELECT 1 FROM BoardChangeEntity n
+                WHERE n.projectId = c.projectId
+                  AND n.itemId = c.itemId
+                  AND n.itemType = c.itemType
+                  AND (n.version > c.version OR (n.version = c.version AND n.id > c.id)))
+            """)
+    int deleteSuperseded();
+
+    @Modifying
+    @Query("DELETE FROM BoardChangeEntity c WHERE c.projectId = :projectId AND c.version <= :version")
+    int deleteUpToVersion(@Param("projectId") Long projectId, @Param("version") long version);
+
+    @Modifying
+    @Query("""
+            DELETE FROM BoardChangeEntity c
+            WHERE NOT EXISTS (SELECT 1 FROM ProjectEntity p WHERE p.id = c.projectId)
+            """)
+    int deleteOfDeletedProjects();
+}
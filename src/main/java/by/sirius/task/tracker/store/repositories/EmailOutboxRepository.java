@@ -0,0 +1,34 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.EmailOutboxEntity;
+import by.sirius.task.tracker.store.entities.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED, so concurrent dispatchers claim disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e
+            FROM EmailOutboxEntity e
+            WHERE e.status = :status
+              AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt, e.id
+            """)
+    List<EmailOutboxEntity> findDueForUpdate(@Param("status") EmailStatus status,
+                                             @Param("now") Instant now,
+                                             Limit limit);
+}
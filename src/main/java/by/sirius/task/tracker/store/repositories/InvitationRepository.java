@@ -4,6 +4,7 @@ import by.sirius.task.tracker.store.entities.InvitationStatus;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.UserEntity;
 import by.sirius.task.tracker.store.entities.InvitationEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,9 @@ import java.util.Optional;
 @Repository
 public interface InvitationRepository extends JpaRepository<InvitationEntity, Long> {
     List<InvitationEntity> findAllByInvitedUserAndStatus(UserEntity user, InvitationStatus status);
-   List<InvitationEntity> findAllByInvitedUser_username(String username);
+
+    @EntityGraph(attributePaths = {"invitingAdmin", "invitedUser", "project"})
+    List<InvitationEntity> findAllByInvitedUser_username(String username);
+
     Optional<InvitationEntity> findByInvitedUserAndProjectAndStatus(UserEntity invitedUser, ProjectEntity project, InvitationStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package by.sirius.task.tracker.store.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+// unwrap() needs a transaction-bound session, the shared proxy closes it right away otherwise
+@Transactional
+abstract class NaturalIdRepositorySupport {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    protected <T> Optional<T> findBySimpleNaturalId(Class<T> entityClass, Object naturalId) {
+        return entityManager
+                .unwrap(Session.class)
+                .bySimpleNaturalId(entityClass)
+                .loadOptional(naturalId);
+    }
+}
@@ -1,8 +1,13 @@
 package by.sirius.task.tracker.store.repositories;
 
 import by.sirius.task.tracker.store.entities.ProjectEntity;
-import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.projections.ProjectVersionView;
+import by.sirius.task.tracker.store.projections.ProjectView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +16,48 @@ import java.util.Optional;
 @Repository
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
     Optional<ProjectEntity> findByName(String name);
-    List<ProjectEntity> findAllByAdmin(UserEntity admin);
-    List<ProjectEntity> findAllByUsersContaining(UserEntity user);
+
+    // Owned or member of, each project once however the user is related to it
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.ProjectView(p.id, p.name, a.username, p.createdAt)
+            FROM ProjectEntity p
+            LEFT JOIN p.admin a
+            WHERE (a.username = :username
+                   OR EXISTS (
+                       SELECT 1 FROM UserEntity u JOIN u.memberProjects m
+                       WHERE m.id = p.id AND u.username = :username))
+              AND p.id > :id
+            ORDER BY p.id
+            """)
+    List<ProjectView> findPageByUsernameAfter(@Param("username") String username,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    @Modifying
+    @Query("UPDATE ProjectEntity p SET p.boardVersion = p.boardVersion + 1 WHERE p.id = :projectId")
+    int incrementBoardVersion(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.boardVersion FROM ProjectEntity p WHERE p.id = :projectId")
+    Optional<Long> findBoardVersionById(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.changeLogHorizon FROM ProjectEntity p WHERE p.id = :projectId")
+    Optional<Long> findChangeLogHorizonById(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("""
+            UPDATE ProjectEntity p SET p.changeLogHorizon = :version
+            WHERE p.id = :projectId AND p.changeLogHorizon < :version
+            """)
+    int advanceChangeLogHorizon(@Param("projectId") Long projectId, @Param("version") long version);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.ProjectVersionView(p.id, p.boardVersion)
+            FROM ProjectEntity p
+            WHERE p.admin.username = :username
+               OR EXISTS (
+                   SELECT 1 FROM UserEntity u JOIN u.memberProjects m
+                   WHERE m.id = p.id AND u.username = :username)
+            ORDER BY p.id
+            """)
+    List<ProjectVersionView> findBoardVersionsByUsername(@Param("username") String username);
 }
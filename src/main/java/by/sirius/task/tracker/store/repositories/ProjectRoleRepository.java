@@ -4,14 +4,29 @@ import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
 import by.sirius.task.tracker.store.entities.RoleEntity;
 import by.sirius.task.tracker.store.entities.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface ProjectRoleRepository extends JpaRepository<ProjectRoleEntity, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<ProjectRoleEntity> findByUserAndProject(UserEntity user, ProjectEntity project);
     boolean existsByUserAndProjectAndRole(UserEntity user, ProjectEntity project, RoleEntity role);
     void deleteByUserAndProject(UserEntity user, ProjectEntity project);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT pr.role.name
+            FROM ProjectRoleEntity pr
+            WHERE pr.user.username = :username
+              AND pr.project.id = :projectId
+            """)
+    Optional<String> findRoleName(@Param("username") String username, @Param("projectId") Long projectId);
 }
@@ -0,0 +1,9 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.RoleEntity;
+
+import java.util.Optional;
+
+public interface RoleNaturalIdRepository {
+    Optional<RoleEntity> findByName(String name);
+}
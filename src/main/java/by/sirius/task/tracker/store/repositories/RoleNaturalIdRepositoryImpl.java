@@ -0,0 +1,13 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.RoleEntity;
+
+import java.util.Optional;
+
+public class RoleNaturalIdRepositoryImpl extends NaturalIdRepositorySupport implements RoleNaturalIdRepository {
+
+    @Override
+    public Optional<RoleEntity> findByName(String name) {
+        return findBySimpleNaturalId(RoleEntity.class, name);
+    }
+}
@@ -4,9 +4,6 @@ import by.sirius.task.tracker.store.entities.RoleEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
-    Optional<RoleEntity> findByName(String name);
+public interface RoleRepository extends JpaRepository<RoleEntity, Long>, RoleNaturalIdRepository {
 }
@@ -1,12 +1,33 @@
 package by.sirius.task.tracker.store.repositories;
 
 import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntity, Long> {
-    List<TaskHistoryEntity> findByTaskId(Long taskId);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskHistoryView(
+                h.id, h.task.id, h.username, h.changeType, h.fieldName, h.oldValue, h.newValue, h.changedAt)
+            FROM TaskHistoryEntity h
+            WHERE h.task.id = :taskId
+              AND (CAST(:to AS Instant) IS NULL OR h.changedAt < :to)
+              AND (CAST(:changeType AS String) IS NULL OR h.changeType = :changeType)
+              AND (h.changedAt > :changedAt OR (h.changedAt = :changedAt AND h.id > :id))
+            ORDER BY h.changedAt, h.id
+            """)
+    List<TaskHistoryView> findPageByTaskIdAfter(@Param("taskId") Long taskId,
+                                                @Param("to") Instant to,
+                                                @Param("changeType") String changeType,
+                                                @Param("changedAt") Instant changedAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
 }
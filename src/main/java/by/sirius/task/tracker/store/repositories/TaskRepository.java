@@ -1,15 +1,120 @@
 package by.sirius.task.tracker.store.repositories;
 
 import by.sirius.task.tracker.store.entities.TaskEntity;
-import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
+import by.sirius.task.tracker.store.projections.TaskNameView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, TaskSearchRepository {
     Optional<TaskEntity> findByTaskStateIdAndNameIgnoreCase(Long taskStateId, String taskName);
-    List<TaskEntity> findByAssignedUser(UserEntity assignedUser);
+
+    List<TaskEntity> findAllByTaskStateIdOrderByRankAscIdAsc(Long taskStateId);
+    Optional<TaskEntity> findFirstByTaskStateIdOrderByRankAscIdAsc(Long taskStateId);
+    Optional<TaskEntity> findFirstByTaskStateIdOrderByRankDescIdDesc(Long taskStateId);
+    Optional<TaskEntity> findFirstByTaskStateIdAndRankLessThanOrderByRankDescIdDesc(Long taskStateId, Long rank);
+    Optional<TaskEntity> findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(Long taskStateId, Long rank);
+
+    @Query("SELECT t.taskState.id FROM TaskEntity t WHERE t.id IN :taskIds")
+    Set<Long> findTaskStateIdsByIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT t.taskState.project.id FROM TaskEntity t WHERE t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.id IN :taskIds")
+    Set<Long> findExistingIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskBoardView(
+                t.id, s.id, t.name, t.rank, u.username, t.createdAt)
+            FROM TaskEntity t
+            JOIN t.taskState s
+            LEFT JOIN t.assignedUser u
+            WHERE s.project.id = :projectId
+            ORDER BY t.rank, t.id
+            """)
+    List<TaskBoardView> findBoardViewsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskBoardView(
+                t.id, s.id, t.name, t.rank, u.username, t.createdAt)
+            FROM TaskEntity t
+            JOIN t.taskState s
+            LEFT JOIN t.assignedUser u
+            WHERE t.id IN :taskIds
+              AND s.project.id = :projectId
+            """)
+    List<TaskBoardView> findBoardViewsByIdInAndProjectId(@Param("taskIds") Collection<Long> taskIds,
+                                                         @Param("projectId") Long projectId);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskBoardView(
+                t.id, s.id, t.name, t.rank, u.username, t.createdAt)
+            FROM TaskEntity t
+            JOIN t.taskState s
+            LEFT JOIN t.assignedUser u
+            WHERE s.id = :taskStateId
+              AND (t.rank > :rank OR (t.rank = :rank AND t.id > :id))
+            ORDER BY t.rank, t.id
+            """)
+    List<TaskBoardView> findPageByTaskStateIdAfter(@Param("taskStateId") Long taskStateId,
+                                                   @Param("rank") Long rank,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskBoardView(
+                t.id, s.id, t.name, t.rank, u.username, t.createdAt)
+            FROM TaskEntity t
+            JOIN t.taskState s
+            JOIN t.assignedUser u
+            WHERE u.id = :userId
+              AND s.project.id = :projectId
+              AND t.id > :id
+            ORDER BY t.id
+            """)
+    List<TaskBoardView> findAssignedPageAfter(@Param("userId") Long userId,
+                                              @Param("projectId") Long projectId,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    @Query("""
+            SELECT t
+            FROM TaskEntity t
+            JOIN FETCH t.taskState s
+            LEFT JOIN FETCH t.assignedUser
+            WHERE t.id IN :taskIds
+              AND s.project.id = :projectId
+            """)
+    List<TaskEntity> findAllByIdInAndProjectId(@Param("taskIds") Collection<Long> taskIds,
+                                               @Param("projectId") Long projectId);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskNameView(t.taskState.id, lower(t.name))
+            FROM TaskEntity t
+            WHERE t.taskState.id IN :taskStateIds
+              AND lower(t.name) IN :names
+            """)
+    List<TaskNameView> findNamesInTaskStates(@Param("taskStateIds") Collection<Long> taskStateIds,
+                                             @Param("names") Collection<String> names);
+
+    @Query(value = """
+            SELECT DISTINCT ranked.task_state_id
+            FROM (
+                SELECT task_state_id,
+                       rank - LAG(rank) OVER (PARTITION BY task_state_id ORDER BY rank, id) AS gap
+                FROM tasks
+            ) ranked
+            WHERE ranked.gap < :minGap
+            """, nativeQuery = true)
+    List<Long> findTaskStateIdsWithRankGapBelow(@Param("minGap") long minGap);
 }
@@ -0,0 +1,13 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.projections.TaskSearchView;
+
+import java.util.List;
+
+public interface TaskSearchRepository {
+    /**
+     * Searches task names in the projects the user has a role in, or in one of them when projectId is set.
+     * Prefix matches rank first, then the rest by similarity. The query is expected in lower case.
+     */
+    List<TaskSearchView> searchTasks(String username, Long projectId, String query, int limit);
+}
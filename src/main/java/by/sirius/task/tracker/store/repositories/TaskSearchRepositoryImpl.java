@@ -0,0 +1,105 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.projections.TaskSearchView;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// set_config(..., true) is local to the transaction, so the threshold has to be set and used in one
+@Transactional
+@RequiredArgsConstructor
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private static final String SELECT = """
+            SELECT t.id, t.task_state_id, s.project_id, t.name, t.rank, u.username, t.created_at,
+                   CASE WHEN lower(t.name) LIKE :prefix ESCAPE '\\' THEN 1 ELSE 0 END AS prefix_match,
+                   %s AS score
+            FROM tasks t
+            JOIN task_states s ON s.id = t.task_state_id
+            LEFT JOIN users u ON u.id = t.assigned_user_id
+            WHERE s.project_id IN (
+                    SELECT pr.project_id
+                    FROM project_roles pr
+                    JOIN users m ON m.id = pr.user_id
+                    WHERE m.username = :username)
+              AND (CAST(:projectId AS bigint) IS NULL OR s.project_id = :projectId)
+              AND %s
+            ORDER BY prefix_match DESC, score DESC, length(t.name), t.id
+            LIMIT :limit
+            """;
+
+    // Both predicates can use the GIN trigram index on lower(name)
+    private static final String TRIGRAM_SEARCH = SELECT.formatted(
+            "word_similarity(:query, lower(t.name))",
+            "(lower(t.name) LIKE :contains ESCAPE '\\' OR :query <% lower(t.name))");
+
+    private static final String SUBSTRING_SEARCH = SELECT.formatted(
+            "CAST(:queryLength AS double precision) / GREATEST(length(t.name), 1)",
+            "lower(t.name) LIKE :contains ESCAPE '\\'");
+
+    private static final RowMapper<TaskSearchView> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new TaskSearchView(
+                rs.getLong("id"),
+                rs.getLong("task_state_id"),
+                rs.getLong("project_id"),
+                rs.getString("name"),
+                rs.getObject("rank", Long.class),
+                rs.getString("username"),
+                createdAt != null ? createdAt.toInstant() : null,
+                rs.getDouble("score"));
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${task-tracker.search.similarity-threshold:0.3}")
+    private double similarityThreshold;
+
+    private volatile Boolean trigramAvailable;
+
+    @Override
+    public List<TaskSearchView> searchTasks(String username, Long projectId, String query, int limit) {
+        String pattern = escapeLike(query);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("username", username)
+                .addValue("projectId", projectId)
+                .addValue("query", query)
+                .addValue("queryLength", query.length())
+                .addValue("prefix", pattern + "%")
+                .addValue("contains", "%" + pattern + "%")
+                .addValue("limit", limit);
+
+        if (!isTrigramAvailable()) {
+            return jdbcTemplate.query(SUBSTRING_SEARCH, params, ROW_MAPPER);
+        }
+
+        jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class, String.valueOf(similarityThreshold));
+
+        return jdbcTemplate.query(TRIGRAM_SEARCH, params, ROW_MAPPER);
+    }
+
+    private boolean isTrigramAvailable() {
+        if (trigramAvailable == null) {
+            String product = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+
+            trigramAvailable = "PostgreSQL".equals(product) && Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate()
+                    .queryForObject("SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')",
+                            Boolean.class));
+        }
+        return trigramAvailable;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,13 +1,49 @@
 package by.sirius.task.tracker.store.repositories;
 
 import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.projections.TaskStateBoardView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskStateRepository extends JpaRepository<TaskStateEntity, Long> {
     Optional<TaskStateEntity> findTaskStateEntityByProjectIdAndNameContainsIgnoreCase(Long projectId, String name);
     Optional<TaskStateEntity> findByProjectIdAndId(Long projectId, Long taskStateId);
+    boolean existsByProjectIdAndId(Long projectId, Long taskStateId);
+    List<TaskStateEntity> findAllByIdInAndProjectId(Collection<Long> taskStateIds, Long projectId);
+
+    @Query("SELECT s.project.id FROM TaskStateEntity s WHERE s.id = :taskStateId")
+    Optional<Long> findProjectIdById(@Param("taskStateId") Long taskStateId);
+
+    // Locked in id order, so transactions locking overlapping task states can't deadlock
+    @Query(value = "SELECT id FROM task_states WHERE id IN (:taskStateIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllByIdIn(@Param("taskStateIds") Collection<Long> taskStateIds);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskStateBoardView(
+                s.id, s.name, s.createdAt, l.id, r.id)
+            FROM TaskStateEntity s
+            LEFT JOIN s.leftTaskState l
+            LEFT JOIN s.rightTaskState r
+            WHERE s.project.id = :projectId
+            """)
+    List<TaskStateBoardView> findBoardViewsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("""
+            SELECT new by.sirius.task.tracker.store.projections.TaskStateBoardView(
+                s.id, s.name, s.createdAt, l.id, r.id)
+            FROM TaskStateEntity s
+            LEFT JOIN s.leftTaskState l
+            LEFT JOIN s.rightTaskState r
+            WHERE s.id IN :taskStateIds
+              AND s.project.id = :projectId
+            """)
+    List<TaskStateBoardView> findBoardViewsByIdInAndProjectId(@Param("taskStateIds") Collection<Long> taskStateIds,
+                                                              @Param("projectId") Long projectId);
 }
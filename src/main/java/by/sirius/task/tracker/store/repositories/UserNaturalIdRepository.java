@@ -0,0 +1,9 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.UserEntity;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+    Optional<UserEntity> findByUsername(String username);
+}
@@ -0,0 +1,13 @@
+package by.sirius.task.tracker.store.repositories;
+
+import by.sirius.task.tracker.store.entities.UserEntity;
+
+import java.util.Optional;
+
+public class UserNaturalIdRepositoryImpl extends NaturalIdRepositorySupport implements UserNaturalIdRepository {
+
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
+        return findBySimpleNaturalId(UserEntity.class, username);
+    }
+}
@@ -1,16 +1,23 @@
 package by.sirius.task.tracker.store.repositories;
 
 import by.sirius.task.tracker.store.entities.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    Optional<UserEntity> findByUsername(String username);
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @EntityGraph(attributePaths = "roles")
     List<UserEntity> findAllByMemberProjects_Id(Long projectId);
+
+    @Query("SELECT u.enabled FROM UserEntity u WHERE u.username = :username")
+    Optional<Boolean> findEnabledByUsername(@Param("username") String username);
 }
@@ -0,0 +1,99 @@
+package by.sirius.task.tracker.api.controllers;
+
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// An open board stream is an async request that lives for minutes, it must not hold on to a connection
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "task-tracker.email.dispatch-initial-delay=PT24H",
+        "task-tracker.ranks.rebalance-initial-delay=PT24H"
+})
+class BoardStreamConnectionTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "board_stream");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testStreamBoardChanges_ShouldReleaseConnectionWhileStreaming() throws Exception {
+        post("/auth/register", null, Map.of(
+                "username", "streamer",
+                "email", "streamer@example.com",
+                "password", "password"));
+        String token = post("/auth/login", null, Map.of("username", "streamer", "password", "password"))
+                .path("token").asText();
+        long projectId = post("/api/projects?name=streamed", token, null).path("id").asLong();
+
+        HttpResponse<InputStream> stream = httpClient.send(
+                request("/api/projects/" + projectId + "/board/stream", token).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, stream.statusCode());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+            assertEquals("event:subscribed", reader.readLine());
+
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (hikari.getHikariPoolMXBean().getActiveConnections() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(0, hikari.getHikariPoolMXBean().getActiveConnections());
+        }
+    }
+
+    private JsonNode post(String path, String token, Object body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        HttpResponse<String> response = httpClient.send(
+                request(path, token).header("Content-Type", "application/json").POST(publisher).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(2, response.statusCode() / 100, response.body());
+        return response.body().startsWith("{") ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,187 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.api.dto.BoardChangeDto;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardChangeBroadcasterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoardChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        // Flushed by hand, the scheduled flush never comes around within a test
+        broadcaster = new BoardChangeBroadcaster(
+                meterRegistry, Duration.ofHours(1), Duration.ofHours(1), Duration.ofMinutes(1), 2, 10);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testFlush_ShouldCoalesceChangesPerProject() throws Exception {
+        RecordingEmitter watcher = subscribe(1L, "watcher");
+        RecordingEmitter otherProject = subscribe(2L, "other");
+
+        broadcaster.publish(1L, change(1L, BoardChangeType.UPDATED));
+        broadcaster.publish(1L, change(1L, BoardChangeType.MOVED));
+        broadcaster.publish(1L, change(2L, BoardChangeType.CREATED));
+        broadcaster.publish(1L, change(2L, BoardChangeType.UPDATED));
+        broadcaster.publish(1L, change(3L, BoardChangeType.CREATED));
+        broadcaster.publish(1L, change(3L, BoardChangeType.DELETED));
+        broadcaster.flush();
+
+        assertEquals(List.of(change(1L, BoardChangeType.MOVED), change(2L, BoardChangeType.CREATED)),
+                watcher.next("board-changes"));
+        assertNull(otherProject.events.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(2, meterRegistry.counter("tasktracker.board.changes").count());
+    }
+
+    @Test
+    void testPublish_ShouldWaitForCommit() throws Exception {
+        RecordingEmitter watcher = subscribe(1L, "watcher");
+
+        TransactionSynchronizationManager.initSynchronization();
+        broadcaster.publish(1L, change(1L, BoardChangeType.CREATED));
+        broadcaster.flush();
+
+        assertNull(watcher.events.poll(100, TimeUnit.MILLISECONDS));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        broadcaster.flush();
+
+        assertEquals(List.of(change(1L, BoardChangeType.CREATED)), watcher.next("board-changes"));
+    }
+
+    @Test
+    void testFlush_WhenSubscriberFallsBehind_ShouldAskItToResync() throws Exception {
+        CountDownLatch slowNetwork = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(slowNetwork);
+        broadcaster.subscribe(1L, "slow", slow);
+        RecordingEmitter fast = subscribe(1L, "fast");
+
+        for (long id = 1; id <= 5; id++) {
+            broadcaster.publish(1L, change(id, BoardChangeType.UPDATED));
+            broadcaster.flush();
+            fast.next("board-changes");
+        }
+        slowNetwork.countDown();
+
+        // What was still queued when it fell behind is gone, the resync event took its place
+        assertNotNull(slow.next("subscribed"));
+        assertNotNull(slow.nextNamed("resync"));
+        assertTrue(meterRegistry.counter("tasktracker.board.overflows").count() >= 1);
+    }
+
+    @Test
+    void testDisconnect_ShouldCloseStreamsOfTheUser() throws Exception {
+        RecordingEmitter removed = subscribe(1L, "removed");
+        RecordingEmitter member = subscribe(1L, "member");
+
+        broadcaster.disconnect(1L, "removed");
+        broadcaster.publish(1L, change(1L, BoardChangeType.UPDATED));
+        broadcaster.flush();
+
+        assertTrue(removed.completed);
+        assertNull(removed.events.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(List.of(change(1L, BoardChangeType.UPDATED)), member.next("board-changes"));
+    }
+
+    @Test
+    void testSubscribe_WhenTooManyStreams_ShouldReject() {
+        for (int i = 0; i < 10; i++) {
+            broadcaster.subscribe(1L, "user" + i, new RecordingEmitter(null));
+        }
+
+        assertThrows(RuntimeException.class, () -> broadcaster.subscribe(1L, "one-too-many", new RecordingEmitter(null)));
+    }
+
+    private RecordingEmitter subscribe(Long projectId, String username) throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.subscribe(projectId, username, emitter);
+        emitter.next("subscribed");
+        return emitter;
+    }
+
+    private BoardChangeDto change(Long taskId, BoardChangeType changeType) {
+        return BoardChangeDto.builder()
+                .itemType(BoardItemType.TASK)
+                .id(taskId)
+                .taskStateId(10L)
+                .changeType(changeType)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<List<Object>> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch gate;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                if (gate != null) {
+                    gate.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            events.add(builder.build().stream().map(DataWithMediaType::getData).toList());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private List<Object> nextNamed(String eventName) throws InterruptedException {
+            List<Object> event;
+            while ((event = events.poll(5, TimeUnit.SECONDS)) != null) {
+                if (event.get(0).toString().startsWith("event:" + eventName + "\n")) {
+                    return event;
+                }
+            }
+            return null;
+        }
+
+        private Object next(String eventName) throws InterruptedException {
+            List<Object> event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No " + eventName + " event");
+            assertTrue(event.get(0).toString().startsWith("event:" + eventName + "\n"), event.toString());
+            return event.get(1);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.store.entities.BoardChangeEntity;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.BoardChangeRepository;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "task-tracker.board-changes.retention=P1D"
+})
+@Import(BoardChangeLogCompactor.class)
+class BoardChangeLogCompactorTest {
+
+    @Autowired
+    private BoardChangeLogCompactor boardChangeLogCompactor;
+
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity admin = entityManager.persist(UserEntity.builder()
+                .username("compact-admin")
+                .email("compact-admin@example.com")
+                .enabled(true)
+                .build());
+        projectId = entityManager.persist(ProjectEntity.builder().name("compacted").admin(admin).build()).getId();
+    }
+
+    @Test
+    void testCompact_ShouldKeepLatestChangeOfEveryItem() {
+        Instant now = Instant.now();
+        record(projectId, 1, BoardItemType.TASK, 10L, BoardChangeType.CREATED, now);
+        record(projectId, 2, BoardItemType.TASK, 10L, BoardChangeType.MOVED, now);
+        record(projectId, 2, BoardItemType.TASK_STATE, 10L, BoardChangeType.UPDATED, now);
+        record(projectId, 3, BoardItemType.TASK, 11L, BoardChangeType.UPDATED, now);
+        record(projectId, 3, BoardItemType.TASK, 11L, BoardChangeType.DELETED, now);
+
+        compact();
+
+        assertEquals(List.of("TASK:10:2:MOVED", "TASK_STATE:10:2:UPDATED", "TASK:11:3:DELETED"), remaining());
+        assertEquals(0, projectRepository.findChangeLogHorizonById(projectId).orElseThrow());
+    }
+
+    @Test
+    void testCompact_ShouldDropChangesPastRetentionAndMoveHorizon() {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        record(projectId, 1, BoardItemType.TASK, 10L, BoardChangeType.CREATED, old);
+        record(projectId, 2, BoardItemType.TASK, 11L, BoardChangeType.CREATED, old);
+        record(projectId, 3, BoardItemType.TASK, 12L, BoardChangeType.CREATED, Instant.now());
+        record(-1L, 1, BoardItemType.TASK, 13L, BoardChangeType.CREATED, Instant.now());
+
+        compact();
+
+        assertEquals(List.of("TASK:12:3:CREATED"), remaining());
+        assertEquals(2, projectRepository.findChangeLogHorizonById(projectId).orElseThrow());
+    }
+
+    private void compact() {
+        entityManager.flush();
+        boardChangeLogCompactor.compact();
+        entityManager.clear();
+    }
+
+    private List<String> remaining() {
+        return boardChangeRepository.findAll().stream()
+                .sorted(Comparator.comparing(BoardChangeEntity::getVersion).thenComparing(BoardChangeEntity::getId))
+                .map(change -> change.getItemType() + ":" + change.getItemId() + ":" + change.getVersion()
+                        + ":" + change.getChangeType())
+                .toList();
+    }
+
+    private void record(Long projectId, long version, BoardItemType itemType, Long itemId,
+                        BoardChangeType changeType, Instant changedAt) {
+        entityManager.persist(BoardChangeEntity.builder()
+                .projectId(projectId)
+                .version(version)
+                .itemType(itemType)
+                .itemId(itemId)
+                .changeType(changeType)
+                .changedAt(changedAt)
+                .build());
+    }
+}
@@ -0,0 +1,122 @@
+package by.sirius.task.tracker.core.board;
+
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BoardVersionTracker.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BoardVersionTrackerTest {
+
+    @Autowired
+    private BoardVersionTracker boardVersionTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UserEntity admin;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        admin = userRepository.save(UserEntity.builder()
+                .username("version-admin")
+                .email("version-admin@example.com")
+                .enabled(true)
+                .build());
+        projectId = projectRepository.save(ProjectEntity.builder().name("versioned").admin(admin).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testBump_ShouldIncrementOncePerTransaction() {
+        assertEquals(0, boardVersionTracker.getVersion(projectId));
+        assertEquals("\"0\"", boardVersionTracker.getBoardETag(projectId));
+
+        List<Long> versions = transactionTemplate.execute(status -> List.of(
+                boardVersionTracker.bump(projectId),
+                boardVersionTracker.bump(projectId)));
+        long next = transactionTemplate.execute(status -> boardVersionTracker.bump(projectId));
+
+        assertEquals(List.of(1L, 1L), versions);
+        assertEquals(2, next);
+        assertEquals("\"2\"", boardVersionTracker.getBoardETag(projectId));
+    }
+
+    @Test
+    void testBump_WhenProjectIsSavedAgain_ShouldKeepVersion() {
+        transactionTemplate.executeWithoutResult(status -> {
+            boardVersionTracker.bump(projectId);
+            ProjectEntity project = projectRepository.findById(projectId).orElseThrow();
+            project.setName("renamed");
+            projectRepository.save(project);
+        });
+
+        assertEquals(1, boardVersionTracker.getVersion(projectId));
+    }
+
+    @Test
+    void testGetBoardETag_WhenProjectNotFound_ShouldReturnNull() {
+        assertNull(boardVersionTracker.getBoardETag(-1L));
+    }
+
+    @Test
+    void testGetProjectsETag_ShouldFollowMembershipAndVersions() {
+        UserEntity member = userRepository.save(UserEntity.builder()
+                .username("version-member")
+                .email("version-member@example.com")
+                .enabled(true)
+                .build());
+        String empty = boardVersionTracker.getProjectsETag("version-member");
+        String adminETag = boardVersionTracker.getProjectsETag("version-admin");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ProjectEntity project = projectRepository.findById(projectId).orElseThrow();
+            UserEntity user = userRepository.findById(member.getId()).orElseThrow();
+            user.setMemberProjects(new ArrayList<>(List.of(project)));
+        });
+        String joined = boardVersionTracker.getProjectsETag("version-member");
+
+        assertNotEquals(empty, joined);
+        assertEquals(adminETag, boardVersionTracker.getProjectsETag("version-admin"));
+
+        transactionTemplate.executeWithoutResult(status -> boardVersionTracker.bump(projectId));
+
+        assertNotEquals(joined, boardVersionTracker.getProjectsETag("version-member"));
+        assertNotEquals(adminETag, boardVersionTracker.getProjectsETag("version-admin"));
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(member.getId()).orElseThrow().getMemberProjects().clear());
+    }
+}
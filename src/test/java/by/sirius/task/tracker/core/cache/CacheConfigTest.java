@@ -0,0 +1,155 @@
+package by.sirius.task.tracker.core.cache;
+
+import by.sirius.task.tracker.api.dto.CacheStatsDto;
+import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.CacheStatsService;
+import by.sirius.task.tracker.core.services.TaskStateService;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({CacheConfig.class, CacheHelper.class, CacheStatsService.class, TaskStateService.class,
+        TaskStateDtoFactory.class, TaskDtoFactory.class, ServiceHelper.class, PermissionCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheConfigTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    @MockBean
+    private BoardChangeRecorder boardChangeRecorder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .username("cache-user")
+                .email("cache@example.com")
+                .enabled(true)
+                .build());
+        projectId = projectRepository.save(ProjectEntity.builder().name("cached").admin(user).build()).getId();
+
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskStateRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCacheManager_ShouldApplyPerCacheSpecs() {
+        assertEquals(2000, nativeCache("taskStates").policy().eviction().map(Policy.Eviction::getMaximum).orElseThrow());
+        assertEquals(10000, nativeCache("projects").policy().eviction().map(Policy.Eviction::getMaximum).orElseThrow());
+        assertEquals(1000, nativeCache("undeclared").policy().eviction().map(Policy.Eviction::getMaximum).orElseThrow());
+    }
+
+    @Test
+    void testGetTaskStates_ShouldBeServedFromCacheUntilMutation() {
+        CacheStats before = nativeCache("taskStates").stats();
+
+        assertTrue(getTaskStates().isEmpty());
+        assertTrue(getTaskStates().isEmpty());
+
+        CacheStats after = nativeCache("taskStates").stats().minus(before);
+        assertEquals(1, after.hitCount());
+        assertEquals(1, after.missCount());
+
+        transactionTemplate.executeWithoutResult(status -> taskStateService.createTaskState(projectId, "To do"));
+
+        assertEquals(List.of("To do"), getTaskStates().stream().map(TaskStateDto::getName).toList());
+    }
+
+    @Test
+    void testEvict_InsideTransaction_ShouldApplyAfterCommit() {
+        getTaskStates();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cacheManager.getCache("taskStates").evict(projectId);
+            assertNotNull(nativeCache("taskStates").getIfPresent(projectId));
+        });
+
+        assertNull(nativeCache("taskStates").getIfPresent(projectId));
+    }
+
+    @Test
+    void testGetCacheStats_ShouldIncludeManagedAndPermissionCaches() {
+        long hitsBefore = nativeCache("taskStates").stats().hitCount();
+
+        getTaskStates();
+        getTaskStates();
+
+        List<CacheStatsDto> stats = cacheStatsService.getCacheStats();
+
+        CacheStatsDto taskStates = stats.stream()
+                .filter(cache -> cache.getName().equals("taskStates"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1L, taskStates.getSize());
+        assertEquals(hitsBefore + 1, taskStates.getHitCount());
+        assertTrue(stats.stream().anyMatch(cache -> cache.getName().equals("projectRoles")));
+    }
+
+    private List<TaskStateDto> getTaskStates() {
+        return transactionTemplate.execute(status -> taskStateService.getTaskStates(projectId));
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        TransactionAwareCacheDecorator cache = (TransactionAwareCacheDecorator) cacheManager.getCache(name);
+        return ((CaffeineCache) cache.getTargetCache()).getNativeCache();
+    }
+}
@@ -0,0 +1,187 @@
+package by.sirius.task.tracker.core.cache;
+
+import by.sirius.task.tracker.core.security.CustomUserDetailsService;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
+import by.sirius.task.tracker.store.entities.RoleEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
+import by.sirius.task.tracker.store.repositories.RoleRepository;
+import by.sirius.task.tracker.store.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CacheConfig.class, ServiceHelper.class, CustomUserDetailsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ServiceHelper serviceHelper;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectRoleRepository projectRoleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            RoleEntity userRole = roleRepository.save(RoleEntity.builder().name("ROLE_USER").build());
+            RoleEntity adminRole = roleRepository.save(RoleEntity.builder().name("ROLE_ADMIN").build());
+
+            UserEntity user = userRepository.save(UserEntity.builder()
+                    .username("l2-user")
+                    .email("l2@example.com")
+                    .enabled(true)
+                    .roles(new ArrayList<>(List.of(adminRole)))
+                    .build());
+
+            ProjectEntity project = projectRepository.save(ProjectEntity.builder().name("l2").admin(user).build());
+            projectRoleRepository.save(ProjectRoleEntity.builder().user(user).project(project).role(userRole).build());
+            projectId = project.getId();
+        });
+
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            projectRoleRepository.deleteAll();
+            projectRepository.deleteAll();
+            userRepository.deleteAll();
+            roleRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void testUserLookup_ShouldBeServedFromNaturalIdCache() {
+        long cold = statementsFor(() -> serviceHelper.getUserOrThrowException("l2-user"));
+        long warm = statementsFor(() -> serviceHelper.getUserOrThrowException("l2-user"));
+
+        assertTrue(cold > 0);
+        assertEquals(0, warm, "user lookup: " + cold + " statements cold, " + warm + " warm");
+    }
+
+    @Test
+    void testRoleLookup_ShouldBeServedFromNaturalIdCache() {
+        long cold = statementsFor(() -> {
+            serviceHelper.getUserRoleOrThrowException();
+            serviceHelper.getAdminRoleOrThrowException();
+        });
+        long warm = statementsFor(() -> {
+            serviceHelper.getUserRoleOrThrowException();
+            serviceHelper.getAdminRoleOrThrowException();
+        });
+
+        assertEquals(2, cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    void testNaturalIdLookup_OutsideTransaction_ShouldWork() {
+        assertTrue(roleRepository.findByName("ROLE_USER").isPresent());
+        assertTrue(userRepository.findByUsername("l2-user").isPresent());
+    }
+
+    @Test
+    void testLoadUserByUsername_ShouldServeUserAndRolesFromCache() {
+        long cold = statementsFor(() -> customUserDetailsService.loadUserByUsername("l2-user"));
+        long warm = statementsFor(() -> customUserDetailsService.loadUserByUsername("l2-user"));
+
+        assertTrue(cold > 0);
+        assertEquals(0, warm, "user details: " + cold + " statements cold, " + warm + " warm");
+    }
+
+    @Test
+    void testFindRoleName_ShouldBeServedFromQueryCache() {
+        long cold = statementsFor(() -> projectRoleRepository.findRoleName("l2-user", projectId));
+        long warm = statementsFor(() -> projectRoleRepository.findRoleName("l2-user", projectId));
+
+        assertEquals(1, cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    void testUserRoles_AfterUpdate_ShouldNotBeStale() {
+        customUserDetailsService.loadUserByUsername("l2-user");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity user = serviceHelper.getUserOrThrowException("l2-user");
+            user.getRoles().add(serviceHelper.getUserRoleOrThrowException());
+        });
+
+        Set<String> authorities = transactionTemplate.execute(status -> customUserDetailsService
+                .loadUserByUsername("l2-user")
+                .getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), authorities);
+    }
+
+    @Test
+    void testFindRoleName_AfterMembershipChange_ShouldNotBeStale() {
+        assertTrue(projectRoleRepository.findRoleName("l2-user", projectId).isPresent());
+
+        transactionTemplate.executeWithoutResult(status -> projectRoleRepository.deleteAll());
+
+        assertTrue(projectRoleRepository.findRoleName("l2-user", projectId).isEmpty());
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> action.run());
+        return statistics.getPrepareStatementCount();
+    }
+}
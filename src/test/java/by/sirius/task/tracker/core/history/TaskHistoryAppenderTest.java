@@ -0,0 +1,150 @@
+package by.sirius.task.tracker.core.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHistoryAppenderTest {
+
+    @Mock
+    private TaskHistoryWriter writer;
+
+    @TempDir
+    private Path tempDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskHistoryAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null) {
+            appender.stop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testAppend_WhenSync_ShouldWriteInCallerTransaction() {
+        appender = appender(HistoryDurability.SYNC, 10);
+        appender.start();
+
+        TaskHistoryEvent event = event("sync");
+        appender.append(event);
+
+        verify(writer).writeNow(event);
+        assertFalse(appender.isRunning());
+    }
+
+    @Test
+    void testAppend_WhenAsync_ShouldWriteOnlyAfterCommit() {
+        appender = appender(HistoryDurability.ASYNC, 10);
+        appender.start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        appender.append(event("first"));
+        appender.append(event("second"));
+
+        verify(writer, after(200).never()).write(anyList());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(writer, timeout(2000).atLeastOnce()).write(anyList());
+        verify(writer, never()).writeNow(any());
+    }
+
+    @Test
+    void testAppend_WhenRolledBack_ShouldNotWrite() {
+        appender = appender(HistoryDurability.ASYNC, 10);
+        appender.start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        appender.append(event("rolled back"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(writer, after(200).never()).write(anyList());
+    }
+
+    @Test
+    void testAppend_WhenBufferIsFull_ShouldWriteOnCallerThread() {
+        appender = appender(HistoryDurability.ASYNC, 1);
+
+        appender.append(event("not started"));
+
+        verify(writer).write(List.of(event("not started")));
+        assertEquals(1, meterRegistry.counter("tasktracker.history.events", "outcome", "CALLER_RUNS").count());
+    }
+
+    @Test
+    void testAppend_WhenBufferIsFullWithSpill_ShouldSpillAndReplay() {
+        appender = appender(HistoryDurability.ASYNC_SPILL, 1);
+
+        appender.append(event("spilled"));
+
+        verifyNoInteractions(writer);
+        assertTrue(Files.exists(tempDir.resolve("history.jsonl")));
+
+        appender.replaySpilled();
+
+        verify(writer).write(List.of(event("spilled")));
+        assertFalse(Files.exists(tempDir.resolve("history.jsonl")));
+        assertEquals(1, meterRegistry.counter("tasktracker.history.events", "outcome", "REPLAYED").count());
+    }
+
+    @Test
+    void testFlush_WhenDatabaseFails_ShouldSpillAndKeepSpilledEvents() {
+        doThrow(new DataAccessResourceFailureException("database is down")).when(writer).write(anyList());
+        appender = appender(HistoryDurability.ASYNC_SPILL, 10);
+        appender.start();
+
+        appender.append(event("failed"));
+
+        verify(writer, timeout(2000).times(2)).write(anyList());
+        appender.stop();
+
+        appender.replaySpilled();
+        assertTrue(Files.exists(tempDir.resolve("history.jsonl")));
+        assertEquals(1, meterRegistry.counter("tasktracker.history.events", "outcome", "SPILLED").count());
+    }
+
+    private TaskHistoryAppender appender(HistoryDurability durability, int capacity) {
+        return new TaskHistoryAppender(writer, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                durability, capacity, 50, Duration.ofMillis(10), Duration.ofMillis(50),
+                tempDir.resolve("history.jsonl").toString());
+    }
+
+    private TaskHistoryEvent event(String newValue) {
+        return TaskHistoryEvent.builder()
+                .taskId(1L)
+                .username("history-user")
+                .changeType("EDIT")
+                .fieldName("name")
+                .newValue(newValue)
+                .changedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskHistoryArchiveTest {
+
+    private static final Instant JANUARY = Instant.parse("2024-01-10T10:00:00.123456Z");
+    private static final Instant FEBRUARY = Instant.parse("2024-02-10T10:00:00Z");
+
+    @TempDir
+    private Path tempDir;
+
+    private TaskHistoryArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new TaskHistoryArchive(tempDir.toString());
+    }
+
+    @Test
+    void testRead_ShouldContinueAcrossMonthsInOrder() {
+        archive.write(YearMonth.of(2024, 2), Stream.of(row(3L, 1L, "ASSIGN", FEBRUARY)));
+        archive.write(YearMonth.of(2024, 1), Stream.of(
+                row(1L, 1L, "EDIT", JANUARY),
+                row(4L, 1L, "EDIT", JANUARY),
+                row(2L, 2L, "EDIT", JANUARY)));
+
+        assertEquals(List.of(1L, 4L, 3L), ids(archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, null, null, 10)));
+        assertEquals(List.of(4L, 3L), ids(archive.read(1L, JANUARY, 1L, null, null, 10)));
+        assertEquals(List.of(1L), ids(archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, null, null, 1)));
+        assertEquals(List.of(1L, 4L), ids(archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, FEBRUARY, null, 10)));
+        assertEquals(List.of(3L), ids(archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, null, "ASSIGN", 10)));
+        assertEquals(JANUARY, archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, null, null, 1).get(0).changedAt());
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), archive.getHorizon().orElseThrow());
+    }
+
+    @Test
+    void testRead_ShouldOnlyInflateRowsOfTheTask() throws Exception {
+        archive.write(YearMonth.of(2024, 1), Stream.of(
+                row(1L, 1L, "EDIT", JANUARY),
+                row(2L, 2L, "EDIT", JANUARY),
+                row(3L, null, "DELETE", JANUARY)));
+
+        // The whole file is still one gzip stream of every row
+        Path file = tempDir.resolve("task_history_2024_01.jsonl.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            assertEquals(3, reader.lines().count());
+        }
+
+        // Breaks the members after the first one, which reading the first task must not touch
+        byte[] bytes = Files.readAllBytes(file);
+        Arrays.fill(bytes, bytes.length - 8, bytes.length, (byte) 0);
+        Files.write(file, bytes);
+
+        assertEquals(List.of(1L), ids(archive.read(1L, Instant.EPOCH, Long.MIN_VALUE, null, null, 10)));
+        assertTrue(archive.read(5L, Instant.EPOCH, Long.MIN_VALUE, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void testRead_WhenMonthHasNoIndex_ShouldReadWholeFile() throws Exception {
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(tempDir.resolve("task_history_2024_01.jsonl.gz"))), StandardCharsets.UTF_8))) {
+            writer.write("{\"id\":1,\"taskId\":1,\"changeType\":\"EDIT\",\"changedAt\":\"2024-01-10T10:00:00Z\"}\n");
+            writer.write("{\"id\":2,\"taskId\":2,\"changeType\":\"EDIT\",\"changedAt\":\"2024-01-10T10:00:00Z\"}\n");
+        }
+
+        assertEquals(List.of(2L), ids(archive.read(2L, Instant.EPOCH, Long.MIN_VALUE, null, null, 10)));
+    }
+
+    @Test
+    void testWrite_WhenRowsAreNotOrderedByTask_ShouldThrowException() {
+        Stream<TaskHistoryView> rows = Stream.of(
+                row(1L, 2L, "EDIT", JANUARY),
+                row(2L, 1L, "EDIT", JANUARY));
+
+        assertThrows(IllegalArgumentException.class, () -> archive.write(YearMonth.of(2024, 1), rows));
+        assertTrue(archive.getHorizon().isEmpty());
+    }
+
+    @Test
+    void testWrite_WhenMonthIsEmpty_ShouldLeaveNoFile() throws Exception {
+        assertEquals(0, archive.write(YearMonth.of(2024, 1), Stream.empty()));
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+        assertTrue(archive.getHorizon().isEmpty());
+    }
+
+    private TaskHistoryView row(Long id, Long taskId, String changeType, Instant changedAt) {
+        return new TaskHistoryView(id, taskId, "history-user", changeType, "name", "old", "new", changedAt);
+    }
+
+    private List<Long> ids(List<TaskHistoryView> rows) {
+        return rows.stream().map(TaskHistoryView::id).toList();
+    }
+}
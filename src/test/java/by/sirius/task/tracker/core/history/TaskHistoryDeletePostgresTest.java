@@ -0,0 +1,155 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.migrations.TaskHistoryPartitionMigration;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A history batch and a task delete in separate transactions, the way the write-behind writer runs them
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskHistoryWriter.class, TaskHistoryPartitionMigration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskHistoryDeletePostgresTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "task_history_delete");
+    }
+
+    @Autowired
+    private TaskHistoryWriter writer;
+
+    @Autowired
+    private TaskHistoryPartitionMigration taskHistoryPartitionMigration;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM task_history");
+        taskRepository.deleteAll();
+        taskStateRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void testDelete_WhenBatchCommitsBeforeDelete_ShouldDetachHistory() {
+        TaskEntity task = saveTask();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TaskEntity toDelete = taskRepository.findById(task.getId()).orElseThrow();
+
+            writer.write(List.of(event(task.getId(), "first"), event(task.getId(), "second")));
+
+            taskRepository.delete(toDelete);
+            taskRepository.flush();
+        });
+
+        assertFalse(taskRepository.existsById(task.getId()));
+        assertEquals(List.of("first", "second"), jdbcTemplate.queryForList(
+                "SELECT new_value FROM task_history WHERE task_id IS NULL ORDER BY new_value", String.class));
+    }
+
+    @Test
+    void testWrite_WhenDeleteCommitsDuringBatch_ShouldKeepHistoryOnRetry() {
+        TaskEntity task = saveTask();
+        List<TaskHistoryEvent> batch = List.of(event(task.getId(), "racing"));
+
+        // The batch still sees the task, its insert waits on the delete's row lock and fails once that commits
+        CompletableFuture<Void> blockedWrite = new TransactionTemplate(transactionManager).execute(status -> {
+            taskRepository.deleteById(task.getId());
+            taskRepository.flush();
+
+            CompletableFuture<Void> write = CompletableFuture.runAsync(() -> writer.write(batch));
+            assertThrows(TimeoutException.class, () -> write.get(500, TimeUnit.MILLISECONDS));
+            return write;
+        });
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> blockedWrite.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+
+        // What TaskHistoryAppender does next
+        writer.write(batch);
+
+        assertEquals(List.of("racing"), jdbcTemplate.queryForList(
+                "SELECT new_value FROM task_history WHERE task_id IS NULL", String.class));
+    }
+
+    @Test
+    void testRun_WhenForeignKeyRestrictsDelete_ShouldRecreateItWithSetNull() {
+        jdbcTemplate.execute("ALTER TABLE task_history DROP CONSTRAINT task_history_task_id_fkey");
+        jdbcTemplate.execute("ALTER TABLE task_history ADD CONSTRAINT fk_task_history_task "
+                + "FOREIGN KEY (task_id) REFERENCES tasks (id)");
+
+        taskHistoryPartitionMigration.run();
+
+        assertEquals(List.of("n"), jdbcTemplate.queryForList("""
+                SELECT con.confdeltype FROM pg_constraint con
+                JOIN pg_class c ON c.oid = con.conrelid
+                WHERE c.relname = 'task_history' AND con.contype = 'f'
+                """, String.class));
+    }
+
+    private TaskEntity saveTask() {
+        ProjectEntity project = projectRepository.save(ProjectEntity.builder().name("history " + System.nanoTime()).build());
+        TaskStateEntity taskState = taskStateRepository.save(
+                TaskStateEntity.builder().name("To do").project(project).build());
+        return taskRepository.save(TaskEntity.builder()
+                .name("Task")
+                .rank(TaskRankHelper.RANK_STEP)
+                .taskState(taskState)
+                .build());
+    }
+
+    private TaskHistoryEvent event(Long taskId, String newValue) {
+        return TaskHistoryEvent.builder()
+                .taskId(taskId)
+                .username("writer-user")
+                .changeType("EDIT")
+                .fieldName("name")
+                .newValue(newValue)
+                .build();
+    }
+}
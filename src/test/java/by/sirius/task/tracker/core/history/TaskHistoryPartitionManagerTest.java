@@ -0,0 +1,104 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import by.sirius.task.tracker.store.entities.TaskHistoryEntity;
+import by.sirius.task.tracker.store.migrations.TaskHistoryPartitionMigration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "task-tracker.history.partitions.premake-months=1",
+        "task-tracker.history.partitions.retention-months=2",
+        "task-tracker.history.partitions.archive-dir=build/tmp/task-history-partition-manager"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskHistoryPartitionMigration.class, TaskHistoryPartitionManager.class, TaskHistoryArchive.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskHistoryPartitionManagerTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "task_history_partitions");
+    }
+
+    @Autowired
+    private TaskHistoryPartitionManager taskHistoryPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM task_history");
+    }
+
+    @Test
+    void testInsert_WhenNoMonthlyPartitionCoversRow_ShouldLandInDefaultPartition() {
+        insertHistory(current.plusMonths(6), "future");
+        insertHistory(current.minusMonths(6), "past");
+
+        assertEquals(List.of(TaskHistoryEntity.DEFAULT_PARTITION, TaskHistoryEntity.DEFAULT_PARTITION),
+                partitionsOf("future", "past"));
+    }
+
+    @Test
+    void testMaintainPartitions_ShouldMoveRowsOutOfDefaultPartition() {
+        YearMonth future = current.plusMonths(5);
+        YearMonth past = current.minusMonths(6);
+        insertHistory(future, "future");
+        insertHistory(past, "past");
+        insertHistory(current, "current");
+
+        taskHistoryPartitionManager.maintainPartitions();
+
+        assertEquals(List.of(
+                        TaskHistoryPartitionMigration.partitionName(current),
+                        TaskHistoryPartitionMigration.partitionName(future),
+                        TaskHistoryEntity.DEFAULT_PARTITION),
+                partitionsOf("current", "future", "past"));
+        assertEquals(1, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE c.relname = ?
+                """, Integer.class, TaskHistoryPartitionMigration.partitionName(future)));
+
+        // The moved rows keep the table's indexes and foreign key, and later rows of the month go there too
+        insertHistory(future, "later");
+        assertEquals(List.of(TaskHistoryPartitionMigration.partitionName(future)), partitionsOf("later"));
+        assertEquals(1, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_constraint con JOIN pg_class c ON c.oid = con.conrelid
+                WHERE c.relname = ? AND con.contype = 'f'
+                """, Integer.class, TaskHistoryPartitionMigration.partitionName(future)));
+    }
+
+    private void insertHistory(YearMonth month, String newValue) {
+        jdbcTemplate.update("""
+                INSERT INTO task_history (id, username, change_type, new_value, changed_at)
+                VALUES (nextval('task_history_seq'), 'partition-user', 'EDIT', ?, ?)
+                """, newValue, Timestamp.from(month.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    private List<String> partitionsOf(String... newValues) {
+        return jdbcTemplate.queryForList("""
+                SELECT tableoid::regclass::text FROM task_history
+                WHERE new_value = ANY (?) ORDER BY array_position(?, new_value)
+                """, String.class, newValues, newValues);
+    }
+}
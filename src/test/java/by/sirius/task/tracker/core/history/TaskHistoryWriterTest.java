@@ -0,0 +1,90 @@
+package by.sirius.task.tracker.core.history;
+
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.TaskHistoryRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(TaskHistoryWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskHistoryWriterTest {
+
+    @Autowired
+    private TaskHistoryWriter writer;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        taskHistoryRepository.deleteAll();
+        taskRepository.deleteAll();
+        taskStateRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void testWrite_ShouldWriteBatchAndDetachDeletedTasks() {
+        ProjectEntity project = projectRepository.save(ProjectEntity.builder().name("writer").build());
+        TaskStateEntity taskState = taskStateRepository.save(
+                TaskStateEntity.builder().name("To do").project(project).build());
+        TaskEntity task = taskRepository.save(TaskEntity.builder()
+                .name("Task")
+                .rank(TaskRankHelper.RANK_STEP)
+                .taskState(taskState)
+                .build());
+
+        List<TaskHistoryEvent> events = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            events.add(event(task.getId(), "value " + i));
+        }
+        events.add(event(-1L, "deleted task"));
+
+        writer.write(events);
+
+        assertEquals(120, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_history WHERE task_id = ?", Integer.class, task.getId()));
+        assertEquals("deleted task", jdbcTemplate.queryForObject(
+                "SELECT new_value FROM task_history WHERE task_id IS NULL", String.class));
+    }
+
+    private TaskHistoryEvent event(Long taskId, String newValue) {
+        return TaskHistoryEvent.builder()
+                .taskId(taskId)
+                .username("writer-user")
+                .changeType("EDIT")
+                .fieldName("name")
+                .newValue(newValue)
+                .build();
+    }
+}
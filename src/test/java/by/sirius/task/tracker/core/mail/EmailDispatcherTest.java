@@ -0,0 +1,160 @@
+package by.sirius.task.tracker.core.mail;
+
+import by.sirius.task.tracker.core.services.EmailService;
+import by.sirius.task.tracker.store.entities.EmailOutboxEntity;
+import by.sirius.task.tracker.store.entities.EmailStatus;
+import by.sirius.task.tracker.store.repositories.EmailOutboxRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "task-tracker.email.batch-size=4",
+        "task-tracker.email.max-connections=2",
+        "task-tracker.email.max-attempts=2",
+        "task-tracker.email.dispatch-initial-delay=PT1H"
+})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+@Import({EmailService.class, EmailDispatcher.class, SmtpConnectionPool.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private SmtpConnectionPool connectionPool;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void testDispatch_ShouldSendBatchesOverPooledConnections() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                emailService.sendEmail("user" + i + "@example.com", "Subject " + i, "Body " + i);
+            }
+        });
+        long openedBefore = connectionPool.getOpenedConnections();
+        long sentBefore = meterRegistry.timer("tasktracker.email.send", "outcome", "SUCCESS").count();
+
+        emailDispatcher.dispatchPendingEmails();
+
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertEquals(10, meterRegistry.timer("tasktracker.email.send", "outcome", "SUCCESS").count() - sentBefore);
+        assertTrue(emailOutboxRepository.findAll().stream().allMatch(email -> email.getStatus() == EmailStatus.SENT));
+        assertTrue(connectionPool.getOpenedConnections() - openedBefore <= 2);
+    }
+
+    @Test
+    void testSendEmail_WhenTransactionRollsBack_ShouldNotSend() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("user@example.com", "Subject", "Body");
+            status.setRollbackOnly();
+        });
+
+        emailDispatcher.dispatchPendingEmails();
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    @Test
+    void testDispatch_WhenSmtpUnavailable_ShouldRetryWithBackoffAndGiveUp() {
+        greenMail.stop();
+        emailService.sendEmail("user@example.com", "Subject", "Body");
+
+        emailDispatcher.dispatchPendingEmails();
+
+        EmailOutboxEntity email = singleEmail();
+        assertEquals(EmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(Instant.now()));
+
+        emailDispatcher.dispatchPendingEmails();
+        assertEquals(1, singleEmail().getAttempts());
+
+        email.setNextAttemptAt(Instant.now());
+        emailOutboxRepository.save(email);
+        emailDispatcher.dispatchPendingEmails();
+
+        email = singleEmail();
+        assertEquals(EmailStatus.FAILED, email.getStatus());
+        assertEquals(2, email.getAttempts());
+
+        greenMail.start();
+    }
+
+    @Test
+    void testDispatch_AfterServerRestart_ShouldReconnect() {
+        emailService.sendEmail("first@example.com", "Subject", "Body");
+        emailDispatcher.dispatchPendingEmails();
+
+        greenMail.stop();
+        greenMail.start();
+
+        emailService.sendEmail("second@example.com", "Subject", "Body");
+        emailDispatcher.dispatchPendingEmails();
+
+        List<EmailStatus> statuses = emailOutboxRepository.findAll().stream().map(EmailOutboxEntity::getStatus).toList();
+        assertEquals(List.of(EmailStatus.SENT, EmailStatus.SENT), statuses);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    private EmailOutboxEntity singleEmail() {
+        List<EmailOutboxEntity> emails = emailOutboxRepository.findAll();
+        assertEquals(1, emails.size());
+        return emails.get(0);
+    }
+}
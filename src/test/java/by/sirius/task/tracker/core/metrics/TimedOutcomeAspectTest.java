@@ -0,0 +1,74 @@
+package by.sirius.task.tracker.core.metrics;
+
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedOutcomeAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TimedService timedService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedService());
+        proxyFactory.addAspect(new TimedOutcomeAspect(meterRegistry));
+        timedService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testTime_WhenMethodSucceeds_ShouldTagSuccess() {
+        timedService.succeed();
+
+        Timer timer = meterRegistry.get("test.operations")
+                .tags("class", "TimedService", "method", "succeed", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testTime_WhenBadRequest_ShouldTagClientError() {
+        assertThrows(BadRequestException.class, timedService::rejectRequest);
+
+        assertEquals(1, meterRegistry.get("test.operations")
+                .tags("outcome", "CLIENT_ERROR", "exception", "BadRequestException")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void testTime_WhenUnexpectedException_ShouldTagServerError() {
+        assertThrows(IllegalStateException.class, timedService::fail);
+
+        assertEquals(1, meterRegistry.get("test.operations")
+                .tags("method", "fail", "outcome", "SERVER_ERROR")
+                .timer()
+                .count());
+    }
+
+    static class TimedService {
+
+        @Timed("test.operations")
+        public void succeed() {
+        }
+
+        @Timed("test.operations")
+        public void rejectRequest() {
+            throw new BadRequestException("Rejected", HttpStatus.BAD_REQUEST);
+        }
+
+        @Timed("test.operations")
+        public void fail() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package by.sirius.task.tracker.core.security;
+
+import by.sirius.task.tracker.store.entities.RoleEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(100);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtRequestFilter jwtRequestFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtRequestFilter = new JwtRequestFilter(jwtTokenUtil, userStatusCache, customUserDetailsService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_ShouldBuildPrincipalFromClaims() throws Exception {
+        String token = jwtTokenUtil.generateToken(
+                User.withUsername("testUser").password("").authorities("ROLE_ADMIN").build());
+        when(userStatusCache.isActive("testUser")).thenReturn(true);
+
+        jwtRequestFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testUser", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(customUserDetailsService);
+        verify(filterChain).doFilter(any(), any());
+        assertEquals(1, meterRegistry.timer("tasktracker.auth.jwt", "outcome", "AUTHENTICATED").count());
+    }
+
+    @Test
+    void testDoFilter_WhenUserIsDisabled_ShouldNotAuthenticate() throws Exception {
+        String token = jwtTokenUtil.generateToken(
+                User.withUsername("testUser").password("").authorities("ROLE_USER").build());
+        when(userStatusCache.isActive("testUser")).thenReturn(false);
+
+        jwtRequestFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(any(), any());
+        assertEquals(1, meterRegistry.timer("tasktracker.auth.jwt", "outcome", "REJECTED").count());
+    }
+
+    @Test
+    void testDoFilter_WhenTokenIsInvalid_ShouldNotAuthenticate() throws Exception {
+        jwtRequestFilter.doFilter(requestWithToken("not-a-token"), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userStatusCache, customUserDetailsService);
+        verify(filterChain).doFilter(any(), any());
+        assertEquals(1, meterRegistry.timer("tasktracker.auth.jwt", "outcome", "INVALID").count());
+    }
+
+    @Test
+    void testDoFilter_WhenStatelessPrincipalDisabled_ShouldLoadUser() throws Exception {
+        ReflectionTestUtils.setField(jwtRequestFilter, "statelessPrincipal", false);
+
+        UserEntity user = UserEntity.builder()
+                .username("testUser")
+                .enabled(true)
+                .roles(List.of(RoleEntity.builder().name("ROLE_USER").build()))
+                .build();
+        String token = jwtTokenUtil.generateToken(new CustomUserDetails(user));
+        when(customUserDetailsService.loadUserByUsername("testUser")).thenReturn(new CustomUserDetails(user));
+
+        jwtRequestFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), filterChain);
+
+        assertEquals("testUser", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(customUserDetailsService).loadUserByUsername("testUser");
+        verifyNoInteractions(userStatusCache);
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package by.sirius.task.tracker.core.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenUtilTest {
+
+    private static final String LEGACY_SECRET = "984hg493gh0439rShr0429urWj2309yh937gc763fe87t3f89723gf";
+
+    // What the deprecated signWith(SignatureAlgorithm, String) did with the secret: Base64-decode it
+    private static final Key LEGACY_KEY = new SecretKeySpec(
+            Decoders.BASE64.decode(LEGACY_SECRET), SignatureAlgorithm.HS256.getJcaName());
+
+    private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(100);
+
+    @Test
+    void testVerifyToken_ShouldReturnClaims() {
+        String token = jwtTokenUtil.generateToken(
+                User.withUsername("testUser").password("").authorities("ROLE_USER", "ROLE_ADMIN").build());
+
+        VerifiedToken verifiedToken = jwtTokenUtil.verifyToken(token);
+
+        assertEquals("testUser", verifiedToken.username());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), Set.copyOf(verifiedToken.roles()));
+        assertTrue(verifiedToken.expiresAt().isAfter(new Date().toInstant()));
+    }
+
+    @Test
+    void testVerifyToken_ShouldReuseVerifiedToken() {
+        String token = jwtTokenUtil.generateToken(
+                User.withUsername("testUser").password("").authorities("ROLE_USER").build());
+
+        assertSame(jwtTokenUtil.verifyToken(token), jwtTokenUtil.verifyToken(token));
+    }
+
+    @Test
+    void testVerifyToken_ShouldAcceptTokensSignedWithLegacySecret() {
+        String token = Jwts.builder()
+                .setSubject("testUser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(LEGACY_KEY, SignatureAlgorithm.HS256)
+                .compact();
+
+        VerifiedToken verifiedToken = jwtTokenUtil.verifyToken(token);
+
+        assertEquals("testUser", verifiedToken.username());
+        assertNull(verifiedToken.roles());
+    }
+
+    @Test
+    void testVerifyToken_WhenSignatureIsTampered_ShouldThrowException() {
+        String token = jwtTokenUtil.generateToken(
+                User.withUsername("testUser").password("").authorities("ROLE_USER").build());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtTokenUtil.verifyToken(tampered));
+    }
+
+    @Test
+    void testVerifyToken_WhenExpired_ShouldThrowException() {
+        String token = Jwts.builder()
+                .setSubject("testUser")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(LEGACY_KEY, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenUtil.verifyToken(token));
+    }
+}
@@ -0,0 +1,34 @@
+package by.sirius.task.tracker.core.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    @Test
+    void testOnManagementPort_ShouldOnlyMatchScrapesOnManagementPort() {
+        RequestMatcher matcher = SecurityConfig.onManagementPort(8081, "/actuator/prometheus");
+
+        assertTrue(matcher.matches(request(8081, "/actuator/prometheus")));
+        assertFalse(matcher.matches(request(8080, "/actuator/prometheus")));
+        assertFalse(matcher.matches(request(8081, "/actuator/metrics")));
+    }
+
+    @Test
+    void testOnManagementPort_WhenManagementSharesServerPort_ShouldMatchNothing() {
+        RequestMatcher matcher = SecurityConfig.onManagementPort(-1, "/actuator/prometheus");
+
+        assertFalse(matcher.matches(request(-1, "/actuator/prometheus")));
+        assertFalse(matcher.matches(request(8080, "/actuator/prometheus")));
+    }
+
+    private static MockHttpServletRequest request(int localPort, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
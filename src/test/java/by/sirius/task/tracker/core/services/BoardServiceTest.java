@@ -0,0 +1,200 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.BoardChangesDto;
+import by.sirius.task.tracker.api.dto.BoardDto;
+import by.sirius.task.tracker.api.dto.TaskDto;
+import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.entities.BoardChangeEntity;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.BoardItemType;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BoardService.class, TaskDtoFactory.class, TaskStateDtoFactory.class})
+class BoardServiceTest {
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGetBoard_QueryCountDoesNotGrowWithBoardSize() {
+        Long smallProjectId = seedBoard("small", 2, 2);
+        Long largeProjectId = seedBoard("large", 8, 25);
+
+        long smallBoardStatements = countStatements(() -> boardService.getBoard(smallProjectId));
+        long largeBoardStatements = countStatements(() -> boardService.getBoard(largeProjectId));
+
+        assertEquals(smallBoardStatements, largeBoardStatements);
+        assertTrue(largeBoardStatements <= 3, "Board snapshot issued " + largeBoardStatements + " statements");
+    }
+
+    @Test
+    void testGetBoard_ShouldReturnStatesAndTasksInOrder() {
+        Long projectId = seedBoard("ordered", 3, 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        BoardDto board = boardService.getBoard(projectId);
+
+        assertEquals(projectId, board.getProjectId());
+        assertEquals(List.of("State 0", "State 1", "State 2"),
+                board.getTaskStates().stream().map(TaskStateDto::getName).toList());
+
+        TaskStateDto firstState = board.getTaskStates().get(0);
+        assertEquals(List.of("Task 0-2", "Task 0-1", "Task 0-0"),
+                firstState.getTasks().stream().map(TaskDto::getName).toList());
+        assertEquals("ordered-user", firstState.getTasks().get(0).getAssignedUser());
+    }
+
+    @Test
+    void testGetBoard_WhenProjectNotFound_ShouldThrowException() {
+        assertThrows(NotFoundException.class, () -> boardService.getBoard(-1L));
+    }
+
+    @Test
+    void testGetChanges_ShouldReturnItemsChangedSinceVersion() {
+        Long projectId = seedBoard("delta", 2, 2);
+        BoardDto board = boardService.getBoard(projectId);
+        TaskStateDto firstState = board.getTaskStates().get(0);
+        TaskDto movedTask = board.getTaskStates().get(1).getTasks().get(0);
+
+        recordChange(projectId, 1, BoardItemType.TASK, firstState.getTasks().get(0).getId(), BoardChangeType.UPDATED);
+        recordChange(projectId, 2, BoardItemType.TASK, movedTask.getId(), BoardChangeType.MOVED);
+        recordChange(projectId, 2, BoardItemType.TASK, -1L, BoardChangeType.CREATED);
+        recordChange(projectId, 3, BoardItemType.TASK, -2L, BoardChangeType.DELETED);
+        recordChange(projectId, 3, BoardItemType.TASK_STATE, firstState.getId(), BoardChangeType.UPDATED);
+        setVersions(projectId, 3, 0);
+
+        BoardChangesDto changes = boardService.getChanges(projectId, 1);
+
+        assertFalse(changes.getResyncRequired());
+        assertEquals(3, changes.getVersion());
+        assertEquals(List.of(movedTask.getId()), changes.getTasks().stream().map(TaskDto::getId).toList());
+        assertEquals(board.getTaskStates().get(1).getId(), changes.getTasks().get(0).getTaskStateId());
+        assertEquals(List.of(firstState.getId()), changes.getTaskStates().stream().map(TaskStateDto::getId).toList());
+        assertNull(changes.getTaskStates().get(0).getTasks());
+        assertEquals(List.of(-1L, -2L), changes.getDeletedTaskIds());
+        assertTrue(changes.getDeletedTaskStateIds().isEmpty());
+    }
+
+    @Test
+    void testGetChanges_WhenClientIsTooFarBehind_ShouldRequireResync() {
+        Long projectId = seedBoard("behind", 1, 1);
+        setVersions(projectId, 5, 3);
+
+        assertTrue(boardService.getChanges(projectId, 2).getResyncRequired());
+        assertTrue(boardService.getChanges(projectId, 6).getResyncRequired());
+        assertFalse(boardService.getChanges(projectId, 3).getResyncRequired());
+
+        BoardChangesDto upToDate = boardService.getChanges(projectId, 5);
+        assertFalse(upToDate.getResyncRequired());
+        assertEquals(5, upToDate.getVersion());
+        assertTrue(upToDate.getTasks().isEmpty());
+    }
+
+    @Test
+    void testGetChanges_WhenProjectNotFound_ShouldThrowException() {
+        assertThrows(NotFoundException.class, () -> boardService.getChanges(-1L, 0));
+    }
+
+    private Long seedBoard(String name, int taskStateCount, int tasksPerState) {
+        UserEntity user = entityManager.persist(UserEntity.builder()
+                .username(name + "-user")
+                .email(name + "@example.com")
+                .enabled(true)
+                .build());
+
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder()
+                .name(name)
+                .admin(user)
+                .build());
+
+        List<TaskStateEntity> taskStates = new ArrayList<>();
+        for (int i = 0; i < taskStateCount; i++) {
+            TaskStateEntity taskState = entityManager.persist(TaskStateEntity.builder()
+                    .name("State " + i)
+                    .project(project)
+                    .build());
+
+            if (!taskStates.isEmpty()) {
+                TaskStateEntity leftTaskState = taskStates.get(taskStates.size() - 1);
+                leftTaskState.setRightTaskState(taskState);
+                taskState.setLeftTaskState(leftTaskState);
+            }
+            taskStates.add(taskState);
+
+            for (int j = 0; j < tasksPerState; j++) {
+                entityManager.persist(TaskEntity.builder()
+                        .name("Task " + i + "-" + j)
+                        .rank((tasksPerState - j) * TaskRankHelper.RANK_STEP)
+                        .taskState(taskState)
+                        .assignedUser(user)
+                        .build());
+            }
+        }
+
+        return project.getId();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        action.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void recordChange(Long projectId, long version, BoardItemType itemType, Long itemId,
+                              BoardChangeType changeType) {
+        entityManager.persist(BoardChangeEntity.builder()
+                .projectId(projectId)
+                .version(version)
+                .itemType(itemType)
+                .itemId(itemId)
+                .changeType(changeType)
+                .build());
+    }
+
+    private void setVersions(Long projectId, long version, long horizon) {
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE projects SET board_version = ?, change_log_horizon = ? WHERE id = ?",
+                version, horizon, projectId);
+    }
+}
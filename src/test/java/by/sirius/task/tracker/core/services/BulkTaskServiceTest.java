@@ -0,0 +1,303 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.BulkTaskOperationDto;
+import by.sirius.task.tracker.api.dto.BulkTaskOperationResultDto;
+import by.sirius.task.tracker.api.dto.BulkTaskOperationType;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryAppender;
+import by.sirius.task.tracker.core.history.TaskHistoryEvent;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BulkTaskService.class, TaskDtoFactory.class, TaskRankHelper.class, PermissionCache.class,
+        BoardChangeRecorder.class, BoardVersionTracker.class})
+class BulkTaskServiceTest {
+
+    @Autowired
+    private BulkTaskService bulkTaskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private BoardChangeBroadcaster boardChangeBroadcaster;
+
+    @MockBean
+    private TaskHistoryAppender taskHistoryAppender;
+
+    private UserEntity user;
+    private ProjectEntity project;
+    private TaskStateEntity todo;
+    private TaskStateEntity done;
+    private List<TaskEntity> tasks;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bulk-user", null));
+
+        user = entityManager.persist(UserEntity.builder()
+                .username("bulk-user")
+                .email("bulk@example.com")
+                .enabled(true)
+                .build());
+
+        project = entityManager.persist(ProjectEntity.builder()
+                .name("bulk")
+                .admin(user)
+                .users(new ArrayList<>(List.of(user)))
+                .build());
+        user.getMemberProjects().add(project);
+
+        todo = entityManager.persist(TaskStateEntity.builder().name("To do").project(project).build());
+        done = entityManager.persist(TaskStateEntity.builder().name("Done").project(project).build());
+
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(entityManager.persist(TaskEntity.builder()
+                    .name("Task " + i)
+                    .rank((i + 1) * TaskRankHelper.RANK_STEP)
+                    .taskState(todo)
+                    .build()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testApplyOperations_ShouldApplyEveryOperationType() {
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), List.of(
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name("Task 3").build(),
+                operation(BulkTaskOperationType.RENAME).taskId(id(0)).name("Renamed").build(),
+                operation(BulkTaskOperationType.MOVE).taskId(id(1)).taskStateId(done.getId()).build(),
+                operation(BulkTaskOperationType.MOVE).taskId(id(0)).leftTaskId(id(2)).build(),
+                operation(BulkTaskOperationType.ASSIGN).taskId(id(2)).username("bulk-user").build(),
+                operation(BulkTaskOperationType.DELETE).taskId(id(2)).build()
+        ));
+
+        assertTrue(results.stream().allMatch(BulkTaskOperationResultDto::getSuccess));
+        assertNotNull(results.get(0).getTask().getId());
+        assertEquals("Renamed", results.get(1).getTask().getName());
+        assertNull(results.get(5).getTask());
+
+        entityManager.clear();
+
+        assertEquals(List.of("Renamed", "Task 3"), taskNames(todo));
+        assertEquals(List.of("Task 1"), taskNames(done));
+        assertNull(entityManager.find(TaskEntity.class, id(2)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_history", Integer.class));
+        List<TaskHistoryEvent> history = appendedHistory();
+        assertEquals(5, history.size());
+        assertEquals(List.of("name", "task state", "task position", "assigned user", "name"),
+                history.stream().map(TaskHistoryEvent::fieldName).toList());
+        // The assigned and then deleted task doesn't exist any more, its history is detached
+        assertNull(history.get(3).taskId());
+        assertNull(history.get(4).taskId());
+        assertEquals("DELETE", history.get(4).changeType());
+        assertEquals(id(0), history.get(0).taskId());
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT board_version FROM projects WHERE id = ?", Long.class, project.getId()));
+        assertEquals(6, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM board_changes WHERE project_id = ? AND version = 1", Integer.class, project.getId()));
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testApplyOperations_ShouldReportFailedOperationsAndApplyTheRest() {
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), List.of(
+                operation(BulkTaskOperationType.RENAME).taskId(id(0)).name("task 1").build(),
+                operation(BulkTaskOperationType.RENAME).taskId(-1L).name("Missing").build(),
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name(" ").build(),
+                operation(BulkTaskOperationType.ASSIGN).taskId(id(1)).username("stranger").build(),
+                operation(BulkTaskOperationType.ASSIGN).taskId(id(1)).username("bulk-user").build(),
+                operation(BulkTaskOperationType.RENAME).taskId(id(1)).name("Task 0").build()
+        ));
+
+        assertEquals(List.of(false, false, false, false, true, false),
+                results.stream().map(BulkTaskOperationResultDto::getSuccess).toList());
+        assertEquals("Task \"task 1\" already exists in this task state", results.get(0).getError());
+        assertEquals("Project doesn't contain user: stranger", results.get(3).getError());
+
+        entityManager.clear();
+
+        assertEquals(List.of("Task 0", "Task 1", "Task 2"), taskNames(todo));
+        assertEquals("bulk-user", entityManager.find(TaskEntity.class, id(1)).getAssignedUser().getUsername());
+        assertEquals(1, appendedHistory().size());
+        verify(emailService).sendEmail(eq("bulk@example.com"), anyString(), anyString());
+    }
+
+    @Test
+    void testApplyOperations_ShouldFreeNamesWithinTheBatch() {
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), List.of(
+                operation(BulkTaskOperationType.RENAME).taskId(id(0)).name("Old Task 0").build(),
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name("Task 0").build(),
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name("TASK 0").build()
+        ));
+
+        assertEquals(List.of(true, true, false),
+                results.stream().map(BulkTaskOperationResultDto::getSuccess).toList());
+    }
+
+    @Test
+    void testApplyOperations_ShouldNotTouchOtherProjects() {
+        ProjectEntity otherProject = entityManager.persist(ProjectEntity.builder().name("other").admin(user).build());
+        TaskStateEntity otherTaskState = entityManager.persist(
+                TaskStateEntity.builder().name("Other").project(otherProject).build());
+        TaskEntity otherTask = entityManager.persist(TaskEntity.builder()
+                .name("Other task")
+                .rank(TaskRankHelper.RANK_STEP)
+                .taskState(otherTaskState)
+                .build());
+
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), List.of(
+                operation(BulkTaskOperationType.DELETE).taskId(otherTask.getId()).build(),
+                operation(BulkTaskOperationType.CREATE).taskStateId(otherTaskState.getId()).name("Sneaky").build()
+        ));
+
+        assertTrue(results.stream().noneMatch(BulkTaskOperationResultDto::getSuccess));
+        assertNotNull(entityManager.find(TaskEntity.class, otherTask.getId()));
+    }
+
+    @Test
+    void testApplyOperations_ShouldBatchWrites() {
+        List<BulkTaskOperationDto> operations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            operations.add(operation(BulkTaskOperationType.CREATE).taskStateId(done.getId()).name("New " + i).build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        bulkTaskService.applyOperations(project.getId(), operations);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 20, "200 creates issued " + statements + " statements");
+        assertEquals(200, taskNames(done).size());
+    }
+
+    @Test
+    void testApplyOperations_ShouldRankMovesWithoutQueryingPerOperation() {
+        List<BulkTaskOperationDto> operations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            operations.add(operation(BulkTaskOperationType.MOVE).taskId(id(i % 3)).build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), operations);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 30, "300 moves issued " + statements + " statements");
+        assertTrue(results.stream().allMatch(BulkTaskOperationResultDto::getSuccess));
+
+        entityManager.clear();
+
+        assertEquals(List.of("Task 2", "Task 1", "Task 0"), taskNames(todo));
+        assertEquals(299, appendedHistory().size());
+    }
+
+    @Test
+    void testApplyOperations_WhenMoveRebalances_ShouldRankLaterOperationsAfterRebalancedTasks() {
+        jdbcTemplate.update("UPDATE tasks SET rank = id - ? WHERE task_state_id = ?", id(0) - 1, todo.getId());
+
+        List<BulkTaskOperationResultDto> results = bulkTaskService.applyOperations(project.getId(), List.of(
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name("New").build(),
+                operation(BulkTaskOperationType.MOVE).taskId(id(2)).leftTaskId(id(0)).build(),
+                operation(BulkTaskOperationType.CREATE).taskStateId(todo.getId()).name("Newer").build(),
+                operation(BulkTaskOperationType.MOVE).taskId(id(0)).leftTaskId(id(1)).build()
+        ));
+
+        assertTrue(results.stream().allMatch(BulkTaskOperationResultDto::getSuccess));
+
+        entityManager.clear();
+
+        assertEquals(List.of("Task 2", "Task 1", "Task 0", "New", "Newer"), taskNames(todo));
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT rank) FROM tasks WHERE task_state_id = ?", Integer.class, todo.getId()));
+    }
+
+    @Test
+    void testApplyOperations_WhenTooManyOperations_ShouldThrowException() {
+        List<BulkTaskOperationDto> operations = Collections.nCopies(1001,
+                operation(BulkTaskOperationType.DELETE).taskId(id(0)).build());
+
+        assertThrows(BadRequestException.class, () -> bulkTaskService.applyOperations(project.getId(), operations));
+    }
+
+    private BulkTaskOperationDto.BulkTaskOperationDtoBuilder operation(BulkTaskOperationType type) {
+        return BulkTaskOperationDto.builder().type(type);
+    }
+
+    private Long id(int index) {
+        return tasks.get(index).getId();
+    }
+
+    private List<String> taskNames(TaskStateEntity taskState) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT t.name FROM TaskEntity t WHERE t.taskState.id = :id ORDER BY t.rank, t.id",
+                        String.class)
+                .setParameter("id", taskState.getId())
+                .getResultList();
+    }
+
+    private List<TaskHistoryEvent> appendedHistory() {
+        ArgumentCaptor<TaskHistoryEvent> captor = ArgumentCaptor.forClass(TaskHistoryEvent.class);
+        verify(taskHistoryAppender, atLeast(0)).append(captor.capture());
+        return captor.getAllValues();
+    }
+}
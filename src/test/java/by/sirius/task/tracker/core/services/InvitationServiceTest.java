@@ -4,7 +4,10 @@ import by.sirius.task.tracker.api.dto.AckDto;
 import by.sirius.task.tracker.api.dto.InvitationDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.core.factories.InvitationDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.*;
 import by.sirius.task.tracker.store.repositories.InvitationRepository;
@@ -42,6 +45,15 @@ class InvitationServiceTest {
     @Mock
     private ProjectRoleRepository projectRoleRepository;
 
+    @Mock
+    private CacheHelper cacheHelper;
+
+    @Mock
+    private PermissionCache permissionCache;
+
+    @Mock
+    private BoardVersionTracker boardVersionTracker;
+
     @InjectMocks
     private InvitationService invitationService;
 
@@ -267,6 +279,8 @@ class InvitationServiceTest {
         assertEquals(InvitationStatus.ACCEPTED, invitation.getStatus());
         verify(projectRoleRepository).save(any(ProjectRoleEntity.class));
         verify(invitationRepository).save(invitation);
+        verify(permissionCache).evictProjectRole(username, project.getId());
+        verify(boardVersionTracker).bump(project.getId());
     }
 
     @Test
@@ -341,6 +355,7 @@ class InvitationServiceTest {
         InvitationEntity invitation = InvitationEntity.builder()
                 .id(invitationId)
                 .invitingAdmin(UserEntity.builder().username(username).build())
+                .invitedUser(UserEntity.builder().username("invitedUser").build())
                 .status(InvitationStatus.SENT)
                 .build();
 
@@ -352,6 +367,7 @@ class InvitationServiceTest {
         assertTrue(result.getAnswer());
         assertEquals(InvitationStatus.DECLINED, invitation.getStatus());
         verify(invitationRepository).save(invitation);
+        verify(cacheHelper).evictInvitations("invitedUser");
     }
 
     @Test
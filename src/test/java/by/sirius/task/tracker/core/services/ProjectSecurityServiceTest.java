@@ -0,0 +1,144 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectSecurityServiceTest {
+
+    @Mock
+    private ServiceHelper serviceHelper;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStateRepository taskStateRepository;
+
+    @Mock
+    private ProjectRoleRepository projectRoleRepository;
+
+    private PermissionCache permissionCache;
+    private ProjectSecurityService projectSecurityService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testUser", null));
+
+        permissionCache = new PermissionCache(100, Duration.ofMinutes(5));
+        projectSecurityService = new ProjectSecurityService(
+                serviceHelper, permissionCache, taskRepository, taskStateRepository, projectRoleRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testHasProjectPermission_ShouldLoadRoleOnce() {
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_ADMIN"));
+
+        assertTrue(projectSecurityService.hasProjectPermission(1L, "WRITE"));
+        assertTrue(projectSecurityService.hasProjectPermission(1L, "READ"));
+
+        verify(projectRoleRepository, times(1)).findRoleName("testUser", 1L);
+        assertEquals(1, permissionCache.stats().get("projectRoles").hitCount());
+        verifyNoInteractions(serviceHelper);
+    }
+
+    @Test
+    void testHasProjectPermission_WhenUserIsNotAdmin_ShouldDenyWrite() {
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_USER"));
+
+        assertFalse(projectSecurityService.hasProjectPermission(1L, "WRITE"));
+        assertTrue(projectSecurityService.hasProjectPermission(1L, "READ"));
+    }
+
+    @Test
+    void testHasProjectPermission_WhenNoRole_ShouldThrowExceptionAndNotCache() {
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.empty());
+        when(serviceHelper.getUserOrThrowException("testUser")).thenReturn(new UserEntity());
+        when(serviceHelper.getProjectOrThrowException(1L)).thenReturn(new ProjectEntity());
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> projectSecurityService.hasProjectPermission(1L, "READ"));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatus());
+
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_USER"));
+
+        assertTrue(projectSecurityService.hasProjectPermission(1L, "READ"));
+    }
+
+    @Test
+    void testHasProjectPermission_WhenProjectNotFound_ShouldThrowNotFound() {
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.empty());
+        when(serviceHelper.getUserOrThrowException("testUser")).thenReturn(new UserEntity());
+        when(serviceHelper.getProjectOrThrowException(1L))
+                .thenThrow(new NotFoundException("Project with \"1\" id doesn't exist", HttpStatus.NOT_FOUND));
+
+        assertThrows(NotFoundException.class, () -> projectSecurityService.hasProjectPermission(1L, "READ"));
+    }
+
+    @Test
+    void testHasTaskPermission_ShouldCacheTaskProject() {
+        when(taskRepository.findProjectIdById(10L)).thenReturn(Optional.of(1L));
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_USER"));
+
+        assertTrue(projectSecurityService.hasTaskPermission(10L, "READ"));
+        assertTrue(projectSecurityService.hasTaskPermission(10L, "READ"));
+
+        verify(taskRepository, times(1)).findProjectIdById(10L);
+    }
+
+    @Test
+    void testHasTaskStatePermission_AfterEviction_ShouldReload() {
+        when(taskStateRepository.findProjectIdById(5L)).thenReturn(Optional.of(1L));
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_ADMIN"));
+
+        assertTrue(projectSecurityService.hasTaskStatePermission(5L, "WRITE"));
+
+        permissionCache.evictProjectRole("testUser", 1L);
+        permissionCache.evictTaskState(5L);
+
+        assertTrue(projectSecurityService.hasTaskStatePermission(5L, "WRITE"));
+
+        verify(taskStateRepository, times(2)).findProjectIdById(5L);
+        verify(projectRoleRepository, times(2)).findRoleName("testUser", 1L);
+    }
+
+    @Test
+    void testEvictProject_ShouldDropRolesAndMappings() {
+        when(taskRepository.findProjectIdById(10L)).thenReturn(Optional.of(1L));
+        when(projectRoleRepository.findRoleName("testUser", 1L)).thenReturn(Optional.of("ROLE_ADMIN"));
+
+        projectSecurityService.hasTaskPermission(10L, "READ");
+        permissionCache.evictProject(1L);
+        projectSecurityService.hasTaskPermission(10L, "READ");
+
+        verify(taskRepository, times(2)).findProjectIdById(10L);
+        verify(projectRoleRepository, times(2)).findRoleName("testUser", 1L);
+    }
+}
@@ -1,16 +1,22 @@
 package by.sirius.task.tracker.core.services;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.ProjectDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
 import by.sirius.task.tracker.core.factories.ProjectDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
 import by.sirius.task.tracker.core.services.ProjectService;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
 import by.sirius.task.tracker.store.entities.RoleEntity;
 import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.projections.ProjectView;
 import by.sirius.task.tracker.store.repositories.ProjectRepository;
 import by.sirius.task.tracker.store.repositories.ProjectRoleRepository;
 import by.sirius.task.tracker.store.repositories.UserRepository;
@@ -18,7 +24,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 
 import java.time.Instant;
@@ -48,69 +56,81 @@ class ProjectServiceTest {
     @Mock
     private ServiceHelper serviceHelper;
 
+    @Spy
+    private PaginationHelper paginationHelper;
+
+    @Mock
+    private PermissionCache permissionCache;
+
+    @Mock
+    private BoardChangeBroadcaster boardChangeBroadcaster;
+
+    @Mock
+    private BoardVersionTracker boardVersionTracker;
+
     @InjectMocks
     private ProjectService projectService;
 
     @Test
     void testGetProjects_Success() {
         String username = "testUser";
-        UserEntity user = new UserEntity();
-        user.setUsername(username);
 
-        ProjectEntity project1 = new ProjectEntity();
-        project1.setId(1L);
-        project1.setName("Project1");
-
-        ProjectEntity project2 = new ProjectEntity();
-        project2.setId(2L);
-        project2.setName("Project2");
+        ProjectView project1 = new ProjectView(1L, "Project1", username, Instant.now());
+        ProjectView project2 = new ProjectView(2L, "Project2", "anotherUser", Instant.now());
 
         ProjectDto projectDto1 = new ProjectDto();
         projectDto1.setId(1L);
         projectDto1.setName("Project1");
-        projectDto1.setCreatedAt(Instant.now());
 
         ProjectDto projectDto2 = new ProjectDto();
         projectDto2.setId(2L);
         projectDto2.setName("Project2");
-        projectDto2.setCreatedAt(Instant.now());
 
-        when(serviceHelper.getUserOrThrowException(username)).thenReturn(user);
-        when(projectRepository.findAllByAdmin(user)).thenReturn(List.of(project1));
-        when(projectRepository.findAllByUsersContaining(user)).thenReturn(List.of(project2));
+        when(projectRepository.findPageByUsernameAfter(username, Long.MIN_VALUE, Limit.of(51)))
+                .thenReturn(List.of(project1, project2));
         when(projectDtoFactory.makeProjectDto(project1)).thenReturn(projectDto1);
         when(projectDtoFactory.makeProjectDto(project2)).thenReturn(projectDto2);
 
-        List<ProjectDto> projects = projectService.getProjects(username);
+        PageDto<ProjectDto> projects = projectService.getProjects(username, null, null);
 
-        assertEquals(2, projects.size());
-        assertEquals("Project1", projects.get(0).getName());
-        assertEquals("Project2", projects.get(1).getName());
+        assertEquals(2, projects.getItems().size());
+        assertEquals("Project1", projects.getItems().get(0).getName());
+        assertEquals("Project2", projects.getItems().get(1).getName());
+        assertNull(projects.getNextCursor());
     }
 
     @Test
-    void testGetProjects_WhenNoProjectsFound() {
+    void testGetProjects_ShouldContinueAfterCursor() {
         String username = "testUser";
-        UserEntity user = new UserEntity();
-        user.setUsername(username);
+        String cursor = paginationHelper.encodeCursor(1L);
 
-        when(serviceHelper.getUserOrThrowException(username)).thenReturn(user);
-        when(projectRepository.findAllByAdmin(user)).thenReturn(List.of());
-        when(projectRepository.findAllByUsersContaining(user)).thenReturn(List.of());
+        ProjectView project2 = new ProjectView(2L, "Project2", username, Instant.now());
+        ProjectView project3 = new ProjectView(3L, "Project3", username, Instant.now());
 
-        List<ProjectDto> projects = projectService.getProjects(username);
+        when(projectRepository.findPageByUsernameAfter(username, 1L, Limit.of(2)))
+                .thenReturn(List.of(project2, project3));
+        when(projectDtoFactory.makeProjectDto(project2)).thenReturn(ProjectDto.builder().id(2L).build());
 
-        assertTrue(projects.isEmpty());
+        PageDto<ProjectDto> projects = projectService.getProjects(username, cursor, 1);
+
+        assertEquals(1, projects.getItems().size());
+        assertArrayEquals(new long[]{2L}, paginationHelper.decodeCursor(projects.getNextCursor(), 1));
     }
 
     @Test
-    void testGetProjects_WhenUserNotFound_ShouldThrowException() {
-        String username = "nonExistentUsername";
+    void testGetProjects_WhenNoProjectsFound() {
+        String username = "testUser";
 
-        when(serviceHelper.getUserOrThrowException(username)).thenThrow(
-                new NotFoundException("User not found", HttpStatus.NOT_FOUND));
+        when(projectRepository.findPageByUsernameAfter(username, Long.MIN_VALUE, Limit.of(51))).thenReturn(List.of());
+
+        PageDto<ProjectDto> projects = projectService.getProjects(username, null, null);
 
-        assertThrows(NotFoundException.class, () -> projectService.getProjects(username));
+        assertTrue(projects.getItems().isEmpty());
+    }
+
+    @Test
+    void testGetProjects_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> projectService.getProjects("testUser", "not-a-cursor", null));
     }
 
     @Test
@@ -273,6 +293,7 @@ class ProjectServiceTest {
         assertNotNull(result);
         assertTrue(result.getAnswer());
         verify(projectRepository).deleteById(projectId);
+        verify(permissionCache).evictProject(projectId);
     }
 
     @Test
@@ -311,6 +332,9 @@ class ProjectServiceTest {
         verify(projectRoleRepository).deleteByUserAndProject(user, project);
         verify(projectRepository).save(project);
         verify(userRepository).save(user);
+        verify(permissionCache).evictProjectRole(username, projectId);
+        verify(boardChangeBroadcaster).disconnect(projectId, username);
+        verify(boardVersionTracker).bump(projectId);
     }
 
     @Test
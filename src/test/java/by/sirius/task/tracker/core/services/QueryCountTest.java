@@ -0,0 +1,218 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.InvitationDto;
+import by.sirius.task.tracker.api.dto.PageDto;
+import by.sirius.task.tracker.api.dto.ProjectDto;
+import by.sirius.task.tracker.api.dto.TaskStateDto;
+import by.sirius.task.tracker.api.dto.UserDto;
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
+import by.sirius.task.tracker.core.factories.InvitationDtoFactory;
+import by.sirius.task.tracker.core.factories.ProjectDtoFactory;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.security.UserStatusCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.core.sql.StatementCountingDataSourcePostProcessor;
+import by.sirius.task.tracker.store.entities.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static by.sirius.task.tracker.core.sql.StatementAssertions.assertStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Second-level cache off: the counts have to hold on a cold cache
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({StatementCountingDataSourcePostProcessor.class, UserService.class, InvitationService.class,
+        TaskStateService.class, ProjectService.class, ServiceHelper.class, PaginationHelper.class,
+        InvitationDtoFactory.class, TaskDtoFactory.class, TaskStateDtoFactory.class, ProjectDtoFactory.class,
+        PermissionCache.class})
+class QueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InvitationService invitationService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private RoleService roleService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private UserStatusCache userStatusCache;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private BoardChangeRecorder boardChangeRecorder;
+
+    @MockBean
+    private BoardVersionTracker boardVersionTracker;
+
+    @MockBean
+    private BoardChangeBroadcaster boardChangeBroadcaster;
+
+    @MockBean
+    private CacheHelper cacheHelper;
+
+    @Test
+    void testGetUsers_QueryCountDoesNotGrowWithMembers() {
+        RoleEntity role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+        ProjectEntity project = projectWithMembers("members", 30, role);
+
+        List<UserDto> users = measure(1, () -> userService.getUsers(project.getId()));
+
+        assertEquals(30, users.size());
+        assertEquals("ROLE_USER", users.get(0).getRoles().get(0).getName());
+    }
+
+    @Test
+    void testGetUserInvitations_QueryCountDoesNotGrowWithInvitations() {
+        RoleEntity role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+        UserEntity invitedUser = user("invited", role);
+
+        for (int i = 0; i < 30; i++) {
+            UserEntity admin = user("admin-" + i, role);
+            ProjectEntity project = entityManager.persist(ProjectEntity.builder().name("project-" + i).admin(admin).build());
+            entityManager.persist(InvitationEntity.builder()
+                    .invitingAdmin(admin)
+                    .invitedUser(invitedUser)
+                    .project(project)
+                    .status(InvitationStatus.SENT)
+                    .build());
+        }
+
+        List<InvitationDto> invitations = measure(1, () -> invitationService.getUserInvitations("invited"));
+
+        assertEquals(30, invitations.size());
+    }
+
+    @Test
+    void testGetTaskStates_QueryCountDoesNotGrowWithTasks() {
+        RoleEntity role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+        ProjectEntity project = projectWithMembers("board", 10, role);
+
+        for (int i = 0; i < 10; i++) {
+            TaskStateEntity taskState = entityManager.persist(
+                    TaskStateEntity.builder().name("State " + i).project(project).build());
+            for (int j = 0; j < 10; j++) {
+                entityManager.persist(TaskEntity.builder()
+                        .name("Task " + i + "-" + j)
+                        .rank((j + 1) * TaskRankHelper.RANK_STEP)
+                        .taskState(taskState)
+                        .assignedUser(project.getUsers().get(j))
+                        .build());
+            }
+        }
+
+        List<TaskStateDto> taskStates = measure(4, () -> taskStateService.getTaskStates(project.getId()));
+
+        assertEquals(10, taskStates.size());
+        assertEquals(10, taskStates.get(0).getTasks().size());
+    }
+
+    @Test
+    void testGetProjects_ShouldReturnEachProjectOnceInOneStatement() {
+        RoleEntity role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+        UserEntity reader = user("reader", role);
+
+        List<ProjectEntity> projects = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            UserEntity admin = i % 2 == 0 ? reader : user("owner-" + i, role);
+            ProjectEntity project = entityManager.persist(ProjectEntity.builder()
+                    .name("listed-" + i)
+                    .admin(admin)
+                    .users(new ArrayList<>())
+                    .build());
+
+            // Owners are often members of their own project too
+            if (i % 2 != 0 || i % 4 == 0) {
+                reader.getMemberProjects().add(project);
+                project.getUsers().add(reader);
+            }
+            projects.add(project);
+        }
+        user("outsider", role);
+
+        PageDto<ProjectDto> firstPage = measure(1, () -> projectService.getProjects("reader", null, 20));
+        PageDto<ProjectDto> lastPage = measure(1,
+                () -> projectService.getProjects("reader", firstPage.getNextCursor(), 20));
+
+        List<ProjectDto> listed = new ArrayList<>(firstPage.getItems());
+        listed.addAll(lastPage.getItems());
+
+        assertEquals(projects.stream().map(ProjectEntity::getId).toList(),
+                listed.stream().map(ProjectDto::getId).toList());
+        assertEquals("reader", listed.get(0).getOwner());
+        assertEquals("owner-1", listed.get(1).getOwner());
+        assertEquals(5, lastPage.getItems().size());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    private <T> T measure(int maxStatements, Supplier<T> action) {
+        entityManager.flush();
+        entityManager.clear();
+
+        AtomicReference<T> result = new AtomicReference<>();
+        assertStatementsAtMost(maxStatements, () -> result.set(action.get()));
+        return result.get();
+    }
+
+    private ProjectEntity projectWithMembers(String name, int memberCount, RoleEntity role) {
+        UserEntity admin = user(name + "-admin", role);
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder()
+                .name(name)
+                .admin(admin)
+                .users(new ArrayList<>())
+                .build());
+
+        for (int i = 0; i < memberCount; i++) {
+            UserEntity member = user(name + "-member-" + i, role);
+            member.getMemberProjects().add(project);
+            project.getUsers().add(member);
+        }
+        return project;
+    }
+
+    private UserEntity user(String username, RoleEntity role) {
+        return entityManager.persist(UserEntity.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .enabled(true)
+                .roles(new ArrayList<>(List.of(role)))
+                .build());
+    }
+}
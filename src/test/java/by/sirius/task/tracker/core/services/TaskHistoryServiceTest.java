@@ -0,0 +1,207 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.PageDto;
+import by.sirius.task.tracker.api.dto.TaskHistoryDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.factories.TaskHistoryDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryArchive;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.core.sql.StatementCountingDataSourcePostProcessor;
+import by.sirius.task.tracker.store.entities.*;
+import by.sirius.task.tracker.store.projections.TaskHistoryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static by.sirius.task.tracker.core.sql.StatementAssertions.assertStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({StatementCountingDataSourcePostProcessor.class, TaskHistoryService.class, TaskHistoryDtoFactory.class,
+        PaginationHelper.class, TaskHistoryArchive.class})
+class TaskHistoryServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    private static Path archiveDir;
+
+    @Autowired
+    private TaskHistoryService taskHistoryService;
+
+    @Autowired
+    private TaskHistoryArchive taskHistoryArchive;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long taskId;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("task-tracker.history.partitions.archive-dir", archiveDir::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder().name("history").build());
+        TaskStateEntity taskState = entityManager.persist(
+                TaskStateEntity.builder().name("To do").project(project).build());
+        TaskEntity task = entityManager.persist(TaskEntity.builder()
+                .name("Task")
+                .rank(TaskRankHelper.RANK_STEP)
+                .taskState(taskState)
+                .build());
+        TaskEntity otherTask = entityManager.persist(TaskEntity.builder()
+                .name("Other task")
+                .rank(2 * TaskRankHelper.RANK_STEP)
+                .taskState(taskState)
+                .build());
+        taskId = task.getId();
+
+        // Two entries share a timestamp so the id has to break the tie
+        int[] minutes = {4, 0, 1, 1, 3};
+        for (int i = 0; i < minutes.length; i++) {
+            entityManager.persist(history(task, i % 2 == 0 ? "EDIT" : "ASSIGN", "value " + i, minutes[i]));
+        }
+        entityManager.persist(history(otherTask, "EDIT", "other", 2));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testGetTaskHistory_ShouldPageInChronologicalOrder() {
+        List<String> values = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            PageDto<TaskHistoryDto> page = taskHistoryService.getTaskHistoryByTaskId(taskId, null, null, null, cursor, 2, false);
+            page.getItems().forEach(entry -> values.add(entry.getNewValue()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("value 1", "value 2", "value 3", "value 4", "value 0"), values);
+    }
+
+    @Test
+    void testGetTaskHistory_ShouldFilterByRangeAndChangeType() {
+        PageDto<TaskHistoryDto> range = taskHistoryService.getTaskHistoryByTaskId(
+                taskId, START.plus(1, ChronoUnit.MINUTES), START.plus(4, ChronoUnit.MINUTES), null, null, null, false);
+        assertEquals(List.of("value 2", "value 3", "value 4"),
+                range.getItems().stream().map(TaskHistoryDto::getNewValue).toList());
+
+        PageDto<TaskHistoryDto> assignments = taskHistoryService.getTaskHistoryByTaskId(
+                taskId, null, null, "assign", null, null, false);
+        assertEquals(List.of("value 1", "value 3"),
+                assignments.getItems().stream().map(TaskHistoryDto::getNewValue).toList());
+        assertNull(assignments.getNextCursor());
+    }
+
+    @Test
+    void testGetTaskHistory_ShouldNotLoadTheTask() {
+        AtomicReference<PageDto<TaskHistoryDto>> page = new AtomicReference<>();
+
+        assertStatementsAtMost(1, () -> page.set(
+                taskHistoryService.getTaskHistoryByTaskId(taskId, null, null, null, null, null, false)));
+
+        assertEquals(5, page.get().getItems().size());
+        assertTrue(page.get().getItems().stream().allMatch(entry -> taskId.equals(entry.getTaskId())));
+    }
+
+    @Test
+    void testGetTaskHistory_WhenIncludingArchived_ShouldPageFromArchiveIntoTable() {
+        Instant december = START.minus(1, ChronoUnit.DAYS);
+        taskHistoryArchive.write(YearMonth.of(2023, 12), Stream.of(
+                new TaskHistoryView(1L, taskId, "history-user", "EDIT", "name", null, "archived 0", december),
+                new TaskHistoryView(3L, taskId, "history-user", "ASSIGN", "name", null, "archived 1", december),
+                new TaskHistoryView(2L, taskId + 1, "history-user", "EDIT", "name", null, "other", december)));
+
+        List<String> values = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDto<TaskHistoryDto> page = taskHistoryService.getTaskHistoryByTaskId(
+                    taskId, null, null, null, cursor, 3, true);
+            page.getItems().forEach(entry -> values.add(entry.getNewValue()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("archived 0", "archived 1", "value 1", "value 2", "value 3", "value 4", "value 0"), values);
+
+        PageDto<TaskHistoryDto> withoutArchive = taskHistoryService.getTaskHistoryByTaskId(
+                taskId, null, null, null, null, null, false);
+        assertEquals(5, withoutArchive.getItems().size());
+
+        PageDto<TaskHistoryDto> archivedAssignments = taskHistoryService.getTaskHistoryByTaskId(
+                taskId, null, START, "assign", null, null, true);
+        assertEquals(List.of("archived 1"),
+                archivedAssignments.getItems().stream().map(TaskHistoryDto::getNewValue).toList());
+    }
+
+    @Test
+    void testGetTaskHistory_WhenTableHoldsRowsOlderThanArchive_ShouldMergeInOrder() {
+        // A row past retention that maintenance left in the default partition, older than the archived month
+        Instant november = START.minus(40, ChronoUnit.DAYS);
+        Instant december = START.minus(1, ChronoUnit.DAYS);
+        entityManager.persist(TaskHistoryEntity.builder()
+                .task(entityManager.find(TaskEntity.class, taskId))
+                .username("history-user")
+                .changeType("EDIT")
+                .fieldName("name")
+                .newValue("stale")
+                .changedAt(november)
+                .build());
+        entityManager.flush();
+        taskHistoryArchive.write(YearMonth.of(2023, 12), Stream.of(
+                new TaskHistoryView(1L, taskId, "history-user", "EDIT", "name", null, "archived 0", december),
+                new TaskHistoryView(3L, taskId, "history-user", "EDIT", "name", null, "archived 1", december)));
+
+        List<String> values = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDto<TaskHistoryDto> page = taskHistoryService.getTaskHistoryByTaskId(
+                    taskId, null, null, null, cursor, 2, true);
+            page.getItems().forEach(entry -> values.add(entry.getNewValue()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("stale", "archived 0", "archived 1", "value 1", "value 2", "value 3", "value 4",
+                "value 0"), values);
+    }
+
+    @Test
+    void testGetTaskHistory_WhenRangeIsEmpty_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> taskHistoryService.getTaskHistoryByTaskId(taskId, START, START, null, null, null, false));
+    }
+
+    private TaskHistoryEntity history(TaskEntity task, String changeType, String newValue, int minute) {
+        return TaskHistoryEntity.builder()
+                .task(task)
+                .username("history-user")
+                .changeType(changeType)
+                .fieldName("name")
+                .newValue(newValue)
+                .changedAt(START.plus(minute, ChronoUnit.MINUTES))
+                .build();
+    }
+}
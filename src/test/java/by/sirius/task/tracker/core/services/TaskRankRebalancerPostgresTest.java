@@ -0,0 +1,117 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.core.board.BoardChangeBroadcaster;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.core.board.BoardVersionTracker;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.repositories.ProjectRepository;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled rebalance and a create in separate transactions, the way they race in production
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskRankRebalancer.class, TaskRankHelper.class, BoardChangeRecorder.class, BoardVersionTracker.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskRankRebalancerPostgresTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "task_rank_rebalancer");
+    }
+
+    @Autowired
+    private TaskRankRebalancer taskRankRebalancer;
+
+    @Autowired
+    private TaskRankHelper taskRankHelper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private CacheHelper cacheHelper;
+
+    @MockBean
+    private BoardChangeBroadcaster boardChangeBroadcaster;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM board_changes");
+        taskRepository.deleteAll();
+        taskStateRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void testRebalance_WhenCreateHoldsRankLock_ShouldWaitAndRankTheNewTaskToo() {
+        ProjectEntity project = projectRepository.save(ProjectEntity.builder().name("ranks").build());
+        TaskStateEntity taskState = taskStateRepository.save(
+                TaskStateEntity.builder().name("To do").project(project).build());
+        for (long rank = 1; rank <= 3; rank++) {
+            taskRepository.save(TaskEntity.builder().name("Task " + rank).rank(rank).taskState(taskState).build());
+        }
+
+        CompletableFuture<Void> blockedRebalance = new TransactionTemplate(transactionManager).execute(status -> {
+            taskRankHelper.lockRanks(List.of(), List.of(taskState.getId()));
+
+            CompletableFuture<Void> rebalance = CompletableFuture.runAsync(taskRankRebalancer::rebalanceDenseTaskStates);
+            assertThrows(TimeoutException.class, () -> rebalance.get(500, TimeUnit.MILLISECONDS));
+
+            taskRepository.save(TaskEntity.builder()
+                    .name("Created")
+                    .rank(taskRankHelper.rankAfterLast(taskState.getId()))
+                    .taskState(taskState)
+                    .build());
+            return rebalance;
+        });
+
+        assertDoesNotThrow(() -> blockedRebalance.get(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of(TaskRankHelper.RANK_STEP, 2 * TaskRankHelper.RANK_STEP,
+                        3 * TaskRankHelper.RANK_STEP, 4 * TaskRankHelper.RANK_STEP),
+                jdbcTemplate.queryForList("SELECT rank FROM tasks WHERE task_state_id = ? ORDER BY rank",
+                        Long.class, taskState.getId()));
+        assertEquals("Created", jdbcTemplate.queryForObject(
+                "SELECT name FROM tasks WHERE task_state_id = ? ORDER BY rank DESC LIMIT 1",
+                String.class, taskState.getId()));
+    }
+}
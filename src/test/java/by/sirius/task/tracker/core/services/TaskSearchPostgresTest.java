@@ -0,0 +1,159 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.TaskSearchResultDto;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
+import by.sirius.task.tracker.store.entities.RoleEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import by.sirius.task.tracker.store.migrations.TaskSearchIndexMigration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The trigram path only exists on PostgreSQL with pg_trgm, TaskSearchServiceTest covers the H2 fallback
+@DataJpaTest(properties = "task-tracker.search.similarity-threshold=0.3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskSearchService.class, TaskDtoFactory.class, PaginationHelper.class, TaskSearchIndexMigration.class})
+class TaskSearchPostgresTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "task_search");
+    }
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private RoleEntity role;
+    private Long ownProjectId;
+    private Long sharedProjectId;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = persistUser("searcher");
+        UserEntity stranger = persistUser("stranger");
+        role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+
+        ownProjectId = seedProject("own", user, "Release notes", "Pre-release checklist", "Database migration");
+        sharedProjectId = seedProject("shared", user, "Plan the release", "Fix login");
+        seedProject("foreign", stranger, "Release party");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSearchTasks_ShouldRunOnTrigramIndex() {
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname = ?",
+                Integer.class, TaskEntity.NAME_TRIGRAM_INDEX));
+    }
+
+    @Test
+    void testSearchTasks_ShouldMatchTypos() {
+        // word_similarity('relase', ...) is 0.5, under pg_trgm's default threshold of 0.6
+        assertEquals(List.of("Release notes", "Plan the release", "Pre-release checklist"),
+                names(taskSearchService.searchTasks("searcher", null, "relase", null)));
+        assertEquals(List.of("Database migration"),
+                names(taskSearchService.searchTasks("searcher", null, "migraton", null)));
+        assertTrue(taskSearchService.searchTasks("searcher", null, "qwerty", null).isEmpty());
+    }
+
+    @Test
+    void testSearchTasks_ShouldRankPrefixMatchesFirst() {
+        List<TaskSearchResultDto> results = taskSearchService.searchTasks("searcher", null, "release", null);
+
+        assertEquals(List.of("Release notes", "Plan the release", "Pre-release checklist"), names(results));
+        assertTrue(results.stream().allMatch(result -> result.getScore() == 1.0));
+    }
+
+    @Test
+    void testSearchTasks_ShouldOnlySearchProjectsOfUser() {
+        List<TaskSearchResultDto> results = taskSearchService.searchTasks("searcher", null, "party", null);
+        assertTrue(results.isEmpty());
+
+        assertEquals(List.of(sharedProjectId), taskSearchService.searchTasks("searcher", sharedProjectId, "relase", null)
+                .stream().map(TaskSearchResultDto::getProjectId).toList());
+        assertTrue(taskSearchService.searchTasks("searcher", null, "relase", null).stream()
+                .allMatch(result -> List.of(ownProjectId, sharedProjectId).contains(result.getProjectId())));
+        assertEquals(List.of("Release party"), names(taskSearchService.searchTasks("stranger", null, "relase", null)));
+    }
+
+    @Test
+    void testSearchTasks_ShouldKeepThresholdInsideTransaction() throws SQLException {
+        taskSearchService.searchTasks("searcher", null, "relase", null);
+
+        assertEquals("0.3", jdbcTemplate.queryForObject("SHOW pg_trgm.word_similarity_threshold", String.class));
+
+        // Any other connection from the pool still has the server default, once pg_trgm is loaded in it
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT word_similarity('a', 'a'), current_setting('pg_trgm.word_similarity_threshold')")) {
+            resultSet.next();
+            assertEquals("0.6", resultSet.getString(2));
+        }
+    }
+
+    private UserEntity persistUser(String username) {
+        return entityManager.persist(UserEntity.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .enabled(true)
+                .build());
+    }
+
+    private Long seedProject(String name, UserEntity member, String... taskNames) {
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder().name(name).admin(member).build());
+        entityManager.persist(ProjectRoleEntity.builder().user(member).project(project).role(role).build());
+
+        TaskStateEntity taskState = entityManager.persist(TaskStateEntity.builder()
+                .name("To do")
+                .project(project)
+                .build());
+
+        for (int i = 0; i < taskNames.length; i++) {
+            entityManager.persist(TaskEntity.builder()
+                    .name(taskNames[i])
+                    .rank((long) i)
+                    .taskState(taskState)
+                    .build());
+        }
+
+        return project.getId();
+    }
+
+    private static List<String> names(List<TaskSearchResultDto> results) {
+        return results.stream().map(result -> result.getTask().getName()).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package by.sirius.task.tracker.core.services;
+
+import by.sirius.task.tracker.api.dto.TaskSearchResultDto;
+import by.sirius.task.tracker.api.exceptions.BadRequestException;
+import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.ProjectRoleEntity;
+import by.sirius.task.tracker.store.entities.RoleEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({TaskSearchService.class, TaskDtoFactory.class, PaginationHelper.class})
+class TaskSearchServiceTest {
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UserEntity user;
+    private RoleEntity role;
+    private Long ownProjectId;
+    private Long sharedProjectId;
+
+    @BeforeEach
+    void setUp() {
+        user = persistUser("searcher");
+        UserEntity stranger = persistUser("stranger");
+        role = entityManager.persist(RoleEntity.builder().name("ROLE_USER").build());
+
+        ownProjectId = seedProject("own", user, "Release notes", "Pre-release", "Fix login");
+        sharedProjectId = seedProject("shared", user, "Write notes_v2", "Review 100% coverage");
+        seedProject("foreign", stranger, "Release party");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSearchTasks_ShouldOnlySearchProjectsOfUser() {
+        List<TaskSearchResultDto> results = taskSearchService.searchTasks("searcher", null, "  RELEASE ", null);
+
+        assertEquals(List.of("Release notes", "Pre-release"), names(results));
+        assertTrue(results.stream().allMatch(result -> ownProjectId.equals(result.getProjectId())));
+    }
+
+    @Test
+    void testSearchTasks_ShouldRankPrefixMatchesFirst() {
+        List<TaskSearchResultDto> results = taskSearchService.searchTasks("searcher", null, "release", null);
+
+        assertEquals(List.of("Release notes", "Pre-release"), names(results));
+        assertTrue(results.get(0).getScore() < results.get(1).getScore());
+    }
+
+    @Test
+    void testSearchTasks_ShouldRankCloserMatchesHigher() {
+        List<TaskSearchResultDto> results = taskSearchService.searchTasks("searcher", null, "notes", null);
+
+        assertEquals(List.of("Release notes", "Write notes_v2"), names(results));
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void testSearchTasks_WithProjectAndLimit_ShouldNarrowResults() {
+        assertEquals(List.of("Write notes_v2"),
+                names(taskSearchService.searchTasks("searcher", sharedProjectId, "notes", null)));
+        assertEquals(1, taskSearchService.searchTasks("searcher", null, "e", 1).size());
+    }
+
+    @Test
+    void testSearchTasks_ShouldMatchWildcardsLiterally() {
+        assertEquals(List.of("Review 100% coverage"), names(taskSearchService.searchTasks("searcher", null, "0%", null)));
+        assertEquals(List.of("Write notes_v2"), names(taskSearchService.searchTasks("searcher", null, "s_v", null)));
+        assertEquals(1, taskSearchService.searchTasks("searcher", null, "_", null).size());
+    }
+
+    @Test
+    void testSearchTasks_WhenQueryIsBlank_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> taskSearchService.searchTasks("searcher", null, "  ", null));
+        assertThrows(BadRequestException.class,
+                () -> taskSearchService.searchTasks("searcher", null, "x".repeat(101), null));
+    }
+
+    private UserEntity persistUser(String username) {
+        return entityManager.persist(UserEntity.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .enabled(true)
+                .build());
+    }
+
+    private Long seedProject(String name, UserEntity member, String... taskNames) {
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder().name(name).admin(member).build());
+        entityManager.persist(ProjectRoleEntity.builder().user(member).project(project).role(role).build());
+
+        TaskStateEntity taskState = entityManager.persist(TaskStateEntity.builder()
+                .name("To do")
+                .project(project)
+                .build());
+
+        for (int i = 0; i < taskNames.length; i++) {
+            entityManager.persist(TaskEntity.builder()
+                    .name(taskNames[i])
+                    .rank((long) i)
+                    .taskState(taskState)
+                    .build());
+        }
+
+        return project.getId();
+    }
+
+    private static List<String> names(List<TaskSearchResultDto> results) {
+        return results.stream().map(result -> result.getTask().getName()).toList();
+    }
+}
@@ -1,26 +1,39 @@
 package by.sirius.task.tracker.core.services;
 
 import by.sirius.task.tracker.api.dto.AckDto;
+import by.sirius.task.tracker.api.dto.PageDto;
 import by.sirius.task.tracker.api.dto.TaskDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
 import by.sirius.task.tracker.core.factories.TaskDtoFactory;
+import by.sirius.task.tracker.core.history.TaskHistoryAppender;
+import by.sirius.task.tracker.core.history.TaskHistoryEvent;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
+import by.sirius.task.tracker.core.services.helpers.PaginationHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
+import by.sirius.task.tracker.core.services.helpers.TaskRankHelper;
 import by.sirius.task.tracker.store.entities.*;
-import by.sirius.task.tracker.store.repositories.TaskHistoryRepository;
+import by.sirius.task.tracker.store.projections.TaskBoardView;
 import by.sirius.task.tracker.store.repositories.TaskRepository;
 import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +49,12 @@ class TaskServiceTest {
     @Mock
     private ServiceHelper serviceHelper;
 
+    @Mock
+    private TaskRankHelper taskRankHelper;
+
+    @Spy
+    private PaginationHelper paginationHelper;
+
     @Mock
     private TaskDtoFactory taskDtoFactory;
 
@@ -46,11 +65,20 @@ class TaskServiceTest {
     private TaskStateRepository taskStateRepository;
 
     @Mock
-    private TaskHistoryRepository taskHistoryRepository;
+    private TaskHistoryAppender taskHistoryAppender;
 
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private CacheHelper cacheHelper;
+
+    @Mock
+    private PermissionCache permissionCache;
+
+    @Mock
+    private BoardChangeRecorder boardChangeRecorder;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -64,30 +92,55 @@ class TaskServiceTest {
         Long projectId = 1L;
         Long taskStateId = 1L;
 
-        TaskEntity task = TaskEntity.builder()
-                .id(1L)
-                .name("task1")
-                .build();
+        TaskBoardView task = new TaskBoardView(1L, taskStateId, "task1", 100L, null, null);
 
         TaskDto taskDto = TaskDto.builder()
                 .id(1L)
                 .name("task1")
                 .build();
 
-        TaskStateEntity taskState = TaskStateEntity.builder()
-                .id(taskStateId)
-                .name("To do")
-                .build();
+        when(taskStateRepository.existsByProjectIdAndId(projectId, taskStateId)).thenReturn(true);
+        when(taskRepository.findPageByTaskStateIdAfter(taskStateId, Long.MIN_VALUE, Long.MIN_VALUE, Limit.of(51)))
+                .thenReturn(List.of(task));
+        when(taskDtoFactory.makeTaskDto(task)).thenReturn(taskDto);
 
-        taskState.getTasks().add(task);
+        PageDto<TaskDto> tasks = taskService.getTasks(projectId, taskStateId, null, null);
 
-        when(taskStateRepository.findByProjectIdAndId(projectId, taskStateId)).thenReturn(Optional.of(taskState));
-        when(taskDtoFactory.makeTaskDto(task)).thenReturn(taskDto);
+        assertEquals(1, tasks.getItems().size());
+        assertEquals("task1", tasks.getItems().get(0).getName());
+        assertNull(tasks.getNextCursor());
+    }
+
+    @Test
+    void testGetTasks_WithCursor_ShouldReturnNextPage() {
+        Long projectId = 1L;
+        Long taskStateId = 1L;
+
+        TaskBoardView first = new TaskBoardView(3L, taskStateId, "task3", 300L, null, null);
+        TaskBoardView second = new TaskBoardView(4L, taskStateId, "task4", 400L, null, null);
+        String cursor = paginationHelper.encodeCursor(200L, 2L);
+
+        when(taskStateRepository.existsByProjectIdAndId(projectId, taskStateId)).thenReturn(true);
+        when(taskRepository.findPageByTaskStateIdAfter(taskStateId, 200L, 2L, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+        when(taskDtoFactory.makeTaskDto(first)).thenReturn(TaskDto.builder().id(3L).build());
 
-        List<TaskDto> tasks = taskService.getTasks(projectId, taskStateId);
+        PageDto<TaskDto> page = taskService.getTasks(projectId, taskStateId, cursor, 1);
 
-        assertEquals(1, tasks.size());
-        assertEquals("task1", tasks.get(0).getName());
+        assertEquals(1, page.getItems().size());
+        assertEquals(3L, page.getItems().get(0).getId());
+        assertArrayEquals(new long[]{300L, 3L}, paginationHelper.decodeCursor(page.getNextCursor(), 2));
+    }
+
+    @Test
+    void testGetTasks_WithInvalidCursor_ShouldThrowException() {
+        Long projectId = 1L;
+        Long taskStateId = 1L;
+
+        when(taskStateRepository.existsByProjectIdAndId(projectId, taskStateId)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> taskService.getTasks(projectId, taskStateId, "not-a-cursor", null));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -95,13 +148,14 @@ class TaskServiceTest {
         Long projectId = 1L;
         Long taskStateId = 1L;
 
-        when(taskStateRepository.findByProjectIdAndId(projectId, taskStateId)).thenReturn(Optional.empty());
+        when(taskStateRepository.existsByProjectIdAndId(projectId, taskStateId)).thenReturn(false);
 
-        assertThrows(NotFoundException.class, () -> taskService.getTasks(projectId, taskStateId));
+        assertThrows(NotFoundException.class, () -> taskService.getTasks(projectId, taskStateId, null, null));
     }
 
     @Test
     void testGetAssignedTasks_Success() {
+        Long projectId = 1L;
         String username = "username";
 
         UserEntity user = UserEntity.builder()
@@ -109,11 +163,7 @@ class TaskServiceTest {
                 .username(username)
                 .build();
 
-        TaskEntity task = TaskEntity.builder()
-                .id(1L)
-                .name("task1")
-                .assignedUser(user)
-                .build();
+        TaskBoardView task = new TaskBoardView(1L, 1L, "task1", 100L, username, null);
 
         TaskDto taskDto = TaskDto.builder()
                 .id(1L)
@@ -122,13 +172,14 @@ class TaskServiceTest {
                 .build();
 
         when(serviceHelper.getUserOrThrowException(username)).thenReturn(user);
-        when(taskRepository.findByAssignedUser(user)).thenReturn(List.of(task));
+        when(taskRepository.findAssignedPageAfter(user.getId(), projectId, Long.MIN_VALUE, Limit.of(51)))
+                .thenReturn(List.of(task));
         when(taskDtoFactory.makeTaskDto(task)).thenReturn(taskDto);
 
-        List<TaskDto> assignedTasks = taskService.getAssignedTasks(username);
+        PageDto<TaskDto> assignedTasks = taskService.getAssignedTasks(projectId, username, null, null);
 
-        assertEquals(1, assignedTasks.size());
-        assertEquals("task1", assignedTasks.get(0).getName());
+        assertEquals(1, assignedTasks.getItems().size());
+        assertEquals("task1", assignedTasks.getItems().get(0).getName());
     }
 
     @Test
@@ -138,11 +189,12 @@ class TaskServiceTest {
         when(serviceHelper.getUserOrThrowException(username)).thenThrow(
                 new NotFoundException("User not found", HttpStatus.NOT_FOUND));
 
-        assertThrows(NotFoundException.class, () -> taskService.getAssignedTasks(username));
+        assertThrows(NotFoundException.class, () -> taskService.getAssignedTasks(1L, username, null, null));
     }
 
     @Test
     void testGetAssignedTasks_WhenUserHasNoAssignedTasks_ShouldReturnEmptyList() {
+        Long projectId = 1L;
         String username = "username";
 
         UserEntity user = UserEntity.builder()
@@ -151,11 +203,32 @@ class TaskServiceTest {
                 .build();
 
         when(serviceHelper.getUserOrThrowException(username)).thenReturn(user);
-        when(taskRepository.findByAssignedUser(user)).thenReturn(Collections.emptyList());
+        when(taskRepository.findAssignedPageAfter(user.getId(), projectId, Long.MIN_VALUE, Limit.of(51)))
+                .thenReturn(Collections.emptyList());
 
-        List<TaskDto> assignedTasks = taskService.getAssignedTasks(username);
+        PageDto<TaskDto> assignedTasks = taskService.getAssignedTasks(projectId, username, null, null);
 
-        assertEquals(0, assignedTasks.size());
+        assertEquals(0, assignedTasks.getItems().size());
+        assertNull(assignedTasks.getNextCursor());
+    }
+
+    @Test
+    void testGetAssignedTasks_WithPageSizeAboveMax_ShouldCapPageSize() {
+        Long projectId = 1L;
+        String username = "username";
+
+        UserEntity user = UserEntity.builder()
+                .id(1L)
+                .username(username)
+                .build();
+
+        when(serviceHelper.getUserOrThrowException(username)).thenReturn(user);
+        when(taskRepository.findAssignedPageAfter(user.getId(), projectId, Long.MIN_VALUE, Limit.of(201)))
+                .thenReturn(Collections.emptyList());
+
+        taskService.getAssignedTasks(projectId, username, null, 10_000);
+
+        verify(taskRepository).findAssignedPageAfter(user.getId(), projectId, Long.MIN_VALUE, Limit.of(201));
     }
 
     @Test
@@ -183,16 +256,19 @@ class TaskServiceTest {
                 .name(taskName)
                 .build();
 
-        project.getTaskStates().add(taskState);
+        taskState.setProject(project);
 
         when(serviceHelper.getProjectOrThrowException(projectId)).thenReturn(project);
         when(serviceHelper.getTaskStateOrThrowException(taskStateId)).thenReturn(taskState);
-        when(taskRepository.save(any(TaskEntity.class))).thenReturn(task);
+        when(taskRankHelper.rankAfterLast(taskStateId)).thenReturn(TaskRankHelper.RANK_STEP);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenReturn(task);
         when(taskDtoFactory.makeTaskDto(any(TaskEntity.class))).thenReturn(taskDto);
 
         TaskDto actual = taskService.createTask(projectId, taskStateId, taskName);
 
         assertEquals(taskDto.getName(), actual.getName());
+        verify(taskRepository).saveAndFlush(argThat(saved -> saved.getRank() == TaskRankHelper.RANK_STEP));
+        verifyNoInteractions(taskStateRepository);
     }
 
     @Test
@@ -246,20 +322,14 @@ class TaskServiceTest {
                 .id(projectId)
                 .build();
 
-        TaskEntity existingTask = TaskEntity.builder()
-                .id(1L)
-                .name(taskName)
-                .build();
-
         TaskStateEntity taskState = TaskStateEntity.builder()
                 .id(taskStateId)
-                .tasks(List.of(existingTask))
+                .project(project)
                 .build();
 
-        project.getTaskStates().add(taskState);
-
         when(serviceHelper.getProjectOrThrowException(projectId)).thenReturn(project);
         when(serviceHelper.getTaskStateOrThrowException(taskStateId)).thenReturn(taskState);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenThrow(taskNameViolation());
 
         assertThrows(BadRequestException.class, () -> taskService.createTask(projectId, taskStateId, taskName));
     }
@@ -286,16 +356,14 @@ class TaskServiceTest {
         initSecurityContext();
 
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(task);
-        when(taskRepository.save(any())).thenReturn(task);
+        when(taskRepository.saveAndFlush(any())).thenReturn(task);
         when(taskDtoFactory.makeTaskDto(task)).thenReturn(expected);
-        when(taskRepository.findByTaskStateIdAndNameIgnoreCase(task.getTaskState().getId(), taskName))
-                .thenReturn(Optional.empty());
 
         TaskDto actual = taskService.editTask(taskId, taskName);
 
         assertEquals(expected, actual);
-        verify(taskRepository).save(task);
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
+        verify(taskRepository).saveAndFlush(task);
+        verify(taskHistoryAppender).append(any(TaskHistoryEvent.class));
     }
 
     @Test
@@ -340,17 +408,13 @@ class TaskServiceTest {
                 )
                 .build();
 
-        TaskEntity existingTask = TaskEntity.builder()
-                .id(2L)
-                .name(newTaskName)
-                .build();
-
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(task);
-        when(taskRepository.findByTaskStateIdAndNameIgnoreCase(task.getTaskState().getId(), newTaskName))
-                .thenReturn(Optional.of(existingTask));
+        when(taskRepository.saveAndFlush(task)).thenThrow(taskNameViolation());
 
-        assertThrows(BadRequestException.class, () -> taskService.editTask(taskId, newTaskName));
-        verify(taskRepository, never()).save(any(TaskEntity.class));
+        BadRequestException exception = assertThrows(
+                BadRequestException.class, () -> taskService.editTask(taskId, newTaskName));
+        assertEquals("Task \"New Task Name\" already exists in this task state", exception.getMessage());
+        verifyNoInteractions(taskHistoryAppender);
     }
 
     @Test
@@ -378,9 +442,9 @@ class TaskServiceTest {
         assertTrue(result.getAnswer());
 
         verify(taskRepository).delete(taskToDelete);
-        verify(serviceHelper).replaceOldTaskPosition(taskToDelete);
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
+        verify(taskHistoryAppender).append(any(TaskHistoryEvent.class));
         verify(taskStateRepository).save(taskState);
+        verify(boardChangeRecorder).taskChanged(taskToDelete, BoardChangeType.DELETED);
     }
 
     @Test
@@ -393,7 +457,7 @@ class TaskServiceTest {
                 new NotFoundException("Task not found", HttpStatus.NOT_FOUND));
 
         assertThrows(NotFoundException.class, () -> taskService.deleteTask(taskId));
-        verifyNoInteractions(taskRepository, taskStateRepository, taskHistoryRepository);
+        verifyNoInteractions(taskRepository, taskStateRepository, taskHistoryAppender);
     }
 
     @Test
@@ -422,6 +486,7 @@ class TaskServiceTest {
 
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
         when(serviceHelper.getTaskOrThrowException(leftTaskId)).thenReturn(leftTask);
+        when(taskRankHelper.rankBetween(taskState.getId(), Optional.of(leftTask))).thenReturn(3000L);
         when(taskRepository.save(taskToMove)).thenReturn(taskToMove);
         when(taskDtoFactory.makeTaskDto(taskToMove)).thenReturn(
                 TaskDto.builder()
@@ -434,10 +499,11 @@ class TaskServiceTest {
 
         assertNotNull(result);
         assertEquals("TaskToMove", result.getName());
+        assertEquals(3000L, taskToMove.getRank());
 
-        verify(serviceHelper).replaceOldTaskPosition(taskToMove);
         verify(taskRepository).save(taskToMove);
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
+        verifyNoInteractions(taskStateRepository);
+        verify(taskHistoryAppender).append(any(TaskHistoryEvent.class));
     }
 
     @Test
@@ -460,17 +526,16 @@ class TaskServiceTest {
                 .name("TaskToMove")
                 .build();
 
-        taskToMove.setLeftTask(leftTask);
-
         initSecurityContext();
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
+        when(taskRankHelper.findLeftTask(taskToMove)).thenReturn(Optional.of(leftTask));
         when(taskDtoFactory.makeTaskDto(taskToMove)).thenReturn(expectedDto);
 
         TaskDto result = taskService.changeTaskPosition(taskId, Optional.of(leftTaskId));
 
         assertEquals(expectedDto, result);
 
-        verifyNoInteractions(taskRepository, taskHistoryRepository);
+        verifyNoInteractions(taskRepository, taskHistoryAppender);
     }
 
     @Test
@@ -482,7 +547,7 @@ class TaskServiceTest {
 
         assertThrows(BadRequestException.class, () -> taskService.changeTaskPosition(taskId, Optional.of(taskId)));
 
-        verifyNoInteractions(taskRepository, taskHistoryRepository);
+        verifyNoInteractions(taskRepository, taskHistoryAppender);
     }
 
     @Test
@@ -510,7 +575,7 @@ class TaskServiceTest {
 
         assertThrows(BadRequestException.class, () -> taskService.changeTaskPosition(taskId, Optional.of(leftTaskId)));
 
-        verifyNoInteractions(taskRepository, taskHistoryRepository);
+        verifyNoInteractions(taskRepository, taskHistoryAppender);
     }
 
     @Test
@@ -523,7 +588,7 @@ class TaskServiceTest {
 
         assertThrows(NotFoundException.class, () -> taskService.changeTaskPosition(taskId, Optional.empty()));
 
-        verifyNoInteractions(taskRepository, taskHistoryRepository);
+        verifyNoInteractions(taskRepository, taskHistoryAppender);
     }
 
     @Test
@@ -539,17 +604,15 @@ class TaskServiceTest {
         TaskStateEntity newTaskState = TaskStateEntity.builder()
                 .id(newTaskStateId)
                 .name("In Progress")
-                .tasks(new ArrayList<>())
                 .build();
 
         TaskEntity taskToMove = TaskEntity.builder()
                 .id(taskId)
                 .name("Test Task")
+                .rank(TaskRankHelper.RANK_STEP)
                 .taskState(currentTaskState)
                 .build();
 
-        currentTaskState.getTasks().add(taskToMove);
-
         TaskDto expectedDto = TaskDto.builder()
                 .id(taskId)
                 .name("Test Task")
@@ -558,19 +621,20 @@ class TaskServiceTest {
         initSecurityContext();
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
         when(serviceHelper.getTaskStateOrThrowException(newTaskStateId)).thenReturn(newTaskState);
-        when(taskRepository.save(taskToMove)).thenReturn(taskToMove);
+        when(taskRankHelper.rankAfterLast(newTaskStateId)).thenReturn(5 * TaskRankHelper.RANK_STEP);
+        when(taskRepository.saveAndFlush(taskToMove)).thenReturn(taskToMove);
         when(taskDtoFactory.makeTaskDto(taskToMove)).thenReturn(expectedDto);
 
         TaskDto actualDto = taskService.changeTaskState(taskId, newTaskStateId);
 
         assertEquals(expectedDto, actualDto);
-        assertTrue(newTaskState.getTasks().contains(taskToMove));
-        assertFalse(currentTaskState.getTasks().contains(taskToMove));
+        assertEquals(newTaskState, taskToMove.getTaskState());
+        assertEquals(5 * TaskRankHelper.RANK_STEP, taskToMove.getRank());
 
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
-        verify(taskRepository).save(any(TaskEntity.class));
-        verify(taskStateRepository).save(currentTaskState);
-        verify(taskStateRepository).save(newTaskState);
+        verify(taskHistoryAppender).append(argThat(history ->
+                "To Do".equals(history.oldValue()) && "In Progress".equals(history.newValue())));
+        verify(taskRepository).saveAndFlush(taskToMove);
+        verifyNoInteractions(taskStateRepository);
     }
 
     @Test
@@ -581,26 +645,72 @@ class TaskServiceTest {
         TaskStateEntity newTaskState = TaskStateEntity.builder()
                 .id(newTaskStateId)
                 .name("In Progress")
-                .tasks(new ArrayList<>())
                 .build();
 
-        TaskEntity existingTask = TaskEntity.builder()
-                .id(2L)
+        TaskEntity taskToMove = TaskEntity.builder()
+                .id(taskId)
                 .name("Test Task")
+                .taskState(TaskStateEntity.builder().id(1L).name("To Do").build())
                 .build();
 
-        newTaskState.getTasks().add(existingTask);
+        initSecurityContext();
+        when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
+        when(serviceHelper.getTaskStateOrThrowException(newTaskStateId)).thenReturn(newTaskState);
+        when(taskRepository.saveAndFlush(taskToMove)).thenThrow(taskNameViolation());
+
+        BadRequestException exception = assertThrows(
+                BadRequestException.class, () -> taskService.changeTaskState(taskId, newTaskStateId));
+        assertEquals("Task state \"In Progress\" already contains  task name \"Test Task\"", exception.getMessage());
+        verifyNoInteractions(taskHistoryAppender);
+    }
+
+    @Test
+    void testChangeTaskState_SameTaskState_ShouldThrowException() {
+        Long taskId = 1L;
+        Long taskStateId = 1L;
+
+        TaskStateEntity taskState = TaskStateEntity.builder()
+                .id(taskStateId)
+                .name("To Do")
+                .build();
 
         TaskEntity taskToMove = TaskEntity.builder()
                 .id(taskId)
                 .name("Test Task")
+                .rank(TaskRankHelper.RANK_STEP)
+                .taskState(taskState)
                 .build();
 
         initSecurityContext();
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
-        when(serviceHelper.getTaskStateOrThrowException(newTaskStateId)).thenReturn(newTaskState);
+        when(serviceHelper.getTaskStateOrThrowException(taskStateId)).thenReturn(taskState);
+
+        BadRequestException exception = assertThrows(
+                BadRequestException.class, () -> taskService.changeTaskState(taskId, taskStateId));
+        assertEquals("Task state \"To Do\" already contains  task name \"Test Task\"", exception.getMessage());
+        assertEquals(TaskRankHelper.RANK_STEP, taskToMove.getRank());
+        verify(taskRankHelper, never()).rankAfterLast(any());
+        verifyNoInteractions(taskRepository, taskHistoryAppender, boardChangeRecorder);
+    }
+
+    @Test
+    void testChangeTaskState_OtherConstraintViolation_ShouldBeRethrown() {
+        Long taskId = 1L;
+        Long newTaskStateId = 2L;
+
+        TaskEntity taskToMove = TaskEntity.builder()
+                .id(taskId)
+                .name("Test Task")
+                .taskState(TaskStateEntity.builder().id(1L).name("To Do").build())
+                .build();
+
+        initSecurityContext();
+        when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
+        when(serviceHelper.getTaskStateOrThrowException(newTaskStateId))
+                .thenReturn(TaskStateEntity.builder().id(newTaskStateId).build());
+        when(taskRepository.saveAndFlush(taskToMove)).thenThrow(new DataIntegrityViolationException("fk"));
 
-        assertThrows(BadRequestException.class, () -> taskService.changeTaskState(taskId, newTaskStateId));
+        assertThrows(DataIntegrityViolationException.class, () -> taskService.changeTaskState(taskId, newTaskStateId));
     }
 
     @Test
@@ -646,17 +756,15 @@ class TaskServiceTest {
         TaskStateEntity newTaskState = TaskStateEntity.builder()
                 .id(newTaskStateId)
                 .name("In Progress")
-                .tasks(new ArrayList<>())
                 .build();
 
         TaskEntity taskToMove = TaskEntity.builder()
                 .id(taskId)
                 .name("Test Task")
+                .rank(3 * TaskRankHelper.RANK_STEP)
                 .taskState(currentTaskState)
                 .build();
 
-        currentTaskState.getTasks().add(taskToMove);
-
         TaskDto expectedDto = TaskDto.builder()
                 .id(taskId)
                 .name("Test Task")
@@ -665,19 +773,18 @@ class TaskServiceTest {
         initSecurityContext();
         when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(taskToMove);
         when(serviceHelper.getTaskStateOrThrowException(newTaskStateId)).thenReturn(newTaskState);
-        when(taskRepository.save(taskToMove)).thenReturn(taskToMove);
+        when(taskRankHelper.rankAfterLast(newTaskStateId)).thenReturn(TaskRankHelper.RANK_STEP);
+        when(taskRepository.saveAndFlush(taskToMove)).thenReturn(taskToMove);
         when(taskDtoFactory.makeTaskDto(taskToMove)).thenReturn(expectedDto);
 
         TaskDto actualDto = taskService.changeTaskState(taskId, newTaskStateId);
 
         assertEquals(expectedDto, actualDto);
-        assertTrue(newTaskState.getTasks().contains(taskToMove));
-        assertFalse(currentTaskState.getTasks().contains(taskToMove));
+        assertEquals(newTaskState, taskToMove.getTaskState());
+        assertEquals(TaskRankHelper.RANK_STEP, taskToMove.getRank());
 
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
-        verify(taskRepository).save(taskToMove);
-        verify(taskStateRepository).save(currentTaskState);
-        verify(taskStateRepository).save(newTaskState);
+        verify(taskHistoryAppender).append(any(TaskHistoryEvent.class));
+        verify(taskRepository).saveAndFlush(taskToMove);
     }
 
     @Test
@@ -730,10 +837,42 @@ class TaskServiceTest {
 
         assertEquals(expectedDto, actualDto);
         assertEquals(assignedUser, task.getAssignedUser());
-        verify(taskHistoryRepository).save(any(TaskHistoryEntity.class));
+        verify(taskHistoryAppender).append(any(TaskHistoryEvent.class));
         verify(emailService).sendEmail(eq("newuser@example.com"), anyString(), anyString());
     }
 
+    @Test
+    void testAssignTaskToUser_WhenTaskUnassigned_ShouldAssign() {
+        Long taskId = 1L;
+        String username = "newUser";
+
+        UserEntity assignedUser = UserEntity.builder()
+                .username(username)
+                .email("newuser@example.com")
+                .build();
+
+        TaskStateEntity taskState = TaskStateEntity.builder()
+                .id(1L)
+                .project(ProjectEntity.builder().id(1L).users(new ArrayList<>(List.of(assignedUser))).build())
+                .build();
+
+        TaskEntity task = TaskEntity.builder()
+                .id(taskId)
+                .name("Test Task")
+                .taskState(taskState)
+                .build();
+
+        initSecurityContext();
+        when(serviceHelper.getTaskOrThrowException(taskId)).thenReturn(task);
+        when(serviceHelper.getUserOrThrowException(username)).thenReturn(assignedUser);
+
+        taskService.assignTaskToUser(taskId, username);
+
+        assertEquals(assignedUser, task.getAssignedUser());
+        verify(taskHistoryAppender).append(argThat(history ->
+                history.oldValue() == null && username.equals(history.newValue())));
+    }
+
     @Test
     void testAssignTaskToUser_TaskNotFound_ShouldThrowException() {
         Long taskId = 1L;
@@ -849,4 +988,9 @@ class TaskServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn(currentUsername);
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException taskNameViolation() {
+        return new DataIntegrityViolationException("duplicate key", new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key", "23505"), TaskEntity.NAME_UNIQUE_INDEX));
+    }
+}
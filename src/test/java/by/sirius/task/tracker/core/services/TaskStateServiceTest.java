@@ -4,7 +4,10 @@ import by.sirius.task.tracker.api.dto.AckDto;
 import by.sirius.task.tracker.api.dto.TaskStateDto;
 import by.sirius.task.tracker.api.exceptions.BadRequestException;
 import by.sirius.task.tracker.api.exceptions.NotFoundException;
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
 import by.sirius.task.tracker.core.factories.TaskStateDtoFactory;
+import by.sirius.task.tracker.core.security.PermissionCache;
+import by.sirius.task.tracker.core.services.helpers.CacheHelper;
 import by.sirius.task.tracker.core.services.helpers.ServiceHelper;
 import by.sirius.task.tracker.store.entities.ProjectEntity;
 import by.sirius.task.tracker.store.entities.TaskStateEntity;
@@ -37,6 +40,15 @@ class TaskStateServiceTest {
     @Mock
     private TaskStateDtoFactory taskStateDtoFactory;
 
+    @Mock
+    private CacheHelper cacheHelper;
+
+    @Mock
+    private PermissionCache permissionCache;
+
+    @Mock
+    private BoardChangeRecorder boardChangeRecorder;
+
     @InjectMocks
     private TaskStateService taskStateService;
 
@@ -0,0 +1,123 @@
+package by.sirius.task.tracker.core.services.helpers;
+
+import by.sirius.task.tracker.core.board.BoardChangeRecorder;
+import by.sirius.task.tracker.store.entities.BoardChangeType;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.repositories.TaskRepository;
+import by.sirius.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static by.sirius.task.tracker.core.services.helpers.TaskRankHelper.RANK_STEP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRankHelperTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStateRepository taskStateRepository;
+
+    @Mock
+    private BoardChangeRecorder boardChangeRecorder;
+
+    @InjectMocks
+    private TaskRankHelper taskRankHelper;
+
+    @Test
+    void testLockRanks_ShouldLockGivenTaskStatesAndThoseOfTheTasks() {
+        when(taskRepository.findTaskStateIdsByIdIn(List.of(10L, 11L))).thenReturn(Set.of(2L, 3L));
+
+        taskRankHelper.lockRanks(List.of(10L, 11L), List.of(1L, 2L));
+
+        verify(taskStateRepository).lockAllByIdIn(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void testLockRanks_WithoutTasks_ShouldOnlyLockTaskStates() {
+        taskRankHelper.lockRanks(List.of(), List.of(1L));
+
+        verify(taskStateRepository).lockAllByIdIn(Set.of(1L));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testRankAfter_EmptyTaskState_ShouldReturnFirstRank() {
+        assertEquals(RANK_STEP, taskRankHelper.rankAfter(Optional.empty()));
+    }
+
+    @Test
+    void testRankAfter_ShouldLeaveGapAfterLastTask() {
+        TaskEntity lastTask = TaskEntity.builder().id(1L).rank(5 * RANK_STEP).build();
+
+        assertEquals(6 * RANK_STEP, taskRankHelper.rankAfter(Optional.of(lastTask)));
+    }
+
+    @Test
+    void testRankBetween_ShouldReturnMidpointBetweenNeighbours() {
+        Long taskStateId = 1L;
+        TaskEntity leftTask = TaskEntity.builder().id(1L).rank(100L).build();
+        TaskEntity rightTask = TaskEntity.builder().id(2L).rank(200L).build();
+
+        when(taskRepository.findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(taskStateId, 100L))
+                .thenReturn(Optional.of(rightTask));
+
+        assertEquals(150L, taskRankHelper.rankBetween(taskStateId, Optional.of(leftTask)));
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testRankBetween_WithoutLeftTask_ShouldPlaceBeforeHead() {
+        Long taskStateId = 1L;
+        TaskEntity head = TaskEntity.builder().id(1L).rank(RANK_STEP).build();
+
+        when(taskRepository.findFirstByTaskStateIdOrderByRankAscIdAsc(taskStateId)).thenReturn(Optional.of(head));
+
+        assertEquals(0L, taskRankHelper.rankBetween(taskStateId, Optional.empty()));
+    }
+
+    @Test
+    void testRankBetween_WhenLeftTaskIsTail_ShouldAppend() {
+        Long taskStateId = 1L;
+        TaskEntity tail = TaskEntity.builder().id(1L).rank(RANK_STEP).build();
+
+        when(taskRepository.findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(taskStateId, RANK_STEP))
+                .thenReturn(Optional.empty());
+
+        assertEquals(2 * RANK_STEP, taskRankHelper.rankBetween(taskStateId, Optional.of(tail)));
+    }
+
+    @Test
+    void testRankBetween_WhenNoGapLeft_ShouldRebalanceTaskState() {
+        Long taskStateId = 1L;
+        TaskEntity leftTask = TaskEntity.builder().id(1L).rank(10L).build();
+        TaskEntity rightTask = TaskEntity.builder().id(2L).rank(11L).build();
+
+        when(taskRepository.findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(taskStateId, 10L))
+                .thenReturn(Optional.of(rightTask));
+        when(taskRepository.findFirstByTaskStateIdAndRankGreaterThanOrderByRankAscIdAsc(taskStateId, RANK_STEP))
+                .thenReturn(Optional.of(rightTask));
+        when(taskRepository.findAllByTaskStateIdOrderByRankAscIdAsc(taskStateId))
+                .thenReturn(new ArrayList<>(List.of(leftTask, rightTask)));
+
+        long rank = taskRankHelper.rankBetween(taskStateId, Optional.of(leftTask));
+
+        assertEquals(RANK_STEP, leftTask.getRank());
+        assertEquals(2 * RANK_STEP, rightTask.getRank());
+        assertEquals(RANK_STEP + RANK_STEP / 2, rank);
+        verify(taskRepository).saveAll(List.of(leftTask, rightTask));
+        verify(boardChangeRecorder).taskChanged(leftTask, BoardChangeType.MOVED);
+        verify(boardChangeRecorder).taskChanged(rightTask, BoardChangeType.MOVED);
+    }
+}
@@ -0,0 +1,22 @@
+package by.sirius.task.tracker.core.sql;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement count assertions for integration tests. The test context has to
+ * import {@link StatementCountingDataSourcePostProcessor} for statements to be counted.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    public static StatementCount assertStatementsAtMost(int maxStatements, Runnable action) {
+        StatementCount count = StatementCounter.count(action);
+
+        assertTrue(count.getTotal() <= maxStatements, () -> String.format(
+                "Expected at most %d statements but %d were issued, most repeated: %s",
+                maxStatements, count.getTotal(), count.getMostRepeated().orElse(null)));
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package by.sirius.task.tracker.core.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementBudgetFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testDoFilter_ShouldCountStatementsOfTheRequest() throws Exception {
+        StatementBudgetFilter filter = new StatementBudgetFilter(20, 10, true, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        StatementCounter.record("select outside of the request");
+        filter.doFilter(request, response, statements(3, "body"));
+
+        assertEquals("3", response.getHeader(StatementBudgetFilter.STATEMENT_COUNT_HEADER));
+        assertEquals("body", response.getContentAsString());
+        assertEquals(3, meterRegistry.summary("tasktracker.sql.statements",
+                "method", "GET", "uri", "/api/projects/{project_id}/users").totalAmount());
+    }
+
+    @Test
+    void testDoFilter_WhenHeaderDisabled_ShouldNotBufferResponse() throws Exception {
+        StatementBudgetFilter filter = new StatementBudgetFilter(20, 10, false, meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response, statements(1, "body"));
+
+        assertNull(response.getHeader(StatementBudgetFilter.STATEMENT_COUNT_HEADER));
+        assertEquals("body", response.getContentAsString());
+    }
+
+    @Test
+    void testDoFilter_WhenEventStream_ShouldNotBufferResponse() throws Exception {
+        StatementBudgetFilter filter = new StatementBudgetFilter(20, 10, true, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/board/stream");
+        request.addHeader("Accept", "text/event-stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> assertSame(response, res));
+
+        assertNull(response.getHeader(StatementBudgetFilter.STATEMENT_COUNT_HEADER));
+    }
+
+    @Test
+    void testCount_ShouldCountNestedScopes() {
+        StatementCount outer = StatementCounter.count(() -> {
+            StatementCounter.record("select 1");
+
+            StatementCount inner = StatementCounter.count(() -> {
+                StatementCounter.record("select 2");
+                StatementCounter.record("select 2");
+            });
+
+            assertEquals(2, inner.getTotal());
+            assertEquals(2, inner.getMostRepeated().orElseThrow().getValue());
+        });
+
+        assertEquals(3, outer.getTotal());
+        assertEquals(1, outer.getExecutions("select 1"));
+    }
+
+    private FilterChain statements(int count, String body) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/projects/{project_id}/users");
+            for (int i = 0; i < count; i++) {
+                StatementCounter.record("select * from users where id = ?");
+            }
+            response.getWriter().write(body);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package by.sirius.task.tracker.core.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+    @Test
+    void testDoFilter_WhenPermitsExhausted_ShouldRejectWithServiceUnavailable() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("GET", "/api/projects"), rejected, (req, res) -> fail()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testDoFilter_ShouldReleasePermitAfterRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response, (req, res) -> { });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response, (req, res) -> { });
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    void testDoFilter_WhenChainThrows_ShouldReleasePermit() {
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/projects"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException();
+                }));
+
+        assertEquals(1, filter.getAvailablePermits());
+    }
+}
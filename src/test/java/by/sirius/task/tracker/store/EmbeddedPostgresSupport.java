@@ -0,0 +1,51 @@
+package by.sirius.task.tracker.store;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * One embedded PostgreSQL per test run for what H2 can't stand in for: pg_trgm, partitioning,
+ * pg_catalog. Every test class gets a database of its own, so cached contexts never share tables.
+ */
+public final class EmbeddedPostgresSupport {
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresSupport() {
+    }
+
+    public static void registerDatabase(DynamicPropertyRegistry registry, String name) {
+        String database = name.toLowerCase(Locale.ROOT);
+        EmbeddedPostgres server = server();
+        new JdbcTemplate(server.getPostgresDatabase()).execute("CREATE DATABASE " + database);
+
+        registry.add("spring.datasource.url", () -> server.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new IllegalStateException("Embedded PostgreSQL failed to start", e);
+            }
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                }
+            }));
+        }
+        return postgres;
+    }
+}
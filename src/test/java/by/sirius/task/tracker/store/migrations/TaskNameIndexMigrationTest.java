@@ -0,0 +1,76 @@
+package by.sirius.task.tracker.store.migrations;
+
+import by.sirius.task.tracker.store.EmbeddedPostgresSupport;
+import by.sirius.task.tracker.store.entities.ProjectEntity;
+import by.sirius.task.tracker.store.entities.TaskEntity;
+import by.sirius.task.tracker.store.entities.TaskStateEntity;
+import by.sirius.task.tracker.store.entities.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskNameIndexMigration.class)
+class TaskNameIndexMigrationTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDatabase(registry, "task_name_index");
+    }
+
+    @Autowired
+    private TaskNameIndexMigration taskNameIndexMigration;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testRun_WhenRenamedTaskClashesAgain_ShouldRenameUntilNamesAreUnique() {
+        jdbcTemplate.execute("DROP INDEX " + TaskEntity.NAME_UNIQUE_INDEX);
+
+        UserEntity admin = entityManager.persist(UserEntity.builder()
+                .username("index-admin")
+                .email("index-admin@example.com")
+                .enabled(true)
+                .build());
+        ProjectEntity project = entityManager.persist(ProjectEntity.builder().name("indexed").admin(admin).build());
+        TaskStateEntity taskState = entityManager.persist(
+                TaskStateEntity.builder().name("To do").project(project).build());
+
+        Long first = persistTask(taskState, "Foo");
+        Long duplicate = persistTask(taskState, "foo");
+        Long clashing = persistTask(taskState, "foo (" + duplicate + ")");
+        entityManager.flush();
+
+        taskNameIndexMigration.run();
+
+        assertEquals(List.of("Foo", "foo (" + duplicate + ")", "foo (" + duplicate + ") (" + clashing + ")"),
+                jdbcTemplate.queryForList("SELECT name FROM tasks WHERE id IN (?, ?, ?) ORDER BY id",
+                        String.class, first, duplicate, clashing));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname = ?",
+                Integer.class, TaskEntity.NAME_UNIQUE_INDEX));
+    }
+
+    private Long persistTask(TaskStateEntity taskState, String name) {
+        return entityManager.persist(TaskEntity.builder()
+                .name(name)
+                .rank(0L)
+                .taskState(taskState)
+                .build()).getId();
+    }
+}